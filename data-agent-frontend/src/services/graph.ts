@@ -41,6 +41,7 @@ export enum TextType {
   HTML = 'HTML',
   MARK_DOWN = 'MARK_DOWN',
   RESULT_SET = 'RESULT_SET',
+  RESULT_SET_STREAM = 'RESULT_SET_STREAM',
   TEXT = 'TEXT',
 }
 
@@ -33,6 +33,18 @@ export interface ResultSetData {
   errorMsg?: string;
 }
 
+/**
+ * 流式结果集数据帧（header -> rows -> end）
+ */
+export interface ResultSetFrame {
+  frame: 'header' | 'rows' | 'end';
+  column?: string[];
+  rows?: string[][];
+  rowCount?: number;
+  displayStyle?: ResultDisplayStyleBO;
+  errorMsg?: string;
+}
+
 /**
  * 分页配置
  */
@@ -38,4 +38,18 @@ public class DbConfigBO {
 
 	private String dialectType;
 
+	/**
+	 * 对应的数据源ID，用于连接池监控指标的标签，可能为空（如连接测试场景）
+	 */
+	private Integer datasourceId;
+
+	/**
+	 * 连接池参数，为空时使用全局默认值
+	 */
+	private Integer poolMaxActive;
+
+	private Integer poolMinIdle;
+
+	private Integer poolMaxWait;
+
 }
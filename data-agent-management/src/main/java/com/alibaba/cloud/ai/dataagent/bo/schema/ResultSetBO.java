@@ -15,35 +15,226 @@
  */
 package com.alibaba.cloud.ai.dataagent.bo.schema;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * SQL查询结果集。
+ *
+ * <p>
+ * 数据以行优先的 {@code String[]} 形式存储，所有行共享同一份列头；{@link #getData()}
+ * 返回的是基于行数组的只读 Map 视图，序列化后的 JSON 结构（column / data）保持不变，但不会为每一行复制 HashMap。
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonPropertyOrder({ "column", "data", "errorMsg" })
 public final class ResultSetBO implements Cloneable {
 
 	private List<String> column;
 
-	private List<Map<String, String>> data;
+	/**
+	 * 行数据，每行的元素顺序与 {@link #column} 一致
+	 */
+	@JsonIgnore
+	private List<String[]> rows;
 
 	private String errorMsg;
 
+	/**
+	 * 反序列化入口。列头与行数据一起传入，不受 JSON 中 column / data 字段先后顺序影响
+	 */
+	@JsonCreator
+	static ResultSetBO fromJson(@JsonProperty("column") List<String> column,
+			@JsonProperty("data") List<Map<String, String>> data, @JsonProperty("errorMsg") String errorMsg) {
+		ResultSetBO resultSet = new ResultSetBO();
+		resultSet.column = column;
+		resultSet.errorMsg = errorMsg;
+		resultSet.setData(data);
+		return resultSet;
+	}
+
+	/**
+	 * 以 列名 -> 值 的形式访问行数据，返回的列表及其元素均为只读视图
+	 * @return 行数据视图
+	 */
+	public List<Map<String, String>> getData() {
+		if (rows == null) {
+			return null;
+		}
+		return new RowListView(column == null ? List.of() : column, rows);
+	}
+
+	/**
+	 * 由 列名 -> 值 形式的数据设置行数据，主要用于反序列化；列头为空时使用首行的键作为列头
+	 * @param data 行数据
+	 */
+	public void setData(List<Map<String, String>> data) {
+		if (data == null) {
+			this.rows = null;
+			return;
+		}
+		if (this.column == null) {
+			this.column = data.isEmpty() ? new ArrayList<>() : new ArrayList<>(data.get(0).keySet());
+		}
+		List<String[]> converted = new ArrayList<>(data.size());
+		for (Map<String, String> kv : data) {
+			String[] row = new String[this.column.size()];
+			for (int i = 0; i < row.length; i++) {
+				row[i] = kv.get(this.column.get(i));
+			}
+			converted.add(row);
+		}
+		this.rows = converted;
+	}
+
+	@JsonIgnore
+	public int getRowCount() {
+		return rows == null ? 0 : rows.size();
+	}
+
+	/**
+	 * 获取列名对应的下标，存在同名列时返回最后一列（与按列名覆盖写入 Map 的行为一致）
+	 * @param columnName 列名
+	 * @return 列下标，不存在时返回 -1
+	 */
+	public int indexOfColumn(String columnName) {
+		return column == null ? -1 : column.lastIndexOf(columnName);
+	}
+
 	@Override
 	public ResultSetBO clone() {
 		return ResultSetBO.builder()
-			.column(new ArrayList<>(this.column))
-			.data(this.data.stream().map(HashMap::new).collect(Collectors.toList()))
+			.column(this.column == null ? null : new ArrayList<>(this.column))
+			.rows(this.rows == null ? null : this.rows.stream().map(String[]::clone).collect(Collectors.toList()))
 			.build();
 	}
 
+	private static final class RowListView extends AbstractList<Map<String, String>>
+			implements RandomAccess, Serializable {
+
+		private final List<String> column;
+
+		private final Map<String, Integer> index;
+
+		private final List<String[]> rows;
+
+		RowListView(List<String> column, List<String[]> rows) {
+			this.column = column;
+			this.rows = rows;
+			Map<String, Integer> index = new HashMap<>(column.size() * 2);
+			for (int i = 0; i < column.size(); i++) {
+				index.put(column.get(i), i);
+			}
+			this.index = Collections.unmodifiableMap(index);
+		}
+
+		@Override
+		public Map<String, String> get(int i) {
+			return new RowView(column, index, rows.get(i));
+		}
+
+		@Override
+		public int size() {
+			return rows.size();
+		}
+
+	}
+
+	private static final class RowView extends AbstractMap<String, String> implements Serializable {
+
+		private final List<String> column;
+
+		private final Map<String, Integer> index;
+
+		private final String[] row;
+
+		RowView(List<String> column, Map<String, Integer> index, String[] row) {
+			this.column = column;
+			this.index = index;
+			this.row = row;
+		}
+
+		@Override
+		public String get(Object key) {
+			Integer i = index.get(key);
+			return i == null || i >= row.length ? null : row[i];
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return index.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return index.size();
+		}
+
+		@Override
+		public Set<Entry<String, String>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<String, String>> iterator() {
+					return new Iterator<>() {
+						private int next = advance(0);
+
+						private int advance(int from) {
+							// 同名列只输出最后一列，保持与 Map 语义一致
+							int i = from;
+							while (i < column.size() && index.get(column.get(i)) != i) {
+								i++;
+							}
+							return i;
+						}
+
+						@Override
+						public boolean hasNext() {
+							return next < column.size();
+						}
+
+						@Override
+						public Entry<String, String> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							int current = next;
+							next = advance(current + 1);
+							return new SimpleImmutableEntry<>(column.get(current),
+									current < row.length ? row[current] : null);
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return index.size();
+				}
+			};
+		}
+
+	}
+
 }
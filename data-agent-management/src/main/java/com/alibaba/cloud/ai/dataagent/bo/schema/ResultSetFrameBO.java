@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.bo.schema;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 流式返回SQL结果集时的单个数据帧。
+ *
+ * <p>
+ * 一次查询依次输出一个 header 帧（列头）、若干 rows 帧（分页行数据）和一个 end 帧（总行数、图表配置或错误信息）。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultSetFrameBO {
+
+	public static final String FRAME_HEADER = "header";
+
+	public static final String FRAME_ROWS = "rows";
+
+	public static final String FRAME_END = "end";
+
+	private String frame;
+
+	private List<String> column;
+
+	private List<String[]> rows;
+
+	private Integer rowCount;
+
+	private DisplayStyleBO displayStyle;
+
+	private String errorMsg;
+
+	public static ResultSetFrameBO header(List<String> column) {
+		return ResultSetFrameBO.builder().frame(FRAME_HEADER).column(column).build();
+	}
+
+	public static ResultSetFrameBO rows(List<String[]> rows) {
+		return ResultSetFrameBO.builder().frame(FRAME_ROWS).rows(rows).build();
+	}
+
+	public static ResultSetFrameBO end(int rowCount, DisplayStyleBO displayStyle) {
+		return ResultSetFrameBO.builder().frame(FRAME_END).rowCount(rowCount).displayStyle(displayStyle).build();
+	}
+
+	public static ResultSetFrameBO error(String errorMsg) {
+		return ResultSetFrameBO.builder().frame(FRAME_END).errorMsg(errorMsg).build();
+	}
+
+}
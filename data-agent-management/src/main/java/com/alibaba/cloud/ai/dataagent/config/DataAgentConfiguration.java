@@ -25,6 +25,10 @@ import com.alibaba.cloud.ai.dataagent.splitter.ParagraphTextSplitter;
 import com.alibaba.cloud.ai.dataagent.util.McpServerToolUtil;
 import com.alibaba.cloud.ai.dataagent.util.NodeBeanUtil;
 import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.AiModelRegistry;
+import com.alibaba.cloud.ai.dataagent.service.embedding.CachingEmbeddingModel;
+import com.alibaba.cloud.ai.dataagent.service.embedding.EmbeddingCacheStore;
+import com.alibaba.cloud.ai.dataagent.service.embedding.QueryEmbeddingCache;
+import com.alibaba.cloud.ai.dataagent.service.vectorstore.InMemoryVectorStore;
 import com.alibaba.cloud.ai.dataagent.strategy.EnhancedTokenCountBatchingStrategy;
 import com.alibaba.cloud.ai.dataagent.workflow.dispatcher.*;
 import com.alibaba.cloud.ai.dataagent.workflow.node.*;
@@ -45,7 +49,6 @@ import org.springframework.ai.tool.resolution.StaticToolCallbackResolver;
 import org.springframework.ai.tool.resolution.ToolCallbackResolver;
 import org.springframework.ai.transformer.splitter.TextSplitter;
 import org.springframework.ai.transformer.splitter.TokenTextSplitter;
-import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.framework.ProxyFactory;
@@ -265,8 +268,9 @@ public class DataAgentConfiguration implements DisposableBean {
 	@Bean
 	@ConditionalOnMissingBean(VectorStore.class)
 	@ConditionalOnProperty(name = "spring.ai.vectorstore.type", havingValue = "simple", matchIfMissing = true)
-	public VectorStore simpleVectorStore(EmbeddingModel embeddingModel) {
-		return SimpleVectorStore.builder(embeddingModel).build();
+	public VectorStore simpleVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy,
+			DataAgentProperties properties) {
+		return new InMemoryVectorStore(embeddingModel, batchingStrategy, properties.getVectorStore());
 	}
 
 	@Bean
@@ -311,10 +315,12 @@ public class DataAgentConfiguration implements DisposableBean {
 	/**
 	 * 动态生成 EmbeddingModel 的代理 Bean。 原理： 1. 这是一个 Bean，Milvus/PgVector Starter 能看到它，启动不会报错。
 	 * 2. 它是动态代理，内部没有写死任何方法。 3. 每次被调用时，它会执行 getTarget() -> registry.getEmbeddingModel()。
+	 * 4. 启用嵌入缓存时，代理外层再包一层按（模型配置, 文本哈希）复用向量的缓存，以及查询向量的短时内存缓存。
 	 */
 	@Bean
 	@Primary
-	public EmbeddingModel embeddingModel(AiModelRegistry registry) {
+	public EmbeddingModel embeddingModel(AiModelRegistry registry, EmbeddingCacheStore embeddingCacheStore,
+			QueryEmbeddingCache queryEmbeddingCache) {
 
 		// 1. 定义目标源 (TargetSource)
 		TargetSource targetSource = new TargetSource() {
@@ -347,11 +353,17 @@ public class DataAgentConfiguration implements DisposableBean {
 		// 代理接口
 		proxyFactory.addInterface(EmbeddingModel.class);
 
-		// 3. 返回动态生成的代理对象
-		return (EmbeddingModel) proxyFactory.getProxy();
+		// 3. 返回动态生成的代理对象，按需包装结果缓存
+		EmbeddingModel proxy = (EmbeddingModel) proxyFactory.getProxy();
+		if (!embeddingCacheStore.isEnabled() && !queryEmbeddingCache.isEnabled()) {
+			return proxy;
+		}
+		return new CachingEmbeddingModel(proxy, embeddingCacheStore, queryEmbeddingCache,
+				registry::getEmbeddingModelKey);
 	}
 
 	@Bean(name = "dbOperationExecutor")
+	@Primary
 	public ExecutorService dbOperationExecutor() {
 		// 初始化专用线程池，用于数据库操作
 		// 线程数量设置为CPU核心数的2倍，但不少于4个，不超过16个
@@ -380,6 +392,24 @@ public class DataAgentConfiguration implements DisposableBean {
 		return dbOperationExecutor;
 	}
 
+	/**
+	 * 召回专用线程池，用于并发执行向量检索。与数据库操作线程池隔离，避免检索任务内部再向 dbOperationExecutor
+	 * 提交子任务时互相等待。关闭由 Spring 推断的 shutdown 方法完成。
+	 */
+	@Bean(name = "retrievalExecutor")
+	public ExecutorService retrievalExecutor() {
+		int poolSize = Math.max(4, Math.min(Runtime.getRuntime().availableProcessors(), 16));
+		log.info("Retrieval executor initialized with {} threads", poolSize);
+		AtomicInteger threadNumber = new AtomicInteger(1);
+		ThreadFactory threadFactory = r -> {
+			Thread t = new Thread(r, "retrieval-" + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		};
+		return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(200),
+				threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
 	@Override
 	public void destroy() {
 		if (dbOperationExecutor != null && !dbOperationExecutor.isShutdown()) {
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.enums.DatabaseDialectEnum;
+import com.alibaba.druid.pool.DruidPooledConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 按物理连接记录会话状态（数据库产品名、初始库、当前 schema），避免每次执行 SQL 都查询元数据并发送
+ * {@code use} / {@code set search_path} 语句。
+ * <p>
+ * 连接池返回的是包装连接，同一个物理连接会被反复借出，因此以物理连接为 key；物理连接被关闭回收后条目随 GC 清除。
+ */
+final class ConnectionSessionTracker {
+
+	private static final Map<Connection, SessionState> SESSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * 可能改变会话当前库/schema 的语句：语句开头（或分号后）的 use / set search_path / set schema，以及 set_config 调用
+	 */
+	private static final Pattern SESSION_SWITCH = Pattern.compile(
+			"(?:^|;)\\s*(?:use\\s|set\\s+(?:search_path|schema)\\b)|\\bset_config\\s*\\(",
+			Pattern.CASE_INSENSITIVE);
+
+	private ConnectionSessionTracker() {
+	}
+
+	/**
+	 * 获取连接的数据库产品名，每个物理连接只查询一次元数据
+	 */
+	static String getDialect(Connection connection) throws SQLException {
+		return getState(connection).dialect;
+	}
+
+	/**
+	 * 确保连接当前位于目标库/schema，仅在实际变化时发送切换语句
+	 * @param connection 数据库连接
+	 * @param statement 用于执行切换语句的 statement
+	 * @param switchSql 切换语句
+	 * @param target 目标库/schema
+	 */
+	static void switchSchema(Connection connection, Statement statement, String switchSql, String target)
+			throws SQLException {
+		SessionState state = getState(connection);
+		synchronized (state) {
+			if (Objects.equals(state.currentSchema, target)) {
+				return;
+			}
+			try {
+				statement.execute(switchSql);
+				state.currentSchema = target;
+			}
+			catch (SQLException e) {
+				// 切换失败后会话状态未知，下次重新切换
+				state.currentSchema = null;
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * 执行用户 SQL 后调用：SQL 中含有 {@code use}、{@code set search_path} 等切换语句时丢弃记录的当前库/schema，
+	 * 下次执行前重新发送切换语句；普通查询不影响记录，切换语句照常跳过
+	 */
+	static void invalidateIfSwitched(Connection connection, String sql) {
+		if (sql == null || !SESSION_SWITCH.matcher(sql).find()) {
+			return;
+		}
+		SessionState state = SESSIONS.get(physicalConnection(connection));
+		if (state != null) {
+			synchronized (state) {
+				state.currentSchema = null;
+			}
+		}
+	}
+
+	/**
+	 * 连接建立时的默认库（MySQL 的 catalog），用于在无 schema 的查询前恢复
+	 */
+	static String getInitialCatalog(Connection connection) throws SQLException {
+		return getState(connection).initialCatalog;
+	}
+
+	private static SessionState getState(Connection connection) throws SQLException {
+		Connection physical = physicalConnection(connection);
+		SessionState state = SESSIONS.get(physical);
+		if (state == null) {
+			String catalog = connection.getCatalog();
+			state = new SessionState(connection.getMetaData().getDatabaseProductName(), catalog);
+			SessionState existing = SESSIONS.putIfAbsent(physical, state);
+			if (existing != null) {
+				state = existing;
+			}
+		}
+		return state;
+	}
+
+	private static Connection physicalConnection(Connection connection) {
+		if (connection instanceof DruidPooledConnection pooled && pooled.getConnection() != null) {
+			return pooled.getConnection();
+		}
+		return connection;
+	}
+
+	private static final class SessionState {
+
+		private final String dialect;
+
+		private final String initialCatalog;
+
+		private String currentSchema;
+
+		private SessionState(String dialect, String initialCatalog) {
+			this.dialect = dialect;
+			this.initialCatalog = initialCatalog;
+			// 只有 MySQL 的 catalog 与 use 切换的目标一致，其它方言初始状态视为未知
+			this.currentSchema = DatabaseDialectEnum.MYSQL.code.equals(dialect) ? initialCatalog : null;
+		}
+
+	}
+
+}
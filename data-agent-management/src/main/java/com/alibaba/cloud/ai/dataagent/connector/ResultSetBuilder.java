@@ -16,65 +16,70 @@
 package com.alibaba.cloud.ai.dataagent.connector;
 
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
-import org.apache.commons.compress.utils.Lists;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class ResultSetBuilder {
 
 	public static ResultSetBO buildFrom(ResultSet rs, String schema) throws SQLException {
+		return buildFrom(rs, schema, 0, null);
+	}
+
+	/**
+	 * Build the result set, optionally pushing rows to a listener in fixed-size pages
+	 * as they are read
+	 * @param rs JDBC result set
+	 * @param schema schema name
+	 * @param pageSize rows per page, only used when listener is not null
+	 * @param listener page listener, may be null
+	 * @return ResultSetBO holding all rows read
+	 * @throws SQLException SQL execution exception
+	 */
+	public static ResultSetBO buildFrom(ResultSet rs, String schema, int pageSize, ResultSetPageListener listener)
+			throws SQLException {
 		ResultSetMetaData data = rs.getMetaData();
 		int columnsCount = data.getColumnCount();
-		ResultSetBO resultSetBO = new ResultSetBO();
-		String[] rowHead = new String[columnsCount];
+		List<String> rowHead = new ArrayList<>(columnsCount);
 
+		// Clean column names once, every row shares the same header
 		for (int i = 1; i <= columnsCount; i++) {
-			rowHead[i - 1] = data.getColumnLabel(i);
+			rowHead.add(cleanColumnName(data.getColumnLabel(i)));
+		}
+		if (listener != null) {
+			listener.onHeader(rowHead);
 		}
 
-		List<Map<String, String>> resultSetData = Lists.newArrayList();
+		List<String[]> rows = new ArrayList<>();
 		int count = 0;
+		int pageStart = 0;
 
-		while (rs.next() && count < SqlExecutor.RESULT_SET_LIMIT) {
-			Map<String, String> kv = new HashMap<>();
-			for (String h : rowHead) {
-				kv.put(h, rs.getString(h) == null ? "" : rs.getString(h));
+		while (count < SqlExecutor.RESULT_SET_LIMIT && rs.next()) {
+			String[] row = new String[columnsCount];
+			for (int i = 0; i < columnsCount; i++) {
+				String value = rs.getString(i + 1);
+				row[i] = value == null ? "" : value;
 			}
-			resultSetData.add(kv);
+			rows.add(row);
 			count++;
+			if (listener != null && count - pageStart >= pageSize) {
+				listener.onPage(List.copyOf(rows.subList(pageStart, count)));
+				pageStart = count;
+			}
+		}
+		if (listener != null && count > pageStart) {
+			listener.onPage(List.copyOf(rows.subList(pageStart, count)));
 		}
 
-		// Clean column names
-		List<String> cleanedHead = cleanColumnNames(Arrays.asList(rowHead));
-		List<Map<String, String>> cleanedData = cleanResultSet(resultSetData);
-
-		resultSetBO.setColumn(cleanedHead);
-		resultSetBO.setData(cleanedData);
-
-		return resultSetBO;
-	}
-
-	private static List<String> cleanColumnNames(List<String> columnNames) {
-		return columnNames.stream().map(name -> StringUtils.remove(StringUtils.remove(name, "`"), "\"")).toList();
+		return ResultSetBO.builder().column(rowHead).rows(rows).build();
 	}
 
-	private static List<Map<String, String>> cleanResultSet(List<Map<String, String>> data) {
-		return data.stream().map(row -> {
-			Map<String, String> cleanedRow = new HashMap<>();
-			row.forEach((k, v) -> {
-				String cleanedKey = StringUtils.remove(k, "`");
-				cleanedKey = StringUtils.remove(cleanedKey, "\"");
-				cleanedRow.put(cleanedKey, v);
-			});
-			return cleanedRow;
-		}).toList();
+	private static String cleanColumnName(String name) {
+		return StringUtils.remove(StringUtils.remove(name, "`"), "\"");
 	}
 
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import java.util.List;
+
+/**
+ * Receives a query result page by page while it is being read from JDBC.
+ */
+public interface ResultSetPageListener {
+
+	/**
+	 * Called once before any row is read
+	 * @param column cleaned column labels
+	 */
+	void onHeader(List<String> column);
+
+	/**
+	 * Called each time a page is filled, and once more for the trailing partial page
+	 * @param rows rows of the page, in the same order as the header
+	 */
+	void onPage(List<String[]> rows);
+
+}
@@ -21,7 +21,6 @@ import com.alibaba.cloud.ai.dataagent.util.ResultSetConvertUtil;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -45,26 +44,34 @@ public class SqlExecutor {
 	 */
 	public static ResultSetBO executeSqlAndReturnObject(Connection connection, String schema, String sql)
 			throws SQLException {
+		return executeSqlAndReturnObject(connection, schema, sql, 0, null);
+	}
+
+	/**
+	 * Execute SQL query and push rows to the listener page by page while reading
+	 * @param connection database connection
+	 * @param schema schema name
+	 * @param sql SQL statement
+	 * @param pageSize rows per page
+	 * @param listener page listener, may be null
+	 * @return ResultSetBO structured result
+	 * @throws SQLException SQL execution exception
+	 */
+	public static ResultSetBO executeSqlAndReturnObject(Connection connection, String schema, String sql,
+			int pageSize, ResultSetPageListener listener) throws SQLException {
 		try (Statement statement = connection.createStatement()) {
 			statement.setMaxRows(RESULT_SET_LIMIT);
 			statement.setQueryTimeout(STATEMENT_TIMEOUT);
 
-			DatabaseMetaData metaData = connection.getMetaData();
-			String dialect = metaData.getDatabaseProductName();
-
-			if (dialect.equals(DatabaseDialectEnum.POSTGRESQL.code)) {
-				if (StringUtils.isNotEmpty(schema)) {
-					statement.execute("set search_path = '" + schema + "';");
-				}
-			}
-			else if (dialect.equals(DatabaseDialectEnum.H2.code)) {
-				if (StringUtils.isNotEmpty(schema)) {
-					statement.execute("use " + schema + ";");
-				}
-			}
+			// MySQL 不在此切换库：元数据查询切换后会立即恢复默认库
+			switchSchema(connection, statement, ConnectionSessionTracker.getDialect(connection), schema);
 
 			try (ResultSet rs = statement.executeQuery(sql)) {
-				return ResultSetBuilder.buildFrom(rs, schema);
+				return ResultSetBuilder.buildFrom(rs, schema, pageSize, listener);
+			}
+			finally {
+				// 用户 SQL 自行切换库/schema 时，记录的会话状态不再可信
+				ConnectionSessionTracker.invalidateIfSwitched(connection, sql);
 			}
 		}
 	}
@@ -88,40 +95,71 @@ public class SqlExecutor {
 	}
 
 	private static List<String[]> executeQuery(Connection connection, String sql) throws SQLException {
-		try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
-
-			return ResultSetConvertUtil.convert(rs);
+		try (Statement statement = connection.createStatement()) {
+			if (ConnectionSessionTracker.getDialect(connection).equals(DatabaseDialectEnum.MYSQL.code)) {
+				restoreInitialCatalog(connection, statement);
+			}
+			try (ResultSet rs = statement.executeQuery(sql)) {
+				return ResultSetConvertUtil.convert(rs);
+			}
 		}
 	}
 
 	private static List<String[]> executeQuery(Connection connection, String databaseOrSchema, String sql)
 			throws SQLException {
-		String originalDb = connection.getCatalog();
-		DatabaseMetaData metaData = connection.getMetaData();
-		String dialect = metaData.getDatabaseProductName();
+		String dialect = ConnectionSessionTracker.getDialect(connection);
 
 		try (Statement statement = connection.createStatement()) {
 
 			if (dialect.equals(DatabaseDialectEnum.MYSQL.code)) {
 				if (StringUtils.isNotEmpty(databaseOrSchema)) {
-					statement.execute("use `" + databaseOrSchema + "`;");
+					ConnectionSessionTracker.switchSchema(connection, statement, "use `" + databaseOrSchema + "`;",
+							databaseOrSchema);
+				}
+				else {
+					restoreInitialCatalog(connection, statement);
 				}
 			}
 			else if (dialect.equals(DatabaseDialectEnum.POSTGRESQL.code)) {
-				if (StringUtils.isNotEmpty(databaseOrSchema)) {
-					statement.execute("set search_path = '" + databaseOrSchema + "';");
-				}
+				switchSchema(connection, statement, dialect, databaseOrSchema);
 			}
 
-			ResultSet rs = statement.executeQuery(sql);
-
-			List<String[]> result = ResultSetConvertUtil.convert(rs);
-
-			if (StringUtils.isNotEmpty(databaseOrSchema) && dialect.equals(DatabaseDialectEnum.MYSQL.code)) {
-				statement.execute("use `" + originalDb + "`;");
+			try (ResultSet rs = statement.executeQuery(sql)) {
+				return ResultSetConvertUtil.convert(rs);
 			}
+			finally {
+				if (dialect.equals(DatabaseDialectEnum.MYSQL.code) && StringUtils.isNotEmpty(databaseOrSchema)) {
+					// 查询完立即切回默认库（与目标相同时跳过），执行用户 SQL 前无需再恢复
+					restoreInitialCatalog(connection, statement);
+				}
+			}
+		}
+	}
 
-			return result;
+	/**
+	 * Switch the session schema for PostgreSQL / H2, skipped when already current
+	 */
+	private static void switchSchema(Connection connection, Statement statement, String dialect, String schema)
+			throws SQLException {
+		if (StringUtils.isEmpty(schema)) {
+			return;
+		}
+		if (dialect.equals(DatabaseDialectEnum.POSTGRESQL.code)) {
+			ConnectionSessionTracker.switchSchema(connection, statement, "set search_path = '" + schema + "';", schema);
+		}
+		else if (dialect.equals(DatabaseDialectEnum.H2.code)) {
+			ConnectionSessionTracker.switchSchema(connection, statement, "use " + schema + ";", schema);
+		}
+	}
+
+	/**
+	 * Restore the MySQL default database after a metadata query switched it, skipped
+	 * when unchanged
+	 */
+	private static void restoreInitialCatalog(Connection connection, Statement statement) throws SQLException {
+		String originalDb = ConnectionSessionTracker.getInitialCatalog(connection);
+		if (StringUtils.isNotEmpty(originalDb)) {
+			ConnectionSessionTracker.switchSchema(connection, statement, "use `" + originalDb + "`;", originalDb);
 		}
 	}
 
@@ -22,6 +22,7 @@ import com.alibaba.cloud.ai.dataagent.connector.SqlExecutor;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.DatabaseInfoBO;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSetPageListener;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ForeignKeyInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.SchemaInfoBO;
@@ -32,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author yuluo
@@ -62,6 +64,8 @@ public abstract class AbstractAccessor implements Accessor {
 					return (T) ddlExecutor.fetchTables(connection, param.getSchema(), param.getTables());
 				case "showColumns":
 					return (T) ddlExecutor.showColumns(connection, param.getSchema(), param.getTable());
+				case "showColumnsBatch":
+					return (T) ddlExecutor.showColumnsBatch(connection, param.getSchema(), param.getTables());
 				case "showForeignKeys":
 					return (T) ddlExecutor.showForeignKeys(connection, param.getSchema(), param.getTables());
 				case "sampleColumn":
@@ -102,6 +106,11 @@ public abstract class AbstractAccessor implements Accessor {
 		return accessDb(dbConfig, "showColumns", param);
 	}
 
+	public Map<String, List<ColumnInfoBO>> showColumnsBatch(DbConfigBO dbConfig, DbQueryParameter param)
+			throws Exception {
+		return accessDb(dbConfig, "showColumnsBatch", param);
+	}
+
 	public List<ForeignKeyInfoBO> showForeignKeys(DbConfigBO dbConfig, DbQueryParameter param) throws Exception {
 		return accessDb(dbConfig, "showForeignKeys", param);
 	}
@@ -118,6 +127,18 @@ public abstract class AbstractAccessor implements Accessor {
 		return accessDb(dbConfig, "executeSqlAndReturnObject", param);
 	}
 
+	public ResultSetBO executeSqlAndStreamObject(DbConfigBO dbConfig, DbQueryParameter param, int pageSize,
+			ResultSetPageListener listener) throws Exception {
+		try (Connection connection = getConnection(dbConfig)) {
+			return SqlExecutor.executeSqlAndReturnObject(connection, param.getSchema(), param.getSql(), pageSize,
+					listener);
+		}
+		catch (Exception e) {
+			log.error("Error accessing database with method: executeSqlAndStreamObject, reason: {}", e.getMessage());
+			throw e;
+		}
+	}
+
 	public Connection getConnection(DbConfigBO config) {
 		return this.dbConnectionPool.getConnection(config);
 	}
@@ -18,6 +18,7 @@ package com.alibaba.cloud.ai.dataagent.connector.accessor;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.DatabaseInfoBO;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSetPageListener;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ForeignKeyInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.SchemaInfoBO;
@@ -26,6 +27,7 @@ import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import com.alibaba.cloud.ai.dataagent.enums.BizDataSourceTypeEnum;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data access interface definition.
@@ -65,6 +67,16 @@ public interface Accessor {
 
 	List<ColumnInfoBO> showColumns(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
 
+	/**
+	 * Fetch the columns of all tables in {@link DbQueryParameter#getTables()} with bulk
+	 * metadata queries on a single connection.
+	 * @param dbConfig database configuration
+	 * @param param query parameters, schema and tables are used
+	 * @return table name to columns, tables without columns are absent
+	 * @throws Exception if an error occurs during database access
+	 */
+	Map<String, List<ColumnInfoBO>> showColumnsBatch(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
+
 	List<ForeignKeyInfoBO> showForeignKeys(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
 
 	List<String> sampleColumn(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
@@ -73,4 +85,17 @@ public interface Accessor {
 
 	ResultSetBO executeSqlAndReturnObject(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
 
+	/**
+	 * Execute the query and push rows to the listener in pages as they are read from
+	 * JDBC.
+	 * @param dbConfig database configuration
+	 * @param param query parameters
+	 * @param pageSize rows per page
+	 * @param listener page listener
+	 * @return the complete result set
+	 * @throws Exception if an error occurs during database access
+	 */
+	ResultSetBO executeSqlAndStreamObject(DbConfigBO dbConfig, DbQueryParameter param, int pageSize,
+			ResultSetPageListener listener) throws Exception;
+
 }
@@ -37,8 +37,19 @@ public class AccessorFactory {
 
 	private final Map<String, Accessor> accessorMap = new ConcurrentHashMap<>();
 
+	/**
+	 * dialect/protocol -> 数据源类型 的解析结果缓存
+	 */
+	private final Map<String, BizDataSourceTypeEnum> typeEnumCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 数据源类型 -> Accessor 的解析结果缓存，注册新的 Accessor 时清空
+	 */
+	private final Map<BizDataSourceTypeEnum, Accessor> typeAccessorCache = new ConcurrentHashMap<>();
+
 	public void register(Accessor accessor) {
 		accessorMap.put(accessor.getAccessorType(), accessor);
+		typeAccessorCache.clear();
 	}
 
 	public boolean isRegistered(String type) {
@@ -49,22 +60,25 @@ public class AccessorFactory {
 		if (dbConfig == null) {
 			throw new IllegalArgumentException("dbConfig cannot be null");
 		}
-		BizDataSourceTypeEnum typeEnum = Arrays.stream(BizDataSourceTypeEnum.values())
-			.filter(e -> e.getDialect().equalsIgnoreCase(dbConfig.getDialectType()))
-			.filter(e -> e.getProtocol().equalsIgnoreCase(dbConfig.getConnectionType()))
-			.findFirst()
-			.orElseThrow(() -> new IllegalStateException(
-					"no accessor registered for dialect: " + dbConfig.getDialectType()));
+		String dialect = String.valueOf(dbConfig.getDialectType()).toLowerCase();
+		String protocol = String.valueOf(dbConfig.getConnectionType()).toLowerCase();
+		BizDataSourceTypeEnum typeEnum = typeEnumCache.computeIfAbsent(dialect + "|" + protocol,
+				k -> Arrays.stream(BizDataSourceTypeEnum.values())
+					.filter(e -> e.getDialect().equalsIgnoreCase(dialect))
+					.filter(e -> e.getProtocol().equalsIgnoreCase(protocol))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException(
+							"no accessor registered for dialect: " + dbConfig.getDialectType())));
 		return getAccessorByDbTypeEnum(typeEnum);
 	}
 
-	// todo: 写一层缓存
 	public Accessor getAccessorByDbTypeEnum(BizDataSourceTypeEnum typeEnum) {
-		return accessorMap.values()
-			.stream()
-			.filter(a -> a.supportedDataSourceType(typeEnum.getTypeName()))
-			.findFirst()
-			.orElseThrow(() -> new IllegalStateException("no accessor registered for dialect: " + typeEnum));
+		return typeAccessorCache.computeIfAbsent(typeEnum,
+				t -> accessorMap.values()
+					.stream()
+					.filter(a -> a.supportedDataSourceType(t.getTypeName()))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException("no accessor registered for dialect: " + t)));
 	}
 
 	public Accessor getAccessorByType(String type) {
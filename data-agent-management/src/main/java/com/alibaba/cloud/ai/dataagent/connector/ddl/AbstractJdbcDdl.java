@@ -23,11 +23,24 @@ import com.alibaba.cloud.ai.dataagent.bo.schema.SchemaInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
 import com.alibaba.cloud.ai.dataagent.util.SqlUtil;
 
+import org.apache.commons.lang3.BooleanUtils;
+
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.alibaba.cloud.ai.dataagent.util.ColumnTypeUtil.wrapType;
 
 public abstract class AbstractJdbcDdl implements Ddl {
 
+	/**
+	 * 批量查询列信息时单条 SQL 中 IN 列表的最大表数量
+	 */
+	protected static final int COLUMNS_BATCH_TABLE_LIMIT = 500;
+
 	@Deprecated
 	public abstract List<DatabaseInfoBO> showDatabases(Connection connection);
 
@@ -39,6 +52,64 @@ public abstract class AbstractJdbcDdl implements Ddl {
 
 	public abstract List<ColumnInfoBO> showColumns(Connection connection, String schema, String table);
 
+	/**
+	 * 批量获取多个表的列信息，按 {@link #COLUMNS_BATCH_TABLE_LIMIT} 分片，每片一次元数据查询
+	 * @return 表名到列信息的映射，保持查询返回的列顺序
+	 */
+	public Map<String, List<ColumnInfoBO>> showColumnsBatch(Connection connection, String schema,
+			List<String> tables) {
+		Map<String, List<ColumnInfoBO>> result = new LinkedHashMap<>();
+		if (tables == null || tables.isEmpty()) {
+			return result;
+		}
+		for (int i = 0; i < tables.size(); i += COLUMNS_BATCH_TABLE_LIMIT) {
+			List<String> chunk = tables.subList(i, Math.min(i + COLUMNS_BATCH_TABLE_LIMIT, tables.size()));
+			result.putAll(fetchColumnsForTables(connection, schema, chunk));
+		}
+		return result;
+	}
+
+	/**
+	 * 获取一组表的列信息。默认逐表调用 {@link #showColumns}（复用同一个连接），支持的方言覆盖为单条
+	 * INFORMATION_SCHEMA 查询
+	 */
+	protected Map<String, List<ColumnInfoBO>> fetchColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		Map<String, List<ColumnInfoBO>> result = new LinkedHashMap<>();
+		for (String table : tables) {
+			result.put(table, showColumns(connection, schema, table));
+		}
+		return result;
+	}
+
+	/**
+	 * 解析批量列查询结果，结果集列顺序需为：表名、列名、描述、类型、是否主键、是否非空，第一行为表头
+	 */
+	protected Map<String, List<ColumnInfoBO>> groupColumnsByTable(String[][] resultArr) {
+		Map<String, List<ColumnInfoBO>> result = new LinkedHashMap<>();
+		for (int i = 1; i < resultArr.length; i++) {
+			if (resultArr[i].length < 6) {
+				continue;
+			}
+			result.computeIfAbsent(resultArr[i][0], k -> new ArrayList<>())
+				.add(ColumnInfoBO.builder()
+					.name(resultArr[i][1])
+					.description(resultArr[i][2])
+					.type(wrapType(resultArr[i][3]))
+					.primary(BooleanUtils.toBoolean(resultArr[i][4]))
+					.notnull(BooleanUtils.toBoolean(resultArr[i][5]))
+					.build());
+		}
+		return result;
+	}
+
+	/**
+	 * 将表名拼接为 SQL IN 列表，如 'a', 'b'
+	 */
+	protected String toInList(List<String> tables) {
+		return tables.stream().map(x -> "'" + x.replace("'", "''") + "'").collect(Collectors.joining(", "));
+	}
+
 	public abstract List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables);
 
 	public abstract List<String> sampleColumn(Connection connection, String schema, String table, String column);
@@ -28,6 +28,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -147,6 +148,21 @@ public class DamengJdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	protected Map<String, List<ColumnInfoBO>> fetchColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT TABLE_NAME, COLUMN_NAME, '' AS COMMENTS, DATA_TYPE, 'false' AS IS_PRIMARY, "
+				+ "CASE WHEN NULLABLE = 'N' THEN 'true' ELSE 'false' END AS IS_NOT_NULL "
+				+ "FROM USER_TAB_COLUMNS WHERE TABLE_NAME IN (" + toInList(tables) + ") ORDER BY TABLE_NAME, COLUMN_ID";
+		try {
+			String[][] resultArr = SqlExecutor.executeSqlAndReturnArr(connection, null, sql);
+			return groupColumnsByTable(resultArr);
+		}
+		catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		if (tables == null || tables.isEmpty()) {
@@ -32,6 +32,7 @@ import org.springframework.stereotype.Service;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -185,6 +186,23 @@ public class H2JdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	protected Map<String, List<ColumnInfoBO>> fetchColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT table_name, column_name, remarks, data_type, \n"
+				+ "CASE WHEN IS_IDENTITY = 'YES' THEN TRUE ELSE FALSE END AS 主键唯一, \n"
+				+ "CASE WHEN IS_NULLABLE = 'NO' THEN TRUE ELSE FALSE END AS 非空 \n" + "FROM information_schema.COLUMNS "
+				+ "WHERE table_schema='%s' " + "and table_name in (%s) \n" + "ORDER BY table_name, ordinal_position;";
+		try {
+			String[][] resultArr = SqlExecutor.executeSqlAndReturnArr(connection, "INFORMATION_SCHEMA",
+					String.format(sql, schema, toInList(tables)));
+			return groupColumnsByTable(resultArr);
+		}
+		catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		String sql = "SELECT \n" + "    kc.TABLE_NAME AS 表名,\n" + "    kc.COLUMN_NAME AS 列名,\n"
@@ -33,6 +33,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -165,6 +166,23 @@ public class MysqlJdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	protected Map<String, List<ColumnInfoBO>> fetchColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT table_name, column_name, column_comment, data_type, "
+				+ "IF(column_key='PRI','true','false') AS '主键唯一', \n" + "IF(IS_NULLABLE='NO','true','false') AS '非空' \n"
+				+ "FROM information_schema.COLUMNS " + "WHERE table_schema='%s' " + "and table_name in (%s) \n"
+				+ "ORDER BY table_name, ordinal_position;";
+		try {
+			String[][] resultArr = SqlExecutor.executeSqlAndReturnArr(connection, "INFORMATION_SCHEMA",
+					String.format(sql, connection.getCatalog(), toInList(tables)));
+			return groupColumnsByTable(resultArr);
+		}
+		catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		String sql = "SELECT \n" + "    TABLE_NAME AS '表名',\n" + "    COLUMN_NAME AS '列名',\n"
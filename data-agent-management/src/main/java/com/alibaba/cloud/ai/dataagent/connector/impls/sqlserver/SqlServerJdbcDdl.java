@@ -31,6 +31,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.alibaba.cloud.ai.dataagent.util.ColumnTypeUtil.wrapType;
@@ -208,6 +209,33 @@ public class SqlServerJdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	protected Map<String, List<ColumnInfoBO>> fetchColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT \n" + "c.TABLE_NAME, \n" + "c.COLUMN_NAME, \n"
+				+ "CAST(ep.value AS NVARCHAR(MAX)) AS COLUMN_COMMENT, \n" + "c.DATA_TYPE, \n"
+				+ "CASE WHEN pk.COLUMN_NAME IS NOT NULL THEN 'true' ELSE 'false' END AS IS_PRIMARY_KEY, \n"
+				+ "CASE WHEN c.IS_NULLABLE = 'NO' THEN 'true' ELSE 'false' END AS IS_NOT_NULL \n"
+				+ "FROM INFORMATION_SCHEMA.COLUMNS c \n"
+				+ "LEFT JOIN sys.columns sc ON OBJECT_ID(c.TABLE_SCHEMA + '.' + c.TABLE_NAME) = sc.object_id AND c.COLUMN_NAME = sc.name \n"
+				+ "LEFT JOIN sys.extended_properties ep ON sc.object_id = ep.major_id AND sc.column_id = ep.minor_id AND ep.name = 'MS_Description' \n"
+				+ "LEFT JOIN ( \n" + "    SELECT ku.TABLE_SCHEMA, ku.TABLE_NAME, ku.COLUMN_NAME \n"
+				+ "    FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc \n"
+				+ "    JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE ku ON tc.CONSTRAINT_NAME = ku.CONSTRAINT_NAME \n"
+				+ "    WHERE tc.CONSTRAINT_TYPE = 'PRIMARY KEY' \n"
+				+ ") pk ON c.TABLE_SCHEMA = pk.TABLE_SCHEMA AND c.TABLE_NAME = pk.TABLE_NAME AND c.COLUMN_NAME = pk.COLUMN_NAME \n"
+				+ "WHERE c.TABLE_SCHEMA = '%s' AND c.TABLE_NAME IN (%s) \n"
+				+ "ORDER BY c.TABLE_NAME, c.ORDINAL_POSITION;";
+		try {
+			String[][] resultArr = SqlExecutor.executeSqlAndReturnArr(connection, null,
+					String.format(sql, schema, toInList(tables)));
+			return groupColumnsByTable(resultArr);
+		}
+		catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		String sql = "SELECT \n" + "FK.TABLE_NAME AS 'Table', \n" + "CU.COLUMN_NAME AS 'Column', \n"
@@ -16,11 +16,18 @@
 package com.alibaba.cloud.ai.dataagent.connector.pool;
 
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.druid.pool.DruidDataSource;
 import com.alibaba.druid.pool.DruidDataSourceFactory;
 import com.alibaba.cloud.ai.dataagent.enums.BizDataSourceTypeEnum;
 import com.alibaba.cloud.ai.dataagent.enums.ErrorCodeEnum;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -28,16 +35,34 @@ import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 
+	private static final String METRIC_PREFIX = "dataagent.datasource.pool.";
+
 	/**
 	 * DataSource cache to ensure that each configuration creates DataSource only once.
+	 * Pools are created lazily on first use and evicted once idle beyond the TTL.
 	 */
-	private static final ConcurrentHashMap<String, DataSource> DATA_SOURCE_CACHE = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, PooledDataSource> dataSourceCache = new ConcurrentHashMap<>();
+
+	private DataAgentProperties.DatasourcePool poolProperties = new DataAgentProperties.DatasourcePool();
+
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+	@Autowired(required = false)
+	public void setDataAgentProperties(DataAgentProperties properties) {
+		this.poolProperties = properties.getDatasourcePool();
+	}
 
 	/**
 	 * Driver
@@ -86,32 +111,29 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 
 		for (int attempt = 1; attempt <= maxRetries; attempt++) {
 			try {
-				// Generate cache key based on connection parameters
-				String cacheKey = generateCacheKey(jdbcUrl, config.getUsername(), config.getPassword());
-
-				// Use computeIfAbsent to ensure thread safety and avoid duplicate
-				// DataSource
-				// creation
-				DataSource dataSource = DATA_SOURCE_CACHE.computeIfAbsent(cacheKey, key -> {
-					try {
-						log.debug("Creating new DataSource for key: {}", key);
-						return createdDataSource(jdbcUrl, config.getUsername(), config.getPassword());
-					}
-					catch (Exception e) {
-						log.error("Failed to create DataSource for key: {}", key, e);
-						throw new RuntimeException("Failed to create DataSource", e);
-					}
-				});
-
-				// 记录连接池状态
-				if (dataSource instanceof DruidDataSource druidDataSource) {
-					log.debug("Connection pool status - Active: {}, Idle: {}, Total: {}, WaitCount: {}",
-							druidDataSource.getActiveCount(), druidDataSource.getPoolingCount(),
-							druidDataSource.getActiveCount() + druidDataSource.getPoolingCount(),
-							druidDataSource.getWaitThreadCount());
+				// Generate cache key based on connection parameters and pool sizing
+				String cacheKey = generateCacheKey(config);
+				if (!dataSourceCache.containsKey(cacheKey)) {
+					retireStaleDataSources(cacheKey, config.getDatasourceId());
 				}
 
-				return dataSource.getConnection();
+				PooledDataSource pooled = acquireDataSource(cacheKey, config);
+				try {
+					DataSource dataSource = pooled.dataSource();
+
+					// 记录连接池状态
+					if (dataSource instanceof DruidDataSource druidDataSource) {
+						log.debug("Connection pool status - Active: {}, Idle: {}, Total: {}, WaitCount: {}",
+								druidDataSource.getActiveCount(), druidDataSource.getPoolingCount(),
+								druidDataSource.getActiveCount() + druidDataSource.getPoolingCount(),
+								druidDataSource.getWaitThreadCount());
+					}
+
+					return dataSource.getConnection();
+				}
+				finally {
+					pooled.release();
+				}
 			}
 			catch (Exception e) {
 				log.warn("Attempt {} to get database connection failed: {}", attempt, e.getMessage());
@@ -135,33 +157,135 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 	}
 
 	/**
-	 * Generate cache key based on connection parameters.
-	 * @param url the database URL
-	 * @param username the database username
-	 * @param password the database password
+	 * 获取并占用缓存的连接池，占用期间不会被淘汰关闭。若拿到的连接池恰好已被淘汰，则重新创建。
+	 */
+	private PooledDataSource acquireDataSource(String cacheKey, DbConfigBO config) {
+		while (true) {
+			// Use computeIfAbsent to ensure thread safety and avoid duplicate
+			// DataSource creation
+			PooledDataSource pooled = dataSourceCache.computeIfAbsent(cacheKey, key -> {
+				try {
+					log.debug("Creating new DataSource for key: {}", key);
+					return createPooledDataSource(config);
+				}
+				catch (Exception e) {
+					log.error("Failed to create DataSource for key: {}", key, e);
+					throw new RuntimeException("Failed to create DataSource", e);
+				}
+			});
+			if (pooled.acquire()) {
+				pooled.touch();
+				return pooled;
+			}
+			dataSourceCache.remove(cacheKey, pooled);
+		}
+	}
+
+	/**
+	 * Generate cache key based on connection parameters. Pool sizing is part of the key
+	 * so that changing it on the datasource creates a new pool.
+	 * @param config the database configuration
 	 * @return the cache key
 	 */
-	private String generateCacheKey(String url, String username, String password) {
-		return url + "|" + username + "|" + Objects.hashCode(password);
+	private String generateCacheKey(DbConfigBO config) {
+		return config.getUrl() + "|" + config.getUsername() + "|" + Objects.hashCode(config.getPassword()) + "|"
+				+ config.getPoolMaxActive() + "|" + config.getPoolMinIdle() + "|" + config.getPoolMaxWait();
 	}
 
-	@Override
-	public void close() {
-		DATA_SOURCE_CACHE.values().forEach(dataSource -> {
-			if (dataSource instanceof DruidDataSource) {
-				((DruidDataSource) dataSource).close();
+	/**
+	 * 同一数据源的连接参数变更后，旧连接池不会再被使用，直接关闭
+	 */
+	private void retireStaleDataSources(String cacheKey, Integer datasourceId) {
+		if (datasourceId == null) {
+			return;
+		}
+		dataSourceCache.forEach((key, pooled) -> {
+			if (!key.equals(cacheKey) && datasourceId.equals(pooled.datasourceId())) {
+				evict(key, pooled);
 			}
 		});
-		DATA_SOURCE_CACHE.clear();
-		log.info("DataSource cache cleared");
+	}
+
+	private PooledDataSource createPooledDataSource(DbConfigBO config) throws Exception {
+		int maxActive = Objects.requireNonNullElse(config.getPoolMaxActive(), poolProperties.getMaxActive());
+		int minIdle = Math.min(Objects.requireNonNullElse(config.getPoolMinIdle(), poolProperties.getMinIdle()),
+				maxActive);
+		int maxWait = Objects.requireNonNullElse(config.getPoolMaxWait(), poolProperties.getMaxWait());
+		DataSource dataSource = createdDataSource(config.getUrl(), config.getUsername(), config.getPassword(),
+				maxActive, minIdle, maxWait);
+		return new PooledDataSource(config.getDatasourceId(), dataSource, registerMetrics(config, dataSource));
+	}
+
+	/**
+	 * Expose Druid pool counters as gauges tagged by datasource id.
+	 */
+	private List<Meter> registerMetrics(DbConfigBO config, DataSource dataSource) {
+		List<Meter> meters = new ArrayList<>();
+		if (!(dataSource instanceof DruidDataSource druid) || config.getDatasourceId() == null) {
+			return meters;
+		}
+		Tags tags = Tags.of("datasource.id", String.valueOf(config.getDatasourceId()), "pool.type",
+				getConnectionPoolType());
+		meters.add(Gauge.builder(METRIC_PREFIX + "active", druid, DruidDataSource::getActiveCount)
+			.description("Active connections of the datasource pool")
+			.tags(tags)
+			.register(meterRegistry));
+		meters.add(Gauge.builder(METRIC_PREFIX + "idle", druid, DruidDataSource::getPoolingCount)
+			.description("Idle connections of the datasource pool")
+			.tags(tags)
+			.register(meterRegistry));
+		meters.add(Gauge.builder(METRIC_PREFIX + "wait", druid, DruidDataSource::getWaitThreadCount)
+			.description("Threads waiting for a connection of the datasource pool")
+			.tags(tags)
+			.register(meterRegistry));
+		return meters;
+	}
+
+	@Override
+	public int evictIdleDataSources(Duration idleTtl) {
+		long deadline = System.currentTimeMillis() - idleTtl.toMillis();
+		int evicted = 0;
+		for (Map.Entry<String, PooledDataSource> entry : dataSourceCache.entrySet()) {
+			PooledDataSource pooled = entry.getValue();
+			boolean busy = pooled.dataSource() instanceof DruidDataSource druid && druid.getActiveCount() > 0;
+			if (pooled.lastAccessTime() < deadline && !busy && evict(entry.getKey(), pooled)) {
+				evicted++;
+			}
+		}
+		if (evicted > 0) {
+			log.info("Evicted {} idle DataSource(s) of pool type {}", evicted, getConnectionPoolType());
+		}
+		return evicted;
 	}
 
 	/**
-	 * Clear DataSource cache and close all cached DataSource instances. This method is
-	 * useful for resource cleanup in special scenarios.
+	 * 正在从连接池获取连接时不淘汰，留给下一轮；成功标记关闭的一方负责释放资源
 	 */
+	private boolean evict(String key, PooledDataSource pooled) {
+		if (!pooled.tryClose()) {
+			return false;
+		}
+		dataSourceCache.remove(key, pooled);
+		pooled.meters().forEach(meterRegistry::remove);
+		if (pooled.dataSource() instanceof DruidDataSource druid) {
+			druid.close();
+		}
+		return true;
+	}
+
+	@Override
+	public void close() {
+		dataSourceCache.forEach(this::evict);
+		log.info("DataSource cache cleared");
+	}
 
 	public DataSource createdDataSource(String url, String username, String password) throws Exception {
+		return createdDataSource(url, username, password, poolProperties.getMaxActive(), poolProperties.getMinIdle(),
+				poolProperties.getMaxWait());
+	}
+
+	public DataSource createdDataSource(String url, String username, String password, int maxActive, int minIdle,
+			int maxWait) throws Exception {
 
 		String driver = getDriver();
 
@@ -170,15 +294,16 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 			filters = "stat";
 		}
 
-		java.util.Map<String, String> props = new java.util.HashMap<>();
+		Map<String, String> props = new HashMap<>();
 		props.put(DruidDataSourceFactory.PROP_DRIVERCLASSNAME, driver);
 		props.put(DruidDataSourceFactory.PROP_URL, url);
 		props.put(DruidDataSourceFactory.PROP_USERNAME, username);
 		props.put(DruidDataSourceFactory.PROP_PASSWORD, password);
-		props.put(DruidDataSourceFactory.PROP_INITIALSIZE, "5");
-		props.put(DruidDataSourceFactory.PROP_MINIDLE, "5");
-		props.put(DruidDataSourceFactory.PROP_MAXACTIVE, "20");
-		props.put(DruidDataSourceFactory.PROP_MAXWAIT, "10000");
+		// 连接按需创建，不在创建连接池时预先打开连接
+		props.put(DruidDataSourceFactory.PROP_INITIALSIZE, "0");
+		props.put(DruidDataSourceFactory.PROP_MINIDLE, String.valueOf(minIdle));
+		props.put(DruidDataSourceFactory.PROP_MAXACTIVE, String.valueOf(maxActive));
+		props.put(DruidDataSourceFactory.PROP_MAXWAIT, String.valueOf(maxWait));
 		props.put(DruidDataSourceFactory.PROP_TIMEBETWEENEVICTIONRUNSMILLIS, "60000");
 		props.put(DruidDataSourceFactory.PROP_FILTERS, filters);
 
@@ -187,10 +312,76 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 		dataSource.setConnectionErrorRetryAttempts(2);
 
 		// 记录数据源创建信息
-		log.info(
-				"Created new DataSource with optimized parameters - InitialSize: 5, MinIdle: 5, MaxActive: 20, MaxWait: 10000ms");
+		log.info("Created new DataSource - InitialSize: 0, MinIdle: {}, MaxActive: {}, MaxWait: {}ms", minIdle,
+				maxActive, maxWait);
 
 		return dataSource;
 	}
 
+	/**
+	 * A cached DataSource together with the bookkeeping needed for idle eviction.
+	 */
+	private static final class PooledDataSource {
+
+		private final Integer datasourceId;
+
+		private final DataSource dataSource;
+
+		private final List<Meter> meters;
+
+		private volatile long lastAccessTime = System.currentTimeMillis();
+
+		/**
+		 * 正在获取连接的线程数，-1 表示已关闭
+		 */
+		private final AtomicInteger borrowers = new AtomicInteger();
+
+		private PooledDataSource(Integer datasourceId, DataSource dataSource, List<Meter> meters) {
+			this.datasourceId = datasourceId;
+			this.dataSource = dataSource;
+			this.meters = meters;
+		}
+
+		boolean acquire() {
+			while (true) {
+				int current = borrowers.get();
+				if (current < 0) {
+					return false;
+				}
+				if (borrowers.compareAndSet(current, current + 1)) {
+					return true;
+				}
+			}
+		}
+
+		void release() {
+			borrowers.decrementAndGet();
+		}
+
+		boolean tryClose() {
+			return borrowers.compareAndSet(0, -1);
+		}
+
+		void touch() {
+			this.lastAccessTime = System.currentTimeMillis();
+		}
+
+		Integer datasourceId() {
+			return datasourceId;
+		}
+
+		DataSource dataSource() {
+			return dataSource;
+		}
+
+		List<Meter> meters() {
+			return meters;
+		}
+
+		long lastAccessTime() {
+			return lastAccessTime;
+		}
+
+	}
+
 }
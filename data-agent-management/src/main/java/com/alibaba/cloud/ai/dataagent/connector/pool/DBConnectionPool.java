@@ -19,6 +19,7 @@ import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import com.alibaba.cloud.ai.dataagent.enums.ErrorCodeEnum;
 
 import java.sql.Connection;
+import java.time.Duration;
 
 /**
  * DataAgent data connection pool, used to maintain the data source connection information
@@ -43,6 +44,14 @@ public interface DBConnectionPool extends AutoCloseable {
 
 	boolean supportedDataSourceType(String type);
 
+	/**
+	 * Close and remove pooled data sources that have had no activity within the given
+	 * time.
+	 * @param idleTtl how long a data source may stay unused before it is evicted
+	 * @return the number of evicted data sources
+	 */
+	int evictIdleDataSources(Duration idleTtl);
+
 	String getConnectionPoolType();
 
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 定期关闭长时间未使用的业务数据源连接池，避免注册大量数据源时常驻空闲连接
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DBConnectionPoolEvictionTask {
+
+	private final List<DBConnectionPool> pools;
+
+	private final DataAgentProperties properties;
+
+	/**
+	 * 每分钟检查一次空闲连接池
+	 */
+	@Scheduled(fixedDelay = 60000)
+	public void evictIdleDataSources() {
+		Duration idleTtl = Duration.ofMinutes(properties.getDatasourcePool().getIdleTtlMinutes());
+		for (DBConnectionPool pool : pools) {
+			try {
+				pool.evictIdleDataSources(idleTtl);
+			}
+			catch (Exception e) {
+				log.error("Failed to evict idle DataSources of pool type: {}", pool.getConnectionPoolType(), e);
+			}
+		}
+	}
+
+}
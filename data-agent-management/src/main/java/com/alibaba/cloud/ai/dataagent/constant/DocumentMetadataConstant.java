@@ -52,4 +52,13 @@ public final class DocumentMetadataConstant {
 	// businessTermId
 	public static final String DB_BUSINESS_TERM_ID = "businessTermId";
 
+	// 表结构指纹，用于增量初始化Schema
+	public static final String SCHEMA_FINGERPRINT = "schemaFingerprint";
+
+	// 混合检索融合后的分数
+	public static final String FUSION_SCORE = "fusionScore";
+
+	// 重排序后的分数
+	public static final String RERANK_SCORE = "rerankScore";
+
 }
@@ -16,6 +16,8 @@
 package com.alibaba.cloud.ai.dataagent.controller;
 
 import com.alibaba.cloud.ai.dataagent.dto.GraphRequest;
+import com.alibaba.cloud.ai.dataagent.exception.StreamLimitExceededException;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.service.graph.GraphService;
 import com.alibaba.cloud.ai.dataagent.vo.GraphNodeResponse;
 import jakarta.servlet.http.HttpServletResponse;
@@ -26,6 +28,7 @@ import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.STREAM_EVENT_COMPLETE;
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.STREAM_EVENT_ERROR;
@@ -43,6 +46,8 @@ public class GraphController {
 
 	private final GraphService graphService;
 
+	private final DataAgentProperties properties;
+
 	@GetMapping(value = "/stream/search", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
 	public Flux<ServerSentEvent<GraphNodeResponse>> streamSearch(@RequestParam("agentId") String agentId,
 			@RequestParam(value = "threadId", required = false) String threadId, @RequestParam("query") String query,
@@ -58,7 +63,11 @@ public class GraphController {
 		response.setHeader("Access-Control-Allow-Origin", "*");
 		response.setHeader("Access-Control-Allow-Headers", "Cache-Control");
 
-		Sinks.Many<ServerSentEvent<GraphNodeResponse>> sink = Sinks.many().unicast().onBackpressureBuffer();
+		// 有界缓冲：客户端消费过慢时 tryEmitNext 返回 FAIL_OVERFLOW，由服务端终止该会话
+		Sinks.Many<ServerSentEvent<GraphNodeResponse>> sink = Sinks.many()
+			.unicast()
+			.onBackpressureBuffer(
+					Queues.<ServerSentEvent<GraphNodeResponse>>get(properties.getStream().getSinkBufferSize()).get());
 
 		GraphRequest request = GraphRequest.builder()
 			.agentId(agentId)
@@ -69,7 +78,16 @@ public class GraphController {
 			.rejectedPlan(rejectedPlan)
 			.nl2sqlOnly(nl2sqlOnly)
 			.build();
-		graphService.graphStreamProcess(sink, request);
+		try {
+			graphService.graphStreamProcess(sink, request);
+		}
+		catch (StreamLimitExceededException e) {
+			log.warn("Rejecting stream request, threadId: {}: {}", request.getThreadId(), e.getMessage());
+			return Flux.just(ServerSentEvent
+				.builder(GraphNodeResponse.error(agentId, request.getThreadId(), e.getMessage()))
+				.event(STREAM_EVENT_ERROR)
+				.build());
+		}
 
 		return sink.asFlux().filter(sse -> {
 			// 1. 如果 event 是 "complete" 或 "error"，直接放行（不管 text 是否为空）
@@ -92,6 +110,12 @@ public class GraphController {
 					graphService.stopStreamProcessing(request.getThreadId());
 				}
 			})
+			// 服务端因缓冲区溢出终止会话时，以 error 事件告知客户端而不是直接断开
+			.onErrorResume(StreamLimitExceededException.class,
+					e -> Flux.just(ServerSentEvent
+						.builder(GraphNodeResponse.error(agentId, request.getThreadId(), e.getMessage()))
+						.event(STREAM_EVENT_ERROR)
+						.build()))
 			.doOnComplete(() -> log.info("Stream completed successfully, threadId: {}", request.getThreadId()));
 	}
 
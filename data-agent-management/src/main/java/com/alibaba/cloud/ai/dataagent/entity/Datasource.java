@@ -56,6 +56,21 @@ public class Datasource {
 
 	private Long creatorId;
 
+	/**
+	 * 连接池最大活跃连接数，为空时使用全局默认值
+	 */
+	private Integer poolMaxActive;
+
+	/**
+	 * 连接池最小空闲连接数，为空时使用全局默认值
+	 */
+	private Integer poolMinIdle;
+
+	/**
+	 * 获取连接的最大等待时间（毫秒），为空时使用全局默认值
+	 */
+	private Integer poolMaxWait;
+
 	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
 	@DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
 	private LocalDateTime createTime;
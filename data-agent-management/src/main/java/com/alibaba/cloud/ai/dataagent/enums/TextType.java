@@ -33,12 +33,22 @@ public enum TextType {
 
 	RESULT_SET("$$$result_set", "$$$"),
 
+	// 分页流式结果集，每个数据块是一个 ResultSetFrameBO
+	RESULT_SET_STREAM("$$$result_set_stream", "$$$"),
+
 	TEXT(null, null);
 
 	private final String startSign;
 
 	private final String endSign;
 
+	/**
+	 * 每个数据块都是一个完整的 JSON 文档（前端逐块 JSON.parse），数据块之间不能拼接
+	 */
+	public boolean isFramed() {
+		return this == RESULT_SET || this == RESULT_SET_STREAM;
+	}
+
 	public static TextType getType(TextType origin, String chuck) {
 		if (origin == TEXT) {
 			for (TextType type : TextType.values()) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Clock;
+
+/**
+ * 智能体知识的标题、内容、召回状态或删除状态发生变化时发布，用于失效知识相关的读缓存。
+ */
+@Getter
+public class AgentKnowledgeChangedEvent extends ApplicationEvent {
+
+	private final Integer agentId;
+
+	private final Integer knowledgeId;
+
+	public AgentKnowledgeChangedEvent(Object source, Integer agentId, Integer knowledgeId) {
+		super(source, Clock.systemDefaultZone());
+		this.agentId = agentId;
+		this.knowledgeId = knowledgeId;
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Clock;
+
+/**
+ * 业务知识新增、删除或召回状态变化时发布，用于失效按智能体缓存的召回ID集合。
+ */
+@Getter
+public class BusinessKnowledgeChangedEvent extends ApplicationEvent {
+
+	private final Long agentId;
+
+	public BusinessKnowledgeChangedEvent(Object source, Long agentId) {
+		super(source, Clock.systemDefaultZone());
+		this.agentId = agentId;
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Clock;
+
+/**
+ * 数据源或智能体-数据源关联发生变更时发布，用于失效已解析的数据源配置缓存。
+ * <p>
+ * agentId 为空表示按 datasourceId 失效所有引用该数据源的智能体；datasourceId 为空表示仅失效该智能体。
+ */
+@Getter
+public class DatasourceChangedEvent extends ApplicationEvent {
+
+	private final Long agentId;
+
+	private final Integer datasourceId;
+
+	public DatasourceChangedEvent(Object source, Long agentId, Integer datasourceId) {
+		super(source, Clock.systemDefaultZone());
+		this.agentId = agentId;
+		this.datasourceId = datasourceId;
+	}
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.exception;
+
+/**
+ * 流式会话超出服务端限制：进行中的会话数量达到上限，或客户端接收过慢导致输出缓冲区溢出
+ */
+public class StreamLimitExceededException extends RuntimeException {
+
+	public StreamLimitExceededException(String message) {
+		super(message);
+	}
+
+}
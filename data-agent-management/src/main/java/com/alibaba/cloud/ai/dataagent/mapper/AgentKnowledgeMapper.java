@@ -20,6 +20,7 @@ import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
 import org.apache.ibatis.annotations.*;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -30,6 +31,20 @@ public interface AgentKnowledgeMapper {
 			""")
 	AgentKnowledge selectById(@Param("id") Integer id);
 
+	/**
+	 * 批量查询未删除的知识，只返回召回证据展示所需的字段
+	 */
+	@Select("""
+			<script>
+			SELECT id, agent_id, title, type, content, source_filename FROM agent_knowledge
+			WHERE is_deleted = 0 AND id IN
+			<foreach item='id' collection='ids' open='(' separator=',' close=')'>
+				#{id}
+			</foreach>
+			</script>
+			""")
+	List<AgentKnowledge> selectByIds(@Param("ids") Collection<Integer> ids);
+
 	@Select("""
 			    SELECT * FROM agent_knowledge WHERE id = #{id}
 			""")
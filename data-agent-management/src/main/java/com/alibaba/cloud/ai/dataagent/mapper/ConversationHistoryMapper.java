@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.mapper;
+
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 多轮对话历史，每个会话一行，turns 为 JSON 数组
+ */
+@Mapper
+public interface ConversationHistoryMapper {
+
+	@Select("""
+			SELECT turns FROM conversation_history
+			WHERE thread_id = #{threadId}
+			""")
+	String selectTurns(@Param("threadId") String threadId);
+
+	@Update("""
+			UPDATE conversation_history
+			SET turns = #{turns}, update_time = #{updateTime}
+			WHERE thread_id = #{threadId}
+			""")
+	int updateTurns(@Param("threadId") String threadId, @Param("turns") String turns,
+			@Param("updateTime") LocalDateTime updateTime);
+
+	@Insert("""
+			INSERT INTO conversation_history (thread_id, turns, update_time)
+			VALUES (#{threadId}, #{turns}, #{updateTime})
+			""")
+	int insert(@Param("threadId") String threadId, @Param("turns") String turns,
+			@Param("updateTime") LocalDateTime updateTime);
+
+}
@@ -42,9 +42,19 @@ public interface DatasourceMapper {
 	List<Datasource> selectAll();
 
 	@Insert("""
+			<script>
 			INSERT INTO datasource
-			    (name, type, host, port, database_name, username, password, connection_url, status, test_status, description, creator_id, create_time, update_time)
-			VALUES (#{name}, #{type}, #{host}, #{port}, #{databaseName}, #{username}, #{password}, #{connectionUrl}, #{status}, #{testStatus}, #{description}, #{creatorId}, NOW(), NOW())
+			    (name, type, host, port, database_name, username, password, connection_url, status, test_status, description, creator_id,
+			    <if test="poolMaxActive != null">pool_max_active,</if>
+			    <if test="poolMinIdle != null">pool_min_idle,</if>
+			    <if test="poolMaxWait != null">pool_max_wait,</if>
+			    create_time, update_time)
+			VALUES (#{name}, #{type}, #{host}, #{port}, #{databaseName}, #{username}, #{password}, #{connectionUrl}, #{status}, #{testStatus}, #{description}, #{creatorId},
+			    <if test="poolMaxActive != null">#{poolMaxActive},</if>
+			    <if test="poolMinIdle != null">#{poolMinIdle},</if>
+			    <if test="poolMaxWait != null">#{poolMaxWait},</if>
+			    NOW(), NOW())
+			</script>
 			""")
 	@Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
 	int insert(Datasource datasource);
@@ -68,6 +78,9 @@ public interface DatasourceMapper {
 			    <if test="testStatus != null">test_status = #{testStatus},</if>
 			    <if test="description != null">description = #{description},</if>
 			    <if test="creatorId != null">creator_id = #{creatorId},</if>
+			    <if test="poolMaxActive != null">pool_max_active = #{poolMaxActive},</if>
+			    <if test="poolMinIdle != null">pool_min_idle = #{poolMinIdle},</if>
+			    <if test="poolMaxWait != null">pool_max_wait = #{poolMaxWait},</if>
 			    update_time = NOW()
 			</set>
 			WHERE id = #{id}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.mapper;
+
+import com.alibaba.cloud.ai.dataagent.entity.GraphCheckpoint;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 图执行检查点
+ */
+@Mapper
+public interface GraphCheckpointMapper {
+
+	@Select("""
+			SELECT * FROM graph_checkpoint
+			WHERE thread_id = #{threadId}
+			""")
+	GraphCheckpoint selectByThreadId(@Param("threadId") String threadId);
+
+	@Update("""
+			UPDATE graph_checkpoint
+			SET checkpoint_id = #{checkpointId}, node_id = #{nodeId}, next_node_id = #{nextNodeId},
+				state = #{state}, update_time = #{updateTime}
+			WHERE thread_id = #{threadId}
+			""")
+	int update(GraphCheckpoint checkpoint);
+
+	@Insert("""
+			INSERT INTO graph_checkpoint (thread_id, checkpoint_id, node_id, next_node_id, state, update_time)
+			VALUES (#{threadId}, #{checkpointId}, #{nodeId}, #{nextNodeId}, #{state}, #{updateTime})
+			""")
+	int insert(GraphCheckpoint checkpoint);
+
+	@Delete("""
+			DELETE FROM graph_checkpoint
+			WHERE thread_id = #{threadId}
+			""")
+	int deleteByThreadId(@Param("threadId") String threadId);
+
+	/**
+	 * 删除指定时间之后未再更新的检查点（TTL 清理）
+	 */
+	@Delete("""
+			DELETE FROM graph_checkpoint
+			WHERE update_time < #{before}
+			""")
+	int deleteUpdatedBefore(@Param("before") LocalDateTime before);
+
+}
@@ -21,6 +21,11 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = Constant.PROJECT_PROPERTIES_PREFIX)
@@ -36,10 +41,45 @@ public class DataAgentProperties {
 	 */
 	private EmbeddingBatch embeddingBatch = new EmbeddingBatch();
 
+	/**
+	 * 嵌入结果的本地持久化缓存，按（嵌入模型配置, 文本哈希）复用向量
+	 */
+	private EmbeddingCache embeddingCache = new EmbeddingCache();
+
 	private VectorStoreProperties vectorStore = new VectorStoreProperties();
 
+	/**
+	 * 召回后的重排序：先多召回候选，再重排取 topK
+	 */
+	private Rerank rerank = new Rerank();
+
+	/**
+	 * 流式对话（SSE）的并发与缓冲限制
+	 */
+	private StreamProperties stream = new StreamProperties();
+
+	/**
+	 * 多轮对话历史存储
+	 */
+	private HistoryStore historyStore = new HistoryStore();
+
+	/**
+	 * 图执行检查点存储
+	 */
+	private CheckpointProperties checkpoint = new CheckpointProperties();
+
+	/**
+	 * 早期节点推测执行
+	 */
+	private SpeculativeProperties speculative = new SpeculativeProperties();
+
 	private ReportTemplate reportTemplate = new ReportTemplate();
 
+	/**
+	 * 业务数据源连接池的全局默认配置，数据源上配置的值优先
+	 */
+	private DatasourcePool datasourcePool = new DatasourcePool();
+
 	/**
 	 * sql执行失败重试次数
 	 */
@@ -80,6 +120,52 @@ public class DataAgentProperties {
 	 */
 	private Long enrichSqlResultTimeout = 3000L;
 
+	/**
+	 * 证据召回（业务术语与智能体知识并发检索）的整体超时时间，默认10000ms，超时的一路按无结果处理
+	 */
+	private Long evidenceRecallTimeout = 10000L;
+
+	/**
+	 * 是否以分页数据帧的形式流式返回SQL执行结果，默认关闭（一次性返回完整结果集）
+	 */
+	private boolean enableSqlResultStreaming = false;
+
+	/**
+	 * 流式返回SQL执行结果时每页的行数
+	 */
+	private int sqlResultPageSize = 100;
+
+	/**
+	 * 初始化Schema时单个数据源上并发执行样本数据查询的最大数量
+	 */
+	private int schemaSampleConcurrency = 4;
+
+	@Getter
+	@Setter
+	public static class DatasourcePool {
+
+		/**
+		 * 最大活跃连接数
+		 */
+		private int maxActive = 20;
+
+		/**
+		 * 最小空闲连接数，默认不保留空闲连接
+		 */
+		private int minIdle = 0;
+
+		/**
+		 * 获取连接的最大等待时间（毫秒）
+		 */
+		private int maxWait = 10000;
+
+		/**
+		 * 连接池空闲超过该时长（分钟）且没有活跃连接时关闭并移除
+		 */
+		private long idleTtlMinutes = 30;
+
+	}
+
 	@Getter
 	@Setter
 	public static class ReportTemplate {
@@ -252,6 +338,72 @@ public class DataAgentProperties {
 		 */
 		private int maxTextCount = 10;
 
+		/**
+		 * 嵌入写入每秒最大请求数（批次数），小于等于0表示不限制（默认）。嵌入服务配额较低时按配额设置，如 5
+		 */
+		private double requestsPerSecond = 0;
+
+		/**
+		 * 嵌入写入每分钟最大token数，小于等于0表示不限制
+		 */
+		private long tokensPerMinute = 0;
+
+		/**
+		 * 所有嵌入写入任务共享的最大并发批次数
+		 */
+		private int maxConcurrency = 4;
+
+		/**
+		 * 遇到限流（429）时单个批次的最大重试次数
+		 */
+		private int maxRetries = 3;
+
+		/**
+		 * 限流重试的初始退避时间（毫秒），之后按指数增长
+		 */
+		private long initialBackoffMs = 1000;
+
+		/**
+		 * 限流重试的最大退避时间（毫秒）
+		 */
+		private long maxBackoffMs = 30000;
+
+	}
+
+	@Getter
+	@Setter
+	public static class EmbeddingCache {
+
+		/**
+		 * 是否启用嵌入结果缓存，默认关闭；启用前请确认 directory 指向可写且持久的目录
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 缓存文件所在目录
+		 */
+		private String directory = "./data/embedding-cache";
+
+		/**
+		 * 最多缓存的向量条数，超出后按最近最少使用淘汰
+		 */
+		private int maxEntries = 100000;
+
+		/**
+		 * 查询向量内存缓存的存活时间（秒），同一问题在一次对话流程中的多次召回共用一次嵌入，小于等于0表示不启用
+		 */
+		private long queryTtlSeconds = 300;
+
+		/**
+		 * 查询向量内存缓存的最大条数
+		 */
+		private int queryMaxEntries = 1000;
+
+		/**
+		 * 查询向量内存缓存的最大占用字节数（按向量和查询文本估算）
+		 */
+		private long queryMaxBytes = 16 * 1024 * 1024;
+
 	}
 
 	@Getter
@@ -290,6 +442,178 @@ public class DataAgentProperties {
 		 */
 		private double elasticsearchMinScore = 0.5;
 
+		/**
+		 * 混合检索中向量检索的超时时间（毫秒），超时后取消该路并只使用关键词检索结果
+		 */
+		private long hybridVectorSearchTimeout = 10000L;
+
+		/**
+		 * 混合检索中关键词检索的超时时间（毫秒），超时后取消该路并只使用向量检索结果
+		 */
+		private long hybridKeywordSearchTimeout = 5000L;
+
+		/**
+		 * 加权融合（fusion-strategy=weighted）时各检索来源的权重，依次为向量检索、关键词检索
+		 */
+		private List<Double> fusionWeights = List.of(0.5, 0.5);
+
+		/**
+		 * 按文档类型（vectorType）覆盖的加权融合权重，如 table: [0.3, 0.7]
+		 */
+		private Map<String, List<Double>> fusionWeightsByVectorType = new HashMap<>();
+
+		/**
+		 * 内置内存向量库（未配置外部向量库时使用）的快照文件路径，为空表示不持久化
+		 */
+		private String memoryStoreSnapshotPath = "./data/vector-store/vector-store.bin";
+
+		/**
+		 * 内置内存向量库有变更时写快照的间隔（秒）
+		 */
+		private long memoryStoreFlushIntervalSeconds = 30;
+
+	}
+
+	@Getter
+	@Setter
+	public static class Rerank {
+
+		/**
+		 * 是否启用重排序
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 重排序实现：lexical（词项匹配，无额外依赖）或 onnx（本地 cross-encoder 模型，加载失败时回退到 lexical）
+		 */
+		private String type = "lexical";
+
+		/**
+		 * 多召回的倍数，实际召回数量为 topK * overFetchFactor
+		 */
+		private int overFetchFactor = 3;
+
+		/**
+		 * 参与重排序的最大候选数
+		 */
+		private int maxCandidates = 50;
+
+		/**
+		 * lexical 重排序中词项匹配分数的权重，其余权重给召回阶段的原始分数
+		 */
+		private double lexicalWeight = 0.5;
+
+		/**
+		 * cross-encoder ONNX 模型文件路径（如 ms-marco-MiniLM-L-6-v2 导出的 model.onnx）
+		 */
+		private String onnxModelPath;
+
+		/**
+		 * 与模型配套的 HuggingFace tokenizer.json 路径
+		 */
+		private String onnxTokenizerPath;
+
+		/**
+		 * cross-encoder 输入的最大 token 数，超出部分截断
+		 */
+		private int maxSequenceLength = 512;
+
+	}
+
+	@Getter
+	@Setter
+	public static class StreamProperties {
+
+		/**
+		 * 同时进行中的流式会话上限，超出时新请求直接返回错误事件
+		 */
+		private int maxInFlight = 200;
+
+		/**
+		 * 流式会话无输出的最长时间（秒），超过后视为已废弃并清理
+		 */
+		private long idleTimeoutSeconds = 600;
+
+		/**
+		 * 每个会话待发送给客户端的事件缓冲上限，客户端消费过慢导致溢出时终止该会话
+		 */
+		private int sinkBufferSize = 1024;
+
+		/**
+		 * 流式文本块合并的最长等待时间（毫秒），0 表示逐块发送
+		 */
+		private long coalesceMaxDelayMillis = 40;
+
+		/**
+		 * 单个合并窗口最多包含的流式块数
+		 */
+		private int coalesceMaxChunks = 64;
+
+		/**
+		 * 合并后单帧文本的最大字符数
+		 */
+		private int coalesceMaxChars = 2048;
+
+	}
+
+	@Getter
+	@Setter
+	public static class HistoryStore {
+
+		/**
+		 * 存储类型：memory（进程内 LRU）或 jdbc（管理库持久化）
+		 */
+		private String type = "memory";
+
+		/**
+		 * 内存中最多保留的会话数，jdbc 模式下作为本地缓存容量
+		 */
+		private int maxThreads = 10000;
+
+	}
+
+	@Getter
+	@Setter
+	public static class CheckpointProperties {
+
+		/**
+		 * 存储类型：memory（图框架默认的进程内存储）或 jdbc（管理库持久化，支持跨实例恢复）
+		 */
+		private String type = "memory";
+
+		/**
+		 * 检查点最长保留时间（秒），超过后视为放弃的会话并清理
+		 */
+		private long ttlSeconds = 86400;
+
+		/**
+		 * 不写入检查点的状态键，用于排除体积大且恢复时不需要的临时数据
+		 */
+		private List<String> excludedStateKeys = new ArrayList<>(List.of("SQL_RESULT_LIST_MEMORY"));
+
+	}
+
+	@Getter
+	@Setter
+	public static class SpeculativeProperties {
+
+		/**
+		 * 是否在意图识别的同时并行发起证据召回的查询重写
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 是否同时以原始问题预先召回表结构，默认关闭。结果只在增强后的查询与原始问题完全一致时复用，而查询增强通常会改写问题，
+		 * 开启后多数请求会多一次嵌入与向量检索且结果被丢弃；仅在查询增强基本不改写问题时开启，可通过
+		 * dataagent.graph.speculation{task=schema_recall} 的 hit/miss 计数确认收益
+		 */
+		private boolean schemaRecallEnabled = false;
+
+		/**
+		 * 推测结果未被取用时的保留时间（秒）
+		 */
+		private long ttlSeconds = 120;
+
 	}
 
 }
@@ -16,12 +16,14 @@
 package com.alibaba.cloud.ai.dataagent.service.agent;
 
 import com.alibaba.cloud.ai.dataagent.entity.Agent;
+import com.alibaba.cloud.ai.dataagent.event.DatasourceChangedEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentMapper;
 import com.alibaba.cloud.ai.dataagent.service.file.FileStorageService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.util.ApiKeyUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -42,6 +44,8 @@ public class AgentServiceImpl implements AgentService {
 
 	private final FileStorageService fileStorageService;
 
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
 	public List<Agent> findAll() {
 		return agentMapper.findAll();
@@ -97,6 +101,7 @@ public class AgentServiceImpl implements AgentService {
 
 			// Delete agent record from database
 			agentMapper.deleteById(id);
+			eventPublisher.publishEvent(new DatasourceChangedEvent(this, id, null));
 
 			// Also clean up the agent's vector data
 			if (agentVectorStoreService != null) {
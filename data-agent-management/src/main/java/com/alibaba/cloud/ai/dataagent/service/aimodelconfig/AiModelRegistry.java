@@ -43,6 +43,9 @@ public class AiModelRegistry {
 
 	private volatile EmbeddingModel currentEmbeddingModel;
 
+	// 当前嵌入模型的缓存标识（配置ID + 模型名），Dummy 兜底时为 null
+	private volatile String currentEmbeddingModelKey;
+
 	// =========================================================
 	// 1. 获取 ChatClient (懒加载 + 缓存)
 	// =========================================================
@@ -86,6 +89,7 @@ public class AiModelRegistry {
 						ModelConfigDTO config = modelConfigDataService.getActiveConfigByType(ModelType.EMBEDDING);
 						if (config != null) {
 							currentEmbeddingModel = modelFactory.createEmbeddingModel(config);
+							currentEmbeddingModelKey = config.getId() + ":" + config.getModelName();
 						}
 					}
 					catch (Exception e) {
@@ -104,6 +108,14 @@ public class AiModelRegistry {
 		return currentEmbeddingModel;
 	}
 
+	/**
+	 * 当前生效的嵌入模型标识，用于嵌入结果缓存的分区；未配置嵌入模型时返回 null
+	 */
+	public String getEmbeddingModelKey() {
+		getEmbeddingModel();
+		return currentEmbeddingModelKey;
+	}
+
 	// =========================================================
 	// 3. 刷新/重置缓存 (用于热切换)
 	// =========================================================
@@ -114,6 +126,7 @@ public class AiModelRegistry {
 	}
 
 	public void refreshEmbedding() {
+		this.currentEmbeddingModelKey = null;
 		this.currentEmbeddingModel = null;
 		log.info("Embedding cache cleared.");
 	}
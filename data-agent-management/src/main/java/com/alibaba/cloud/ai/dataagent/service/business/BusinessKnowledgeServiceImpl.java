@@ -23,12 +23,15 @@ import com.alibaba.cloud.ai.dataagent.converter.BusinessKnowledgeConverter;
 import com.alibaba.cloud.ai.dataagent.dto.knowledge.businessknowledge.CreateBusinessKnowledgeDTO;
 import com.alibaba.cloud.ai.dataagent.dto.knowledge.businessknowledge.UpdateBusinessKnowledgeDTO;
 import com.alibaba.cloud.ai.dataagent.entity.BusinessKnowledge;
+import com.alibaba.cloud.ai.dataagent.event.BusinessKnowledgeChangedEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.BusinessKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.service.embedding.EmbeddingWriter;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.vo.BusinessKnowledgeVO;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -44,12 +47,18 @@ import java.util.Map;
 @AllArgsConstructor
 public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 
+	private static final String EMBEDDING_TASK = "business-knowledge";
+
 	private final BusinessKnowledgeMapper businessKnowledgeMapper;
 
 	private final AgentVectorStoreService agentVectorStoreService;
 
 	private final BusinessKnowledgeConverter businessKnowledgeConverter;
 
+	private final EmbeddingWriter embeddingWriter;
+
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
 	public List<BusinessKnowledgeVO> getKnowledge(Long agentId) {
 		List<BusinessKnowledge> businessKnowledges = businessKnowledgeMapper.selectByAgentId(agentId);
@@ -95,10 +104,11 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 		if (businessKnowledgeMapper.insert(entity) <= 0) {
 			throw new RuntimeException("Failed to add knowledge to database");
 		}
+		eventPublisher.publishEvent(new BusinessKnowledgeChangedEvent(this, entity.getAgentId()));
 
 		try {
 			Document document = DocumentConverterUtil.convertBusinessKnowledgeToDocument(entity);
-			agentVectorStoreService.addDocuments(entity.getAgentId().toString(), List.of(document));
+			embeddingWriter.write(entity.getAgentId().toString(), List.of(document), EMBEDDING_TASK);
 			entity.setEmbeddingStatus(EmbeddingStatus.COMPLETED);
 			entity.setErrorMsg(null);
 			businessKnowledgeMapper.updateById(entity);
@@ -162,7 +172,7 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 
 		// 添加新的向量数据
 		Document newDocument = DocumentConverterUtil.convertBusinessKnowledgeToDocument(knowledge);
-		agentVectorStoreService.addDocuments(knowledge.getAgentId().toString(), List.of(newDocument));
+		embeddingWriter.write(knowledge.getAgentId().toString(), List.of(newDocument), EMBEDDING_TASK);
 
 		log.info("Successfully updated vector store for knowledge id: {}", knowledge.getId());
 	}
@@ -181,10 +191,11 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 
 		if (businessKnowledgeMapper.logicalDelete(id, 1) <= 0) {
 			// 重新添加修复被删除的记录
-			agentVectorStoreService.addDocuments(knowledge.getAgentId().toString(),
-					List.of(DocumentConverterUtil.convertBusinessKnowledgeToDocument(knowledge)));
+			embeddingWriter.write(knowledge.getAgentId().toString(),
+					List.of(DocumentConverterUtil.convertBusinessKnowledgeToDocument(knowledge)), EMBEDDING_TASK);
 			throw new RuntimeException("Failed to logically delete knowledge from database");
 		}
+		eventPublisher.publishEvent(new BusinessKnowledgeChangedEvent(this, knowledge.getAgentId()));
 	}
 
 	private void doDelVector(BusinessKnowledge knowledge) {
@@ -207,6 +218,7 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 		// 更新数据库即可，不需要更新向量库，混合检索的的时候DynamicFilterService会根据 isRecall 字段过滤了
 		knowledge.setIsRecall(isRecall ? 1 : 0);
 		businessKnowledgeMapper.updateById(knowledge);
+		eventPublisher.publishEvent(new BusinessKnowledgeChangedEvent(this, knowledge.getAgentId()));
 
 	}
 
@@ -227,7 +239,7 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 			List<Document> documents = recalledKnowledge.stream()
 				.map(DocumentConverterUtil::convertBusinessKnowledgeToDocument)
 				.toList();
-			agentVectorStoreService.addDocuments(agentId, documents);
+			embeddingWriter.write(agentId, documents, EMBEDDING_TASK);
 		}
 	}
 
@@ -64,6 +64,10 @@ public interface DatasourceTypeHandler {
 		config.setConnectionType(connectionType());
 		config.setDialectType(dialectType());
 		config.setSchema(extractSchemaName(datasource));
+		config.setDatasourceId(datasource.getId());
+		config.setPoolMaxActive(datasource.getPoolMaxActive());
+		config.setPoolMinIdle(datasource.getPoolMinIdle());
+		config.setPoolMaxWait(datasource.getPoolMaxWait());
 		return config;
 	}
 
@@ -19,6 +19,7 @@ import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import com.alibaba.cloud.ai.dataagent.dto.datasource.SchemaInitRequest;
 import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
 import com.alibaba.cloud.ai.dataagent.entity.Datasource;
+import com.alibaba.cloud.ai.dataagent.event.DatasourceChangedEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentDatasourceMapper;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentDatasourceTablesMapper;
 import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
@@ -28,6 +29,7 @@ import java.util.List;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -45,6 +47,8 @@ public class AgentDatasourceServiceImpl implements AgentDatasourceService {
 
 	private final AgentDatasourceTablesMapper tablesMapper;
 
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
 	public Boolean initializeSchemaForAgentWithDatasource(Long agentId, Integer datasourceId, List<String> tables) {
 		Assert.notNull(agentId, "Agent ID cannot be null");
@@ -131,12 +135,14 @@ public class AgentDatasourceServiceImpl implements AgentDatasourceService {
 			result = agentDatasource;
 		}
 		result.setSelectTables(List.of());
+		eventPublisher.publishEvent(new DatasourceChangedEvent(this, agentId, datasourceId));
 		return result;
 	}
 
 	@Override
 	public void removeDatasourceFromAgent(Long agentId, Integer datasourceId) {
 		agentDatasourceMapper.removeRelation(agentId, datasourceId);
+		eventPublisher.publishEvent(new DatasourceChangedEvent(this, agentId, datasourceId));
 	}
 
 	@Override
@@ -155,6 +161,7 @@ public class AgentDatasourceServiceImpl implements AgentDatasourceService {
 		if (updated == 0) {
 			throw new RuntimeException("未找到相关的数据源关联记录");
 		}
+		eventPublisher.publishEvent(new DatasourceChangedEvent(this, agentId, datasourceId));
 
 		// Return the updated association record
 		return agentDatasourceMapper.selectByAgentIdAndDatasourceId(agentId, datasourceId);
@@ -176,6 +183,7 @@ public class AgentDatasourceServiceImpl implements AgentDatasourceService {
 		else {
 			tablesMapper.updateAgentDatasourceTables(datasource.getId(), tables);
 		}
+		eventPublisher.publishEvent(new DatasourceChangedEvent(this, agentId, datasourceId));
 	}
 
 }
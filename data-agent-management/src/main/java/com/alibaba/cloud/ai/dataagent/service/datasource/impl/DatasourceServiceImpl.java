@@ -27,6 +27,7 @@ import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
 import com.alibaba.cloud.ai.dataagent.entity.Datasource;
 import com.alibaba.cloud.ai.dataagent.entity.LogicalRelation;
 import com.alibaba.cloud.ai.dataagent.enums.ErrorCodeEnum;
+import com.alibaba.cloud.ai.dataagent.event.DatasourceChangedEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentDatasourceMapper;
 import com.alibaba.cloud.ai.dataagent.mapper.DatasourceMapper;
 import com.alibaba.cloud.ai.dataagent.mapper.LogicalRelationMapper;
@@ -43,6 +44,7 @@ import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -64,6 +66,8 @@ public class DatasourceServiceImpl implements DatasourceService {
 
 	private final DatasourceTypeHandlerRegistry datasourceTypeHandlerRegistry;
 
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
 	public List<Datasource> getAllDatasource() {
 		return datasourceMapper.selectAll();
@@ -116,6 +120,7 @@ public class DatasourceServiceImpl implements DatasourceService {
 		datasource.setId(id);
 
 		datasourceMapper.updateById(datasource);
+		eventPublisher.publishEvent(new DatasourceChangedEvent(this, null, id));
 		return datasource;
 	}
 
@@ -127,6 +132,7 @@ public class DatasourceServiceImpl implements DatasourceService {
 
 		// Then, delete the data source
 		datasourceMapper.deleteById(id);
+		eventPublisher.publishEvent(new DatasourceChangedEvent(this, null, id));
 	}
 
 	@Override
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 带结果缓存的嵌入模型装饰器。
+ * <p>
+ * 请求中已缓存的文本直接返回缓存向量，其余文本去重后合并为一次请求交给底层模型，结果按原顺序拼装并写回缓存。
+ * 单条文本的 {@link #embed(String)} 是向量库检索时嵌入查询的入口，额外经过 {@link QueryEmbeddingCache} 短时内存缓存，
+ * 同一问题的多次召回只嵌入一次。模型标识为 null（未配置嵌入模型）时不做缓存，直接透传。
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+	private final EmbeddingModel delegate;
+
+	private final EmbeddingCacheStore cacheStore;
+
+	private final QueryEmbeddingCache queryCache;
+
+	private final Supplier<String> modelKeySupplier;
+
+	public CachingEmbeddingModel(EmbeddingModel delegate, EmbeddingCacheStore cacheStore,
+			QueryEmbeddingCache queryCache, Supplier<String> modelKeySupplier) {
+		this.delegate = delegate;
+		this.cacheStore = cacheStore;
+		this.queryCache = queryCache;
+		this.modelKeySupplier = modelKeySupplier;
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		List<String> texts = request.getInstructions();
+		String modelKey = resolveModelKey(request.getOptions());
+		if (modelKey == null || !cacheStore.isEnabled() || texts == null || texts.isEmpty()) {
+			return delegate.call(request);
+		}
+
+		List<String> hashes = texts.stream().map(EmbeddingCacheStore::hash).toList();
+		Map<String, float[]> vectors = new HashMap<>(cacheStore.getAll(modelKey, hashes));
+
+		// 未命中的文本按摘要去重，保持首次出现的顺序
+		Map<String, String> missing = new LinkedHashMap<>();
+		for (int i = 0; i < texts.size(); i++) {
+			if (!vectors.containsKey(hashes.get(i))) {
+				missing.putIfAbsent(hashes.get(i), texts.get(i));
+			}
+		}
+
+		EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
+		if (!missing.isEmpty()) {
+			List<String> missingHashes = new ArrayList<>(missing.keySet());
+			EmbeddingResponse response = delegate
+				.call(new EmbeddingRequest(new ArrayList<>(missing.values()), request.getOptions()));
+			List<Embedding> results = response.getResults();
+			if (results.size() != missingHashes.size()) {
+				throw new IllegalStateException("Embedding model returned " + results.size() + " results for "
+						+ missingHashes.size() + " inputs");
+			}
+			Map<String, float[]> computed = new HashMap<>();
+			for (int i = 0; i < results.size(); i++) {
+				Embedding embedding = results.get(i);
+				Integer index = embedding.getIndex();
+				int position = index != null && index >= 0 && index < missingHashes.size() ? index : i;
+				computed.put(missingHashes.get(position), embedding.getOutput());
+			}
+			cacheStore.putAll(modelKey, computed);
+			vectors.putAll(computed);
+			if (response.getMetadata() != null) {
+				metadata = response.getMetadata();
+			}
+		}
+
+		List<Embedding> embeddings = new ArrayList<>(texts.size());
+		for (int i = 0; i < texts.size(); i++) {
+			embeddings.add(new Embedding(vectors.get(hashes.get(i)), i));
+		}
+		return new EmbeddingResponse(embeddings, metadata);
+	}
+
+	@Override
+	public float[] embed(String text) {
+		String modelKey = modelKeySupplier.get();
+		if (modelKey == null) {
+			return delegate.embed(text);
+		}
+		return queryCache.get(modelKey, text, () -> embed(List.of(text)).get(0));
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		// 文档嵌入不进入查询缓存
+		return embed(List.of(document.getFormattedContent(MetadataMode.EMBED))).get(0);
+	}
+
+	@Override
+	public int dimensions() {
+		return delegate.dimensions();
+	}
+
+	/**
+	 * 请求级别指定的模型或维度会改变向量结果，需要计入缓存分区
+	 */
+	private String resolveModelKey(EmbeddingOptions options) {
+		String modelKey = modelKeySupplier.get();
+		if (modelKey == null || options == null) {
+			return modelKey;
+		}
+		StringBuilder sb = new StringBuilder(modelKey);
+		if (options.getModel() != null) {
+			sb.append('/').append(options.getModel());
+		}
+		if (options.getDimensions() != null) {
+			sb.append('/').append(options.getDimensions());
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于本地文件的嵌入向量缓存，key 为（嵌入模型标识, 文本 SHA-256）。
+ * <p>
+ * 向量以追加方式写入单个数据文件，内存中只保留 key 到文件偏移量的 LRU 索引，启动时顺序扫描数据文件重建索引。
+ * 超过 {@code maxEntries} 的条目按最近最少使用淘汰，淘汰或覆盖产生的失效记录超过有效记录数时整体重写文件回收空间。
+ * 缓存读写失败只记录日志，不影响嵌入调用本身。
+ * <p>
+ * 并发：索引只在短临界区内访问（以 index 自身为锁），文件 I/O 不持有索引锁。按偏移量读取共享文件读锁，可并发进行；
+ * 追加写入由 appendLock 串行化，同时持有读锁，不阻塞读取；压缩会移动记录偏移量，需要独占文件写锁。
+ */
+@Slf4j
+@Component
+public class EmbeddingCacheStore implements DisposableBean {
+
+	private static final String DATA_FILE = "embedding-cache.bin";
+
+	private static final String METRIC_PREFIX = "dataagent.embedding.cache.";
+
+	private static final int MAX_KEY_BYTES = 1024;
+
+	private static final int MAX_DIMENSIONS = 65536;
+
+	/**
+	 * 失效记录少于该数量时不做文件压缩，避免小文件频繁重写
+	 */
+	private static final int MIN_COMPACT_RECORDS = 1024;
+
+	private final int maxEntries;
+
+	private final Path dataFile;
+
+	private final LinkedHashMap<String, Long> index;
+
+	private final Counter hitCounter;
+
+	private final Counter missCounter;
+
+	private final Counter evictionCounter;
+
+	private final ReentrantReadWriteLock fileLock = new ReentrantReadWriteLock();
+
+	private final ReentrantLock appendLock = new ReentrantLock();
+
+	private FileChannel channel;
+
+	/**
+	 * 数据文件中的记录总数（含已失效的记录），由 appendLock 保护
+	 */
+	private long fileRecords;
+
+	private volatile boolean enabled;
+
+	@Autowired
+	public EmbeddingCacheStore(DataAgentProperties properties) {
+		this(properties.getEmbeddingCache().isEnabled(), Path.of(properties.getEmbeddingCache().getDirectory()),
+				properties.getEmbeddingCache().getMaxEntries(), Metrics.globalRegistry);
+	}
+
+	EmbeddingCacheStore(boolean enabled, Path directory, int maxEntries, MeterRegistry meterRegistry) {
+		this.maxEntries = Math.max(1, maxEntries);
+		this.dataFile = directory.resolve(DATA_FILE);
+		this.index = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				boolean evict = size() > EmbeddingCacheStore.this.maxEntries;
+				if (evict) {
+					evictionCounter.increment();
+				}
+				return evict;
+			}
+		};
+		this.hitCounter = Counter.builder(METRIC_PREFIX + "requests")
+			.description("Embedding cache lookups")
+			.tag("result", "hit")
+			.register(meterRegistry);
+		this.missCounter = Counter.builder(METRIC_PREFIX + "requests")
+			.description("Embedding cache lookups")
+			.tag("result", "miss")
+			.register(meterRegistry);
+		this.evictionCounter = Counter.builder(METRIC_PREFIX + "evictions")
+			.description("Embedding cache entries evicted by the size bound")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + "size", this, EmbeddingCacheStore::size)
+			.description("Embedding cache entries")
+			.register(meterRegistry);
+
+		if (enabled) {
+			try {
+				open(directory);
+				this.enabled = true;
+				log.info("Embedding cache loaded from {}, entries: {}, maxEntries: {}", dataFile.toAbsolutePath(),
+						index.size(), this.maxEntries);
+			}
+			catch (IOException e) {
+				log.warn("Failed to open embedding cache at {}, cache disabled: {}", dataFile.toAbsolutePath(),
+						e.getMessage());
+				closeQuietly();
+			}
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int size() {
+		synchronized (index) {
+			return index.size();
+		}
+	}
+
+	/**
+	 * 计算文本的 SHA-256 十六进制摘要，作为缓存 key 的一部分
+	 */
+	public static String hash(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * 批量查询缓存
+	 * @param modelKey 嵌入模型标识
+	 * @param textHashes 文本摘要
+	 * @return 命中的摘要到向量的映射，未命中的摘要不在结果中
+	 */
+	public Map<String, float[]> getAll(String modelKey, Collection<String> textHashes) {
+		Map<String, float[]> result = new HashMap<>();
+		if (!enabled) {
+			return result;
+		}
+		// 持有读锁期间不会发生压缩，查到的偏移量在读取时仍然有效
+		fileLock.readLock().lock();
+		try {
+			if (!enabled) {
+				return result;
+			}
+			Map<String, Long> offsets = new LinkedHashMap<>();
+			synchronized (index) {
+				for (String textHash : textHashes) {
+					if (!offsets.containsKey(textHash)) {
+						offsets.put(textHash, index.get(cacheKey(modelKey, textHash)));
+					}
+				}
+			}
+			Map<String, Long> unreadable = new HashMap<>();
+			for (Map.Entry<String, Long> entry : offsets.entrySet()) {
+				String key = cacheKey(modelKey, entry.getKey());
+				Long offset = entry.getValue();
+				float[] vector = null;
+				if (offset != null) {
+					try {
+						vector = readVector(offset, key);
+					}
+					catch (IOException e) {
+						log.warn("Failed to read embedding cache entry: {}", e.getMessage());
+					}
+					if (vector == null) {
+						unreadable.put(key, offset);
+					}
+				}
+				if (vector != null) {
+					hitCounter.increment();
+					result.put(entry.getKey(), vector);
+				}
+				else {
+					missCounter.increment();
+				}
+			}
+			if (!unreadable.isEmpty()) {
+				synchronized (index) {
+					unreadable.forEach(index::remove);
+				}
+			}
+			return result;
+		}
+		finally {
+			fileLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 批量写入缓存，已存在的 key 会被覆盖
+	 * @param modelKey 嵌入模型标识
+	 * @param vectors 文本摘要到向量的映射
+	 */
+	public void putAll(String modelKey, Map<String, float[]> vectors) {
+		if (!enabled || vectors.isEmpty()) {
+			return;
+		}
+		appendLock.lock();
+		try {
+			if (!enabled) {
+				return;
+			}
+			fileLock.readLock().lock();
+			try {
+				for (Map.Entry<String, float[]> entry : vectors.entrySet()) {
+					String key = cacheKey(modelKey, entry.getKey());
+					long offset = append(key, entry.getValue());
+					synchronized (index) {
+						index.put(key, offset);
+					}
+					fileRecords++;
+				}
+			}
+			finally {
+				fileLock.readLock().unlock();
+			}
+			if (needsCompaction()) {
+				fileLock.writeLock().lock();
+				try {
+					compact();
+				}
+				finally {
+					fileLock.writeLock().unlock();
+				}
+			}
+		}
+		catch (IOException e) {
+			log.warn("Failed to write embedding cache: {}", e.getMessage());
+			if (!channel.isOpen()) {
+				// 压缩过程中替换文件失败，数据文件已不可用
+				enabled = false;
+				synchronized (index) {
+					index.clear();
+				}
+			}
+		}
+		finally {
+			appendLock.unlock();
+		}
+	}
+
+	private static String cacheKey(String modelKey, String textHash) {
+		return modelKey + "|" + textHash;
+	}
+
+	private void open(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		long size = channel.size();
+		long position = 0;
+		ByteBuffer intBuffer = ByteBuffer.allocate(Integer.BYTES);
+		while (position < size) {
+			long recordStart = position;
+			if (size - position < Integer.BYTES) {
+				break;
+			}
+			int keyLength = readInt(intBuffer, position);
+			if (keyLength <= 0 || keyLength > MAX_KEY_BYTES || size - position < Integer.BYTES * 2L + keyLength) {
+				break;
+			}
+			ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+			readFully(keyBuffer, position + Integer.BYTES);
+			position += Integer.BYTES + keyLength;
+			int dimensions = readInt(intBuffer, position);
+			if (dimensions < 0 || dimensions > MAX_DIMENSIONS
+					|| size - position < Integer.BYTES + (long) dimensions * Float.BYTES) {
+				position = recordStart;
+				break;
+			}
+			position += Integer.BYTES + (long) dimensions * Float.BYTES;
+			index.put(new String(keyBuffer.array(), StandardCharsets.UTF_8), recordStart);
+			fileRecords++;
+		}
+		if (position < size) {
+			// 进程异常退出时可能留下写了一半的记录，截断后继续追加
+			log.warn("Embedding cache file {} has a truncated tail, dropping {} bytes", dataFile, size - position);
+			channel.truncate(position);
+		}
+	}
+
+	private long append(String key, float[] vector) throws IOException {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer
+			.allocate(Integer.BYTES * 2 + keyBytes.length + vector.length * Float.BYTES);
+		buffer.putInt(keyBytes.length).put(keyBytes).putInt(vector.length);
+		buffer.asFloatBuffer().put(vector);
+		buffer.clear();
+		long offset = channel.size();
+		long position = offset;
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+		return offset;
+	}
+
+	private float[] readVector(long offset, String expectedKey) throws IOException {
+		ByteBuffer intBuffer = ByteBuffer.allocate(Integer.BYTES);
+		int keyLength = readInt(intBuffer, offset);
+		ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+		readFully(keyBuffer, offset + Integer.BYTES);
+		if (!expectedKey.equals(new String(keyBuffer.array(), StandardCharsets.UTF_8))) {
+			return null;
+		}
+		long position = offset + Integer.BYTES + keyLength;
+		int dimensions = readInt(intBuffer, position);
+		ByteBuffer vectorBuffer = ByteBuffer.allocate(dimensions * Float.BYTES);
+		readFully(vectorBuffer, position + Integer.BYTES);
+		float[] vector = new float[dimensions];
+		vectorBuffer.asFloatBuffer().get(vector);
+		return vector;
+	}
+
+	private int readInt(ByteBuffer intBuffer, long position) throws IOException {
+		intBuffer.clear();
+		readFully(intBuffer, position);
+		return intBuffer.getInt(0);
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		long current = position;
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, current);
+			if (read < 0) {
+				throw new IOException("Unexpected end of embedding cache file");
+			}
+			current += read;
+		}
+		buffer.flip();
+	}
+
+	private boolean needsCompaction() {
+		long staleRecords = fileRecords - size();
+		return staleRecords >= MIN_COMPACT_RECORDS && staleRecords > size();
+	}
+
+	/**
+	 * 按 LRU 顺序把有效记录重写到新文件并原子替换，调用方需持有 appendLock 与文件写锁
+	 */
+	private void compact() throws IOException {
+		List<Map.Entry<String, Long>> entries;
+		synchronized (index) {
+			entries = index.entrySet().stream().map(e -> Map.entry(e.getKey(), e.getValue())).toList();
+		}
+		long staleRecords = fileRecords - entries.size();
+		Path tempFile = dataFile.resolveSibling(DATA_FILE + ".tmp");
+		Map<String, Long> newOffsets = new HashMap<>(entries.size() * 2);
+		try (FileChannel target = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer intBuffer = ByteBuffer.allocate(Integer.BYTES);
+			long targetPosition = 0;
+			for (Map.Entry<String, Long> entry : entries) {
+				long offset = entry.getValue();
+				int keyLength = readInt(intBuffer, offset);
+				int dimensions = readInt(intBuffer, offset + Integer.BYTES + keyLength);
+				long length = Integer.BYTES * 2L + keyLength + (long) dimensions * Float.BYTES;
+				long transferred = 0;
+				while (transferred < length) {
+					transferred += channel.transferTo(offset + transferred, length - transferred, target);
+				}
+				newOffsets.put(entry.getKey(), targetPosition);
+				targetPosition += length;
+			}
+			target.force(false);
+		}
+		channel.close();
+		Files.move(tempFile, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		channel = FileChannel.open(dataFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		synchronized (index) {
+			index.replaceAll((key, offset) -> newOffsets.get(key));
+		}
+		log.info("Embedding cache compacted, dropped {} stale records, {} entries kept", staleRecords,
+				entries.size());
+		fileRecords = entries.size();
+	}
+
+	private void closeQuietly() {
+		if (channel != null) {
+			try {
+				channel.close();
+			}
+			catch (IOException ignored) {
+				// ignore
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		fileLock.writeLock().lock();
+		try {
+			if (enabled) {
+				enabled = false;
+				try {
+					channel.force(false);
+				}
+				catch (IOException e) {
+					log.warn("Failed to flush embedding cache: {}", e.getMessage());
+				}
+			}
+			closeQuietly();
+		}
+		finally {
+			fileLock.writeLock().unlock();
+		}
+	}
+
+}
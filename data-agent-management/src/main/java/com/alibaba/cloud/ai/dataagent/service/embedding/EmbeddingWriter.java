@@ -0,0 +1,208 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
+import com.knuddels.jtokkit.api.EncodingType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 向量写入管道：按 {@link BatchingStrategy} 分批，在共享的有界线程池中并发写入向量库，写入前经过请求数与 token
+ * 数两级令牌桶限流，遇到 429 按指数退避重试。Schema 初始化、业务知识同步和智能体知识入库共用同一个实例，
+ * 因此三者合计不会超过嵌入服务的配额。
+ */
+@Slf4j
+@Component
+public class EmbeddingWriter implements DisposableBean {
+
+	private final AgentVectorStoreService agentVectorStoreService;
+
+	private final BatchingStrategy batchingStrategy;
+
+	private final DataAgentProperties.EmbeddingBatch config;
+
+	private final TokenBucketRateLimiter requestLimiter;
+
+	private final TokenBucketRateLimiter tokenLimiter;
+
+	private final TokenCountEstimator tokenCountEstimator;
+
+	private final ExecutorService writeExecutor;
+
+	public EmbeddingWriter(AgentVectorStoreService agentVectorStoreService, BatchingStrategy batchingStrategy,
+			DataAgentProperties dataAgentProperties) {
+		this.agentVectorStoreService = agentVectorStoreService;
+		this.batchingStrategy = batchingStrategy;
+		this.config = dataAgentProperties.getEmbeddingBatch();
+		this.requestLimiter = new TokenBucketRateLimiter(config.getRequestsPerSecond(), Duration.ofSeconds(1));
+		this.tokenLimiter = new TokenBucketRateLimiter(config.getTokensPerMinute(), Duration.ofMinutes(1));
+		this.tokenCountEstimator = new JTokkitTokenCountEstimator(
+				EncodingType.fromName(config.getEncodingType()).orElse(EncodingType.CL100K_BASE));
+
+		int concurrency = Math.max(1, config.getMaxConcurrency());
+		AtomicInteger threadNumber = new AtomicInteger(1);
+		ThreadFactory threadFactory = r -> {
+			Thread t = new Thread(r, "embedding-writer-" + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		};
+		this.writeExecutor = Executors.newFixedThreadPool(concurrency, threadFactory);
+		log.info("Embedding writer initialized, concurrency: {}, requestsPerSecond: {}, tokensPerMinute: {}",
+				concurrency, config.getRequestsPerSecond(), config.getTokensPerMinute());
+	}
+
+	/**
+	 * 分批并发写入文档，所有批次完成后返回；任一批次重试后仍失败则抛出异常
+	 * @param agentId 智能体ID
+	 * @param documents 文档列表
+	 * @param taskName 任务名称，用于进度日志
+	 */
+	public void write(String agentId, List<Document> documents, String taskName) {
+		if (documents == null || documents.isEmpty()) {
+			return;
+		}
+		List<List<Document>> batches = batchingStrategy.batch(documents);
+		int total = documents.size();
+		AtomicInteger written = new AtomicInteger();
+		AtomicInteger finishedBatches = new AtomicInteger();
+		// 单批次的小写入（如单条知识）不输出进度日志
+		boolean reportProgress = batches.size() > 1;
+		if (reportProgress) {
+			log.info("[{}] Start writing {} documents in {} batches for agent: {}", taskName, total, batches.size(),
+					agentId);
+		}
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>(batches.size());
+		for (List<Document> batch : batches) {
+			futures.add(CompletableFuture.runAsync(() -> {
+				writeBatchWithRetry(agentId, batch);
+				int done = written.addAndGet(batch.size());
+				int doneBatches = finishedBatches.incrementAndGet();
+				if (reportProgress) {
+					log.info("[{}] Embedding progress for agent {}: {}/{} documents, {}/{} batches", taskName,
+							agentId, done, total, doneBatches, batches.size());
+				}
+			}, writeExecutor));
+		}
+
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		}
+		catch (CompletionException e) {
+			futures.forEach(f -> f.cancel(false));
+			Throwable cause = e.getCause() != null ? e.getCause() : e;
+			log.error("[{}] Embedding write failed for agent: {}, written {}/{} documents", taskName, agentId,
+					written.get(), total, cause);
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new RuntimeException(cause);
+		}
+		if (reportProgress) {
+			log.info("[{}] Finished writing {} documents for agent: {}", taskName, total, agentId);
+		}
+	}
+
+	private void writeBatchWithRetry(String agentId, List<Document> batch) {
+		int tokens = batch.stream().mapToInt(doc -> tokenCountEstimator.estimate(doc.getText())).sum();
+		long backoffMs = config.getInitialBackoffMs();
+		for (int attempt = 0;; attempt++) {
+			try {
+				requestLimiter.acquire(1);
+				tokenLimiter.acquire(tokens);
+				agentVectorStoreService.addDocuments(agentId, batch);
+				return;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for embedding rate limit", e);
+			}
+			catch (RuntimeException e) {
+				if (attempt >= config.getMaxRetries() || !isRateLimited(e)) {
+					throw e;
+				}
+				log.warn("Embedding rate limited for agent: {}, retry {}/{} after {} ms", agentId, attempt + 1,
+						config.getMaxRetries(), backoffMs);
+				sleepQuietly(backoffMs);
+				backoffMs = Math.min(backoffMs * 2, config.getMaxBackoffMs());
+			}
+		}
+	}
+
+	/**
+	 * 沿异常链判断是否为限流错误：优先按 HTTP 异常的状态码判断，只有拿不到状态码的异常才按 "Too Many Requests"
+	 * 文本兜底（不匹配消息中的数字，避免把恰好含 429 的请求 ID 等误判为限流）
+	 */
+	static boolean isRateLimited(Throwable throwable) {
+		for (Throwable t = throwable; t != null; t = t.getCause() == t ? null : t.getCause()) {
+			if (t instanceof HttpStatusCodeException e) {
+				if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+					return true;
+				}
+				continue;
+			}
+			if (t instanceof WebClientResponseException e) {
+				if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+					return true;
+				}
+				continue;
+			}
+			String message = t.getMessage();
+			if (message != null && message.toLowerCase(Locale.ROOT).contains("too many requests")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void sleepQuietly(long millis) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted during embedding retry backoff", e);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		writeExecutor.shutdownNow();
+	}
+
+}
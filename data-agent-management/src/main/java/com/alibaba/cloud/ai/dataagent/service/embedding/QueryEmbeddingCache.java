@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 查询向量的短时内存缓存。
+ * <p>
+ * 一次问答中表召回、业务术语召回和智能体知识召回会用同一个改写后的问题多次检索，向量库每次检索都会重新嵌入查询文本。
+ * 该缓存按（嵌入模型标识, 查询文本）保存向量，条数和估算字节数双重限制，超出后按最近最少使用淘汰；
+ * 并发的相同查询只会触发一次嵌入调用，其余调用等待同一结果。
+ */
+@Component
+public class QueryEmbeddingCache {
+
+	private static final String METRIC_PREFIX = "dataagent.embedding.query-cache.";
+
+	/**
+	 * 每条缓存的固定开销估算（对象头、引用等）
+	 */
+	private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+	private final long ttlNanos;
+
+	private final int maxEntries;
+
+	private final long maxBytes;
+
+	private final LongSupplier nanoClock;
+
+	private final LinkedHashMap<String, CachedVector> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final ConcurrentHashMap<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
+
+	private final Counter hitCounter;
+
+	private final Counter missCounter;
+
+	private long totalBytes;
+
+	@Autowired
+	public QueryEmbeddingCache(DataAgentProperties properties) {
+		this(Duration.ofSeconds(properties.getEmbeddingCache().getQueryTtlSeconds()),
+				properties.getEmbeddingCache().getQueryMaxEntries(), properties.getEmbeddingCache().getQueryMaxBytes(),
+				System::nanoTime, Metrics.globalRegistry);
+	}
+
+	QueryEmbeddingCache(Duration ttl, int maxEntries, long maxBytes, LongSupplier nanoClock,
+			MeterRegistry meterRegistry) {
+		this.ttlNanos = ttl.toNanos();
+		this.maxEntries = Math.max(1, maxEntries);
+		this.maxBytes = Math.max(1, maxBytes);
+		this.nanoClock = nanoClock;
+		this.hitCounter = Counter.builder(METRIC_PREFIX + "requests")
+			.description("Query embedding cache lookups")
+			.tag("result", "hit")
+			.register(meterRegistry);
+		this.missCounter = Counter.builder(METRIC_PREFIX + "requests")
+			.description("Query embedding cache lookups")
+			.tag("result", "miss")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + "size", this, QueryEmbeddingCache::size)
+			.description("Query embedding cache entries")
+			.register(meterRegistry);
+	}
+
+	public boolean isEnabled() {
+		return ttlNanos > 0;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * 获取查询向量，缓存未命中时调用 loader 嵌入并写入缓存
+	 * @param modelKey 嵌入模型标识
+	 * @param query 查询文本
+	 * @param loader 实际的嵌入调用
+	 * @return 查询向量
+	 */
+	public float[] get(String modelKey, String query, Supplier<float[]> loader) {
+		if (!isEnabled()) {
+			return loader.get();
+		}
+		String key = modelKey + "|" + query;
+		float[] cached = lookup(key);
+		if (cached != null) {
+			hitCounter.increment();
+			return cached;
+		}
+
+		CompletableFuture<float[]> own = new CompletableFuture<>();
+		CompletableFuture<float[]> existing = inFlight.putIfAbsent(key, own);
+		if (existing != null) {
+			// 相同查询正在嵌入中，等待其结果
+			hitCounter.increment();
+			try {
+				return existing.join();
+			}
+			catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw e;
+			}
+		}
+
+		missCounter.increment();
+		try {
+			float[] vector = loader.get();
+			store(key, vector);
+			own.complete(vector);
+			return vector;
+		}
+		catch (RuntimeException e) {
+			own.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			inFlight.remove(key, own);
+		}
+	}
+
+	private synchronized float[] lookup(String key) {
+		CachedVector entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (nanoClock.getAsLong() - entry.createdAt() >= ttlNanos) {
+			entries.remove(key);
+			totalBytes -= entry.bytes();
+			return null;
+		}
+		return entry.vector();
+	}
+
+	private synchronized void store(String key, float[] vector) {
+		long bytes = ENTRY_OVERHEAD_BYTES + (long) key.length() * Character.BYTES + (long) vector.length * Float.BYTES;
+		if (bytes > maxBytes) {
+			return;
+		}
+		CachedVector previous = entries.put(key, new CachedVector(vector, nanoClock.getAsLong(), bytes));
+		if (previous != null) {
+			totalBytes -= previous.bytes();
+		}
+		totalBytes += bytes;
+		Iterator<Map.Entry<String, CachedVector>> iterator = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+			CachedVector eldest = iterator.next().getValue();
+			iterator.remove();
+			totalBytes -= eldest.bytes();
+		}
+	}
+
+	private record CachedVector(float[] vector, long createdAt, long bytes) {
+	}
+
+}
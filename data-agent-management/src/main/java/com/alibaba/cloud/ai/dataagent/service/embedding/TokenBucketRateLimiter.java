@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 令牌桶限流器。桶容量等于一个周期内允许的许可数，按恒定速率补充；单次申请超过当前余量时允许透支，
+ * 由调用方等待到余量回正，因此超过桶容量的大批次也能通过，只是等待更久。
+ */
+public class TokenBucketRateLimiter {
+
+	private final double capacity;
+
+	private final double permitsPerNano;
+
+	private final LongSupplier nanoClock;
+
+	private double available;
+
+	private long lastRefillNanos;
+
+	/**
+	 * @param permitsPerPeriod 每个周期允许的许可数，小于等于0表示不限流
+	 * @param period 周期
+	 */
+	public TokenBucketRateLimiter(double permitsPerPeriod, Duration period) {
+		this(permitsPerPeriod, period, System::nanoTime);
+	}
+
+	TokenBucketRateLimiter(double permitsPerPeriod, Duration period, LongSupplier nanoClock) {
+		this.capacity = permitsPerPeriod;
+		this.permitsPerNano = permitsPerPeriod > 0 ? permitsPerPeriod / period.toNanos() : 0;
+		this.nanoClock = nanoClock;
+		this.available = permitsPerPeriod;
+		this.lastRefillNanos = nanoClock.getAsLong();
+	}
+
+	public boolean isUnlimited() {
+		return capacity <= 0;
+	}
+
+	/**
+	 * 预占许可，返回需要等待的纳秒数（0表示无需等待）
+	 */
+	public synchronized long reserve(double permits) {
+		if (isUnlimited() || permits <= 0) {
+			return 0;
+		}
+		long now = nanoClock.getAsLong();
+		available = Math.min(capacity, available + (now - lastRefillNanos) * permitsPerNano);
+		lastRefillNanos = now;
+		available -= permits;
+		return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+	}
+
+	/**
+	 * 获取许可，余量不足时阻塞等待
+	 */
+	public void acquire(double permits) throws InterruptedException {
+		long waitNanos = reserve(permits);
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import java.util.List;
+
+/**
+ * 多轮对话历史的存储。实现需保证线程安全。
+ */
+public interface ConversationHistoryStore {
+
+	/**
+	 * 读取会话历史
+	 * @param threadId conversation thread id
+	 * @return 按时间先后排列的历史轮次，不存在时返回空列表
+	 */
+	List<ConversationTurn> load(String threadId);
+
+	/**
+	 * 整体替换会话历史
+	 * @param threadId conversation thread id
+	 * @param turns 按时间先后排列的历史轮次
+	 */
+	void save(String threadId, List<ConversationTurn> turns);
+
+}
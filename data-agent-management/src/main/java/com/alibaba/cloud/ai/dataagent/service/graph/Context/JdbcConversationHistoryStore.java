@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import com.alibaba.cloud.ai.dataagent.mapper.ConversationHistoryMapper;
+import com.alibaba.cloud.ai.dataagent.util.JsonUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 基于管理库的会话历史存储，重启或请求落到其他节点后仍可恢复多轮上下文。
+ * <p>
+ * 同一会话的连续请求可能由不同节点处理，因此读写都直接访问数据库（read-through / write-through），
+ * 不在本地缓存历史，避免节点读到过期历史后在 finishTurn 中覆盖其他节点写入的轮次。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.ai.alibaba.data-agent.history-store.type", havingValue = "jdbc")
+public class JdbcConversationHistoryStore implements ConversationHistoryStore {
+
+	private static final TypeReference<List<ConversationTurn>> TURNS_TYPE = new TypeReference<>() {
+	};
+
+	private final ConversationHistoryMapper mapper;
+
+	public JdbcConversationHistoryStore(ConversationHistoryMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	@Override
+	public List<ConversationTurn> load(String threadId) {
+		try {
+			String json = mapper.selectTurns(threadId);
+			if (StringUtils.isBlank(json)) {
+				return List.of();
+			}
+			return JsonUtil.getObjectMapper().readValue(json, TURNS_TYPE);
+		}
+		catch (Exception e) {
+			log.warn("Failed to load conversation history for thread {}, starting with empty history", threadId, e);
+			return List.of();
+		}
+	}
+
+	@Override
+	public void save(String threadId, List<ConversationTurn> turns) {
+		// 同步落库后才返回，保证本轮结束后其他节点立即可见
+		try {
+			String json = JsonUtil.getObjectMapper().writeValueAsString(turns);
+			LocalDateTime now = LocalDateTime.now();
+			if (mapper.updateTurns(threadId, json, now) == 0) {
+				mapper.insert(threadId, json, now);
+			}
+		}
+		catch (Exception e) {
+			log.error("Failed to persist conversation history for thread {}", threadId, e);
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 进程内的会话历史存储，按最近访问顺序最多保留 maxThreads 个会话，超出时淘汰最久未访问的会话。
+ */
+@Component
+@ConditionalOnProperty(name = "spring.ai.alibaba.data-agent.history-store.type", havingValue = "memory",
+		matchIfMissing = true)
+public class LocalConversationHistoryStore implements ConversationHistoryStore {
+
+	private final Map<String, List<ConversationTurn>> cache;
+
+	@Autowired
+	public LocalConversationHistoryStore(DataAgentProperties properties) {
+		this(properties.getHistoryStore().getMaxThreads());
+	}
+
+	public LocalConversationHistoryStore(int maxThreads) {
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, List<ConversationTurn>> eldest) {
+				return size() > maxThreads;
+			}
+		};
+	}
+
+	@Override
+	public List<ConversationTurn> load(String threadId) {
+		List<ConversationTurn> turns = getIfPresent(threadId);
+		return turns == null ? List.of() : turns;
+	}
+
+	@Override
+	public void save(String threadId, List<ConversationTurn> turns) {
+		synchronized (cache) {
+			cache.put(threadId, List.copyOf(turns));
+		}
+	}
+
+	/**
+	 * @return 缓存中的历史，未缓存时返回 null
+	 */
+	List<ConversationTurn> getIfPresent(String threadId) {
+		synchronized (cache) {
+			return cache.get(threadId);
+		}
+	}
+
+	int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+}
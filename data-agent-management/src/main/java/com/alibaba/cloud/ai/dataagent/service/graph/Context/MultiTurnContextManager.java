@@ -21,8 +21,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -39,8 +39,7 @@ public class MultiTurnContextManager {
 
 	private final DataAgentProperties properties;
 
-	// todo：考虑持久化存储
-	private final Map<String, Deque<ConversationTurn>> history = new ConcurrentHashMap<>();
+	private final ConversationHistoryStore historyStore;
 
 	private final Map<String, PendingTurn> pendingTurns = new ConcurrentHashMap<>();
 
@@ -90,13 +89,14 @@ public class MultiTurnContextManager {
 		}
 
 		String trimmedPlan = StringUtils.abbreviate(plan, properties.getMaxplanlength());
-		Deque<ConversationTurn> deque = history.computeIfAbsent(threadId, k -> new ArrayDeque<>());
-		synchronized (deque) {
-			while (deque.size() >= properties.getMaxturnhistory()) {
-				deque.pollFirst();
-			}
-			deque.addLast(new ConversationTurn(pending.userQuestion, trimmedPlan));
+		List<ConversationTurn> turns = new ArrayList<>(historyStore.load(threadId));
+		// 同一 threadId 同时只有一个进行中的流，读-改-写无需额外加锁
+		int overflow = turns.size() - properties.getMaxturnhistory() + 1;
+		if (overflow > 0) {
+			turns.subList(0, Math.min(overflow, turns.size())).clear();
 		}
+		turns.add(new ConversationTurn(pending.userQuestion, trimmedPlan));
+		historyStore.save(threadId, turns);
 	}
 
 	/**
@@ -116,17 +116,13 @@ public class MultiTurnContextManager {
 	 */
 	public void restartLastTurn(String threadId) {
 		//获取最后一次的问题重新生成回答
-		Deque<ConversationTurn> deque = history.get(threadId);
-		if (deque == null || deque.isEmpty()) {
+		List<ConversationTurn> turns = historyStore.load(threadId);
+		if (turns.isEmpty()) {
 			return;
 		}
-		ConversationTurn lastTurn;
-		synchronized (deque) {
-			lastTurn = deque.pollLast();
-		}
-		if (lastTurn != null) {
-			pendingTurns.put(threadId, new PendingTurn(lastTurn.userQuestion()));
-		}
+		ConversationTurn lastTurn = turns.get(turns.size() - 1);
+		historyStore.save(threadId, turns.subList(0, turns.size() - 1));
+		pendingTurns.put(threadId, new PendingTurn(lastTurn.userQuestion()));
 	}
 
 	/**
@@ -136,18 +132,15 @@ public class MultiTurnContextManager {
 	 */
 	public String buildContext(String threadId) {
 		//构建历史对话上下文
-		Deque<ConversationTurn> deque = history.get(threadId);
-		if (deque == null || deque.isEmpty()) {
+		List<ConversationTurn> turns = historyStore.load(threadId);
+		if (turns.isEmpty()) {
 			return "(无)";
 		}
-		return deque.stream()
+		return turns.stream()
 			.map(turn -> "用户: " + turn.userQuestion() + "\nAI计划: " + turn.plan())
 			.collect(Collectors.joining("\n"));
 	}
 
-	private record ConversationTurn(String userQuestion, String plan) {
-	}
-
 	private static class PendingTurn {
 
 		private final String userQuestion;
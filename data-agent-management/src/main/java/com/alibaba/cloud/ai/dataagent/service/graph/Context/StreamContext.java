@@ -39,6 +39,11 @@ public class StreamContext {
 
 	private TextType textType;
 
+	/**
+	 * 最近一次有输出的时间（System.nanoTime），用于清理长时间无活动的会话
+	 */
+	private volatile long lastActiveNanos = System.nanoTime();
+
 	/**
 	 * 标记是否已经清理，用于防止重复清理
 	 */
@@ -76,6 +81,13 @@ public class StreamContext {
 		}
 	}
 
+	/**
+	 * 记录一次活动
+	 */
+	public void touch() {
+		lastActiveNanos = System.nanoTime();
+	}
+
 	/**
 	 * 检查是否已经清理
 	 */
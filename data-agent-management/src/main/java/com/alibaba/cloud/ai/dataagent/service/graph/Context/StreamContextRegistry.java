@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import com.alibaba.cloud.ai.dataagent.exception.StreamLimitExceededException;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.vo.GraphNodeResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Scannable;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按 threadId 管理进行中的 {@link StreamContext}。
+ * <p>
+ * 限制同时进行的会话数量，超出时快速拒绝；长时间没有输出的会话由 {@link #removeIdle(Duration)} 移除，
+ * 避免客户端异常断开或图执行卡住时上下文常驻内存。
+ */
+@Slf4j
+@Component
+public class StreamContextRegistry {
+
+	private static final String METRIC_PREFIX = "dataagent.stream.";
+
+	private final Map<String, StreamContext> contexts = new ConcurrentHashMap<>();
+
+	private final int maxInFlight;
+
+	@Autowired
+	public StreamContextRegistry(DataAgentProperties properties) {
+		this(properties.getStream().getMaxInFlight(), Metrics.globalRegistry);
+	}
+
+	StreamContextRegistry(int maxInFlight, MeterRegistry meterRegistry) {
+		this.maxInFlight = maxInFlight;
+		Gauge.builder(METRIC_PREFIX + "contexts", contexts, Map::size)
+			.description("Live stream contexts")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + "buffered.events", this, StreamContextRegistry::bufferedEvents)
+			.description("Events buffered in stream sinks waiting for clients")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 获取或创建会话上下文并绑定新的 sink
+	 * @throws StreamLimitExceededException 需要新建上下文但进行中的会话数已达上限
+	 */
+	public StreamContext register(String threadId, Sinks.Many<ServerSentEvent<GraphNodeResponse>> sink) {
+		StreamContext context = contexts.computeIfAbsent(threadId, key -> {
+			if (contexts.size() >= maxInFlight) {
+				throw new StreamLimitExceededException(
+						"Too many concurrent streams (limit " + maxInFlight + "), please retry later");
+			}
+			return new StreamContext();
+		});
+		context.setSink(sink);
+		context.touch();
+		return context;
+	}
+
+	public StreamContext get(String threadId) {
+		return contexts.get(threadId);
+	}
+
+	public StreamContext remove(String threadId) {
+		return contexts.remove(threadId);
+	}
+
+	public int size() {
+		return contexts.size();
+	}
+
+	/**
+	 * 移除超过 idleTimeout 没有活动的上下文，调用方负责清理
+	 * @return threadId -> 被移除的上下文
+	 */
+	public Map<String, StreamContext> removeIdle(Duration idleTimeout) {
+		long now = System.nanoTime();
+		Map<String, StreamContext> removed = new HashMap<>();
+		contexts.forEach((threadId, context) -> {
+			if (now - context.getLastActiveNanos() > idleTimeout.toNanos() && contexts.remove(threadId, context)) {
+				removed.put(threadId, context);
+			}
+		});
+		return removed;
+	}
+
+	private double bufferedEvents() {
+		long buffered = 0;
+		for (StreamContext context : contexts.values()) {
+			Sinks.Many<ServerSentEvent<GraphNodeResponse>> sink = context.getSink();
+			if (sink != null) {
+				buffered += Scannable.from(sink).scanOrDefault(Scannable.Attr.BUFFERED, 0);
+			}
+		}
+		return buffered;
+	}
+
+}
@@ -16,28 +16,39 @@
 package com.alibaba.cloud.ai.dataagent.service.graph;
 
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
+import com.alibaba.cloud.ai.dataagent.exception.StreamLimitExceededException;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.workflow.node.PlannerNode;
 import com.alibaba.cloud.ai.dataagent.dto.GraphRequest;
 import com.alibaba.cloud.ai.dataagent.service.graph.Context.MultiTurnContextManager;
 import com.alibaba.cloud.ai.dataagent.service.graph.Context.StreamContext;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.StreamContextRegistry;
 import com.alibaba.cloud.ai.dataagent.vo.GraphNodeResponse;
 import com.alibaba.cloud.ai.graph.*;
+import com.alibaba.cloud.ai.graph.checkpoint.BaseCheckpointSaver;
+import com.alibaba.cloud.ai.graph.checkpoint.config.SaverConfig;
 import com.alibaba.cloud.ai.graph.exception.GraphRunnerException;
 import com.alibaba.cloud.ai.graph.exception.GraphStateException;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
@@ -50,15 +61,38 @@ public class GraphServiceImpl implements GraphService {
 
 	private final ExecutorService executor;
 
-	private final ConcurrentHashMap<String, StreamContext> streamContextMap = new ConcurrentHashMap<>();
+	private final StreamContextRegistry streamContextRegistry;
 
 	private final MultiTurnContextManager multiTurnContextManager;
 
+	private final Duration streamIdleTimeout;
+
+	private final Duration coalesceMaxDelay;
+
+	private final int coalesceMaxChunks;
+
+	private final int coalesceMaxChars;
+
+	private final Counter sinkOverflowCounter = Metrics.counter("dataagent.stream.sink.overflow");
+
 	public GraphServiceImpl(StateGraph stateGraph, ExecutorService executorService,
-			MultiTurnContextManager multiTurnContextManager) throws GraphStateException {
-		this.compiledGraph = stateGraph.compile(CompileConfig.builder().interruptBefore(HUMAN_FEEDBACK_NODE).build());
+			MultiTurnContextManager multiTurnContextManager, StreamContextRegistry streamContextRegistry,
+			DataAgentProperties properties, Optional<BaseCheckpointSaver> checkpointSaver) throws GraphStateException {
+		CompileConfig.Builder compileConfig = CompileConfig.builder().interruptBefore(HUMAN_FEEDBACK_NODE);
+		// 配置了持久化检查点时，人工反馈可在任意实例上恢复执行
+		checkpointSaver.ifPresent(saver -> {
+			log.info("Using checkpoint saver: {}", saver.getClass().getSimpleName());
+			compileConfig.saverConfig(SaverConfig.builder().register(saver).build());
+		});
+		this.compiledGraph = stateGraph.compile(compileConfig.build());
 		this.executor = executorService;
 		this.multiTurnContextManager = multiTurnContextManager;
+		this.streamContextRegistry = streamContextRegistry;
+		DataAgentProperties.StreamProperties streamProperties = properties.getStream();
+		this.streamIdleTimeout = Duration.ofSeconds(streamProperties.getIdleTimeoutSeconds());
+		this.coalesceMaxDelay = Duration.ofMillis(Math.max(0, streamProperties.getCoalesceMaxDelayMillis()));
+		this.coalesceMaxChunks = Math.max(1, streamProperties.getCoalesceMaxChunks());
+		this.coalesceMaxChars = streamProperties.getCoalesceMaxChars();
 	}
 
 	@Override
@@ -76,9 +110,8 @@ public class GraphServiceImpl implements GraphService {
 			graphRequest.setThreadId(UUID.randomUUID().toString());
 		}
 		String threadId = graphRequest.getThreadId();
-		// 创建或获取 StreamContext
-		StreamContext context = streamContextMap.computeIfAbsent(threadId, k -> new StreamContext());
-		context.setSink(sink);
+		// 创建或获取 StreamContext，进行中的会话数达到上限时抛出 StreamLimitExceededException
+		streamContextRegistry.register(threadId, sink);
 		if (StringUtils.hasText(graphRequest.getHumanFeedbackContent())) {
 			handleHumanFeedback(graphRequest);
 		}
@@ -98,13 +131,25 @@ public class GraphServiceImpl implements GraphService {
 		}
 		log.info("Stopping stream processing for threadId: {}", threadId);
 		multiTurnContextManager.discardPending(threadId);
-		StreamContext context = streamContextMap.remove(threadId);
+		StreamContext context = streamContextRegistry.remove(threadId);
 		if (context != null) {
 			context.cleanup();
 			log.info("Cleaned up stream context for threadId: {}", threadId);
 		}
 	}
 
+	/**
+	 * 清理长时间没有输出的会话（客户端异常断开未触发 cancel、图执行卡住等情况）
+	 */
+	@Scheduled(fixedDelay = 30000)
+	public void evictIdleStreams() {
+		streamContextRegistry.removeIdle(streamIdleTimeout).forEach((threadId, context) -> {
+			log.warn("Evicting idle stream context for threadId: {}", threadId);
+			multiTurnContextManager.discardPending(threadId);
+			context.cleanup();
+		});
+	}
+
 	private void handleNewProcess(GraphRequest graphRequest) {
 		String query = graphRequest.getQuery();
 		String agentId = graphRequest.getAgentId();
@@ -114,7 +159,7 @@ public class GraphServiceImpl implements GraphService {
 		if (!StringUtils.hasText(threadId) || !StringUtils.hasText(agentId) || !StringUtils.hasText(query)) {
 			throw new IllegalArgumentException("Invalid arguments");
 		}
-		StreamContext context = streamContextMap.get(threadId);
+		StreamContext context = streamContextRegistry.get(threadId);
 		if (context == null || context.getSink() == null) {
 			throw new IllegalStateException("StreamContext not found for threadId: " + threadId);
 		}
@@ -139,7 +184,7 @@ public class GraphServiceImpl implements GraphService {
 		if (!StringUtils.hasText(threadId) || !StringUtils.hasText(agentId) || !StringUtils.hasText(feedbackContent)) {
 			throw new IllegalArgumentException("Invalid arguments");
 		}
-		StreamContext context = streamContextMap.get(threadId);
+		StreamContext context = streamContextRegistry.get(threadId);
 		if (context == null || context.getSink() == null) {
 			throw new IllegalStateException("StreamContext not found for threadId: " + threadId);
 		}
@@ -189,7 +234,10 @@ public class GraphServiceImpl implements GraphService {
 				log.debug("StreamContext cleaned before subscription for threadId: {}", threadId);
 				return;
 			}
-			Disposable disposable = nodeOutputFlux.subscribe(output -> handleNodeOutput(graphRequest, output),
+			// 按时间窗口/块数攒批，合并相邻的同节点同类型文本，减少 SSE 帧数
+			Flux<List<NodeOutput>> batches = coalesceMaxDelay.isZero() ? nodeOutputFlux.map(List::of)
+					: nodeOutputFlux.bufferTimeout(coalesceMaxChunks, coalesceMaxDelay);
+			Disposable disposable = batches.subscribe(outputs -> handleNodeOutputs(graphRequest, outputs),
 					error -> handleStreamError(agentId, threadId, error),
 					() -> handleStreamComplete(agentId, threadId));
 			// 原子性地设置 Disposable，如果已经清理则立即释放
@@ -213,7 +261,7 @@ public class GraphServiceImpl implements GraphService {
 	 */
 	private void handleStreamError(String agentId, String threadId, Throwable error) {
 		log.error("Error in stream processing for threadId: {}: ", threadId, error);
-		StreamContext context = streamContextMap.remove(threadId);
+		StreamContext context = streamContextRegistry.remove(threadId);
 		if (context != null && !context.isCleaned() && context.getSink() != null) {
 			// 检查 sink 是否还有订阅者
 			if (context.getSink().currentSubscriberCount() > 0) {
@@ -236,7 +284,7 @@ public class GraphServiceImpl implements GraphService {
 	private void handleStreamComplete(String agentId, String threadId) {
 		log.info("Stream processing completed successfully for threadId: {}", threadId);
 		multiTurnContextManager.finishTurn(threadId);
-		StreamContext context = streamContextMap.remove(threadId);
+		StreamContext context = streamContextRegistry.remove(threadId);
 		if (context != null && !context.isCleaned() && context.getSink() != null) {
 			if (context.getSink().currentSubscriberCount() > 0) {
 				context.getSink()
@@ -250,30 +298,45 @@ public class GraphServiceImpl implements GraphService {
 	}
 
 	/**
-	 * 处理节点输出
+	 * 处理一批节点输出，合并后再发送
 	 */
-	private void handleNodeOutput(GraphRequest request, NodeOutput output) {
-		log.debug("Received output: {}", output.getClass().getSimpleName());
-		//jdk16的写法,简化类型转换,StreamingOutput返回流式结果
-		if (output instanceof StreamingOutput streamingOutput) {
-			handleStreamNodeOutput(request, streamingOutput);
-		}
-	}
-
-	private void handleStreamNodeOutput(GraphRequest request, StreamingOutput output) {
+	private void handleNodeOutputs(GraphRequest request, List<NodeOutput> outputs) {
 		String threadId = request.getThreadId();
-		StreamContext context = streamContextMap.get(threadId);
+		StreamContext context = streamContextRegistry.get(threadId);
 		// 检查是否已经停止处理
 		if (context == null || context.getSink() == null) {
 			log.debug("Stream processing already stopped for threadId: {}, skipping output", threadId);
 			return;
 		}
+		List<GraphNodeResponse> responses = new ArrayList<>(outputs.size());
+		for (NodeOutput output : outputs) {
+			log.debug("Received output: {}", output.getClass().getSimpleName());
+			//jdk16的写法,简化类型转换,StreamingOutput返回流式结果
+			if (output instanceof StreamingOutput streamingOutput) {
+				GraphNodeResponse response = toStreamResponse(request, context, streamingOutput);
+				if (response != null) {
+					responses.add(response);
+				}
+			}
+		}
+		for (GraphNodeResponse response : StreamChunkCoalescer.coalesce(responses, coalesceMaxChars)) {
+			if (!emit(context, threadId, response)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 将流式输出转换为响应，文本类型标记和空内容返回 null
+	 */
+	private GraphNodeResponse toStreamResponse(GraphRequest request, StreamContext context, StreamingOutput output) {
+		String threadId = request.getThreadId();
 		String node = output.node();
 		String chunk = output.chunk();
 		log.debug("Received Stream output: {}", chunk);
 
 		if (chunk == null || chunk.isEmpty()) {
-			return;
+			return null;
 		}
 
 		// 如果是文本标记符号，则更新文本类型
@@ -297,27 +360,48 @@ public class GraphServiceImpl implements GraphService {
 			context.setTextType(textType);
 		}
 		// 文本标记符号不返回给前端
-		if (!isTypeSign) {
-			if (PlannerNode.class.getSimpleName().equals(node)) {
-				//拼接流输出内容
-				multiTurnContextManager.appendPlannerChunk(threadId, chunk);
-			}
-			GraphNodeResponse response = GraphNodeResponse.builder()
-				.agentId(request.getAgentId())
-				.threadId(threadId)
-				.nodeName(node)
-				.text(chunk)
-				.textType(textType)
-				.build();
-			// 检查发送是否成功，如果失败说明客户端已断开
-			Sinks.EmitResult result = context.getSink().tryEmitNext(ServerSentEvent.builder(response).build());
-			if (result.isFailure()) {
-				log.warn("Failed to emit data to sink for threadId: {}, result: {}. Stopping stream processing.",
-						threadId, result);
-				// 如果发送失败，停止处理
-				stopStreamProcessing(threadId);
-			}
+		if (isTypeSign) {
+			return null;
+		}
+		if (PlannerNode.class.getSimpleName().equals(node)) {
+			//拼接流输出内容
+			multiTurnContextManager.appendPlannerChunk(threadId, chunk);
+		}
+		return GraphNodeResponse.builder()
+			.agentId(request.getAgentId())
+			.threadId(threadId)
+			.nodeName(node)
+			.text(chunk)
+			.textType(textType)
+			.build();
+	}
+
+	/**
+	 * 发送到客户端，失败时停止处理并返回 false
+	 */
+	private boolean emit(StreamContext context, String threadId, GraphNodeResponse response) {
+		// 检查发送是否成功，如果失败说明客户端已断开
+		Sinks.EmitResult result = context.getSink().tryEmitNext(ServerSentEvent.builder(response).build());
+		if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+			// 客户端消费过慢，缓冲区已满：终止该会话而不是无限堆积。缓冲区已满时无法再追加错误帧，
+			// 以错误终止 sink（缓冲内容发送完后送达），由 controller 转换为 error 事件
+			sinkOverflowCounter.increment();
+			log.warn("Sink buffer overflow for threadId: {}, client is too slow. Stopping stream processing.",
+					threadId);
+			context.getSink()
+				.tryEmitError(new StreamLimitExceededException("客户端接收过慢，输出缓冲区已满，本次会话已终止"));
+			stopStreamProcessing(threadId);
+			return false;
+		}
+		if (result.isFailure()) {
+			log.warn("Failed to emit data to sink for threadId: {}, result: {}. Stopping stream processing.", threadId,
+					result);
+			// 如果发送失败，停止处理
+			stopStreamProcessing(threadId);
+			return false;
 		}
+		context.touch();
+		return true;
 	}
 
 }
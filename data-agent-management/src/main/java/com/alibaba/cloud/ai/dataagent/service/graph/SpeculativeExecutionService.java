@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaService;
+import com.alibaba.cloud.ai.dataagent.util.StateUtil;
+import com.alibaba.cloud.ai.graph.OverAllState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
+
+/**
+ * 早期节点的推测执行。
+ * <p>
+ * 证据召回的查询重写与意图识别结果无关，开启后在意图识别开始时即并行发起查询重写的 LLM 调用；
+ * schemaRecallEnabled 开启时（默认关闭）还会以原始问题预先召回表结构。EvidenceRecallNode / SchemaRecallNode
+ * 执行时按相同输入取用结果，取不到时照常执行；推测的表召回最多等待一次向量检索的超时时间，仍未完成则取消并重新召回。意图识别判定为闲聊时丢弃推测结果并取消调用，未被取用的结果超过 TTL 后清理。
+ */
+@Slf4j
+@Component
+public class SpeculativeExecutionService {
+
+	private static final String METRIC_NAME = "dataagent.graph.speculation";
+
+	private final LlmService llmService;
+
+	private final SchemaService schemaService;
+
+	private final ExecutorService retrievalExecutor;
+
+	private final DataAgentProperties.SpeculativeProperties properties;
+
+	/**
+	 * 取用推测的表召回时的最长等待时间（毫秒），与向量检索的超时一致
+	 */
+	private final long tableRecallWaitMillis;
+
+	/**
+	 * 查询重写提示词 -> 推测中的 LLM 输出
+	 */
+	private final Map<String, SpeculativeRewrite> evidenceRewrites = new ConcurrentHashMap<>();
+
+	/**
+	 * agentId + 原始问题 -> 推测召回的表文档
+	 */
+	private final Map<String, SpeculativeRecall> tableRecalls = new ConcurrentHashMap<>();
+
+	public SpeculativeExecutionService(LlmService llmService, SchemaService schemaService,
+			@Qualifier("retrievalExecutor") ExecutorService retrievalExecutor, DataAgentProperties dataAgentProperties) {
+		this.llmService = llmService;
+		this.schemaService = schemaService;
+		this.retrievalExecutor = retrievalExecutor;
+		this.properties = dataAgentProperties.getSpeculative();
+		this.tableRecallWaitMillis = dataAgentProperties.getVectorStore().getHybridVectorSearchTimeout();
+	}
+
+	/**
+	 * 在意图识别开始时调用，按当前状态发起推测任务；未开启时不做任何事
+	 */
+	public void speculate(OverAllState state) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		String question = StateUtil.getStringValue(state, INPUT_KEY, "");
+		String agentId = StateUtil.getStringValue(state, AGENT_ID, "");
+		if (StringUtils.isAnyBlank(question, agentId)) {
+			return;
+		}
+		String multiTurn = StateUtil.getStringValue(state, MULTI_TURN_CONTEXT, "(无)");
+		String prompt = PromptHelper.buildEvidenceQueryRewritePrompt(multiTurn, question);
+		evidenceRewrites.computeIfAbsent(prompt, this::startRewrite);
+		if (properties.isSchemaRecallEnabled()) {
+			// submit 返回的 Future 在取消时会中断召回线程，及时释放检索线程池
+			tableRecalls.computeIfAbsent(tableKey(agentId, question), key -> new SpeculativeRecall(
+					retrievalExecutor.submit(() -> schemaService.getTableDocumentsForAgent(agentId, question)),
+					System.nanoTime()));
+		}
+	}
+
+	/**
+	 * 意图识别判定无需继续时丢弃推测结果
+	 */
+	public void discard(OverAllState state) {
+		String question = StateUtil.getStringValue(state, INPUT_KEY, "");
+		String agentId = StateUtil.getStringValue(state, AGENT_ID, "");
+		String multiTurn = StateUtil.getStringValue(state, MULTI_TURN_CONTEXT, "(无)");
+		SpeculativeRewrite rewrite = evidenceRewrites.remove(PromptHelper.buildEvidenceQueryRewritePrompt(multiTurn,
+				question));
+		if (rewrite != null) {
+			rewrite.cancel();
+			outcome("evidence_rewrite", "discarded");
+		}
+		SpeculativeRecall recall = tableRecalls.remove(tableKey(agentId, question));
+		if (recall != null) {
+			recall.future().cancel(true);
+			outcome("schema_recall", "discarded");
+		}
+	}
+
+	/**
+	 * 取用推测的查询重写输出，返回的 Flux 会先重放已收到的内容再继续接收
+	 */
+	public Optional<Flux<ChatResponse>> takeEvidenceRewrite(String prompt) {
+		// 未开启时不会有推测结果，也不记录命中指标，避免未开启的部署出现大量 miss
+		if (!properties.isEnabled()) {
+			return Optional.empty();
+		}
+		SpeculativeRewrite rewrite = evidenceRewrites.remove(prompt);
+		outcome("evidence_rewrite", rewrite != null ? "hit" : "miss");
+		return Optional.ofNullable(rewrite).map(r -> r.sink().asFlux());
+	}
+
+	/**
+	 * 取用以原始问题推测召回的表文档。只有增强后的查询与原始问题一致时结果才可复用，否则丢弃
+	 */
+	public Optional<List<Document>> takeTableDocuments(String agentId, String originalQuery, String query) {
+		if (!properties.isEnabled()) {
+			return Optional.empty();
+		}
+		SpeculativeRecall recall = tableRecalls.remove(tableKey(agentId, originalQuery));
+		if (recall == null) {
+			return Optional.empty();
+		}
+		if (!StringUtils.equals(originalQuery, query)) {
+			recall.future().cancel(true);
+			outcome("schema_recall", "miss");
+			return Optional.empty();
+		}
+		try {
+			List<Document> documents = recall.future().get(tableRecallWaitMillis, TimeUnit.MILLISECONDS);
+			outcome("schema_recall", "hit");
+			return Optional.ofNullable(documents);
+		}
+		catch (InterruptedException e) {
+			recall.future().cancel(true);
+			Thread.currentThread().interrupt();
+			return Optional.empty();
+		}
+		catch (TimeoutException e) {
+			// 推测召回卡住时不让图执行跟着等待，取消后重新召回
+			recall.future().cancel(true);
+			log.warn("Speculative schema recall for agent {} not ready after {} ms, recalling again", agentId,
+					tableRecallWaitMillis);
+			outcome("schema_recall", "timeout");
+			return Optional.empty();
+		}
+		catch (Exception e) {
+			log.warn("Speculative schema recall failed for agent {}, recalling again", agentId, e);
+			outcome("schema_recall", "failed");
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * 清理超过 TTL 仍未被取用的推测结果
+	 */
+	@Scheduled(fixedDelay = 60000)
+	public void evictExpired() {
+		long expireBefore = System.nanoTime() - TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+		evidenceRewrites.entrySet().removeIf(entry -> {
+			if (entry.getValue().startNanos() - expireBefore < 0) {
+				entry.getValue().cancel();
+				outcome("evidence_rewrite", "expired");
+				return true;
+			}
+			return false;
+		});
+		tableRecalls.entrySet().removeIf(entry -> {
+			if (entry.getValue().startNanos() - expireBefore < 0) {
+				entry.getValue().future().cancel(true);
+				outcome("schema_recall", "expired");
+				return true;
+			}
+			return false;
+		});
+	}
+
+	private SpeculativeRewrite startRewrite(String prompt) {
+		// replay sink 保存已到达的分片，EvidenceRecallNode 订阅时从头重放
+		Sinks.Many<ChatResponse> sink = Sinks.many().replay().all();
+		Disposable subscription = llmService.callUser(prompt)
+			.subscribe(sink::tryEmitNext, sink::tryEmitError, sink::tryEmitComplete);
+		return new SpeculativeRewrite(sink, subscription, System.nanoTime());
+	}
+
+	private static String tableKey(String agentId, String query) {
+		return agentId + "\n" + query;
+	}
+
+	private static void outcome(String task, String outcome) {
+		Counter.builder(METRIC_NAME)
+			.tag("task", task)
+			.tag("outcome", outcome)
+			.register(Metrics.globalRegistry)
+			.increment();
+	}
+
+	private record SpeculativeRewrite(Sinks.Many<ChatResponse> sink, Disposable subscription, long startNanos) {
+
+		void cancel() {
+			subscription.dispose();
+			sink.tryEmitComplete();
+		}
+
+	}
+
+	private record SpeculativeRecall(Future<List<Document>> future, long startNanos) {
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph;
+
+import com.alibaba.cloud.ai.dataagent.enums.TextType;
+import com.alibaba.cloud.ai.dataagent.vo.GraphNodeResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 合并流式输出中相邻的小文本块。
+ * <p>
+ * 只合并节点和文本类型都相同的相邻块，类型切换处保持为独立的帧；单帧文本超过 maxChars 后另起一帧。
+ * 结果集等按帧发送 JSON 的类型（{@link TextType#isFramed()}）从不合并。
+ */
+final class StreamChunkCoalescer {
+
+	private StreamChunkCoalescer() {
+	}
+
+	/**
+	 * @param responses 按输出顺序排列的流式响应
+	 * @param maxChars 单帧最大字符数，小于等于 0 表示不限制
+	 */
+	static List<GraphNodeResponse> coalesce(List<GraphNodeResponse> responses, int maxChars) {
+		if (responses.size() <= 1) {
+			return responses;
+		}
+		List<GraphNodeResponse> merged = new ArrayList<>();
+		GraphNodeResponse current = null;
+		StringBuilder text = new StringBuilder();
+		for (GraphNodeResponse response : responses) {
+			if (current != null && canMerge(current, response)
+					&& (maxChars <= 0 || text.length() + response.getText().length() <= maxChars)) {
+				text.append(response.getText());
+				continue;
+			}
+			if (current != null) {
+				current.setText(text.toString());
+				merged.add(current);
+			}
+			current = response;
+			text.setLength(0);
+			text.append(response.getText());
+		}
+		current.setText(text.toString());
+		merged.add(current);
+		return merged;
+	}
+
+	private static boolean canMerge(GraphNodeResponse previous, GraphNodeResponse next) {
+		return !previous.isError() && !previous.isComplete() && !next.isError() && !next.isComplete()
+				&& previous.getTextType() == next.getTextType()
+				&& (previous.getTextType() == null || !previous.getTextType().isFramed())
+				&& Objects.equals(previous.getNodeName(), next.getNodeName());
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.checkpoint;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 图状态的 JSON 序列化。
+ * <p>
+ * 每个状态值保存为 [类名, 值]，恢复时按原类型读取（顶层的 Long 等数值不会变成 Integer，嵌套在无类型集合中的数值除外），
+ * 嵌套对象带类型信息；
+ * excludedKeys 中的大体积临时数据（如 SQL 结果集）不落盘。无法序列化或恢复的值（如流式生成器、已改名的类）逐项跳过，
+ * 不影响其余状态。
+ */
+@Slf4j
+class CheckpointStateSerializer {
+
+	/**
+	 * 状态只来自本服务写入的数据，可恢复的类型限定在应用及其依赖的模型包内
+	 */
+	private static final List<String> ALLOWED_TYPE_PREFIXES = List.of("com.alibaba.cloud.ai.",
+			"org.springframework.ai.", "java.util.", "java.lang.", "java.time.", "java.math.");
+
+	private final ObjectMapper objectMapper;
+
+	private final Set<String> excludedKeys;
+
+	CheckpointStateSerializer(Collection<String> excludedKeys) {
+		this.excludedKeys = Set.copyOf(excludedKeys);
+		BasicPolymorphicTypeValidator.Builder validatorBuilder = BasicPolymorphicTypeValidator.builder();
+		ALLOWED_TYPE_PREFIXES.forEach(validatorBuilder::allowIfSubType);
+		BasicPolymorphicTypeValidator typeValidator = validatorBuilder.build();
+		this.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+	}
+
+	String serialize(Map<String, Object> state) throws JsonProcessingException {
+		ObjectNode root = objectMapper.createObjectNode();
+		for (Map.Entry<String, Object> entry : state.entrySet()) {
+			if (entry.getValue() == null || excludedKeys.contains(entry.getKey())) {
+				continue;
+			}
+			try {
+				ArrayNode typed = objectMapper.createArrayNode();
+				typed.add(entry.getValue().getClass().getName());
+				typed.add(objectMapper.<JsonNode>valueToTree(entry.getValue()));
+				root.set(entry.getKey(), typed);
+			}
+			catch (IllegalArgumentException e) {
+				log.debug("Skipping non-serializable state entry {}: {}", entry.getKey(), e.getMessage());
+			}
+		}
+		return objectMapper.writeValueAsString(root);
+	}
+
+	Map<String, Object> deserialize(String json) throws JsonProcessingException {
+		JsonNode root = objectMapper.readTree(json);
+		Map<String, Object> state = new HashMap<>(root.size());
+		for (Iterator<Map.Entry<String, JsonNode>> it = root.fields(); it.hasNext();) {
+			Map.Entry<String, JsonNode> entry = it.next();
+			try {
+				state.put(entry.getKey(), readEntry(entry.getValue()));
+			}
+			catch (Exception e) {
+				log.warn("Skipping state entry {} that cannot be restored: {}", entry.getKey(), e.getMessage());
+			}
+		}
+		return state;
+	}
+
+	private Object readEntry(JsonNode typed) throws JsonProcessingException, ClassNotFoundException {
+		String className = typed.get(0).asText();
+		if (ALLOWED_TYPE_PREFIXES.stream().noneMatch(className::startsWith)) {
+			throw new IllegalArgumentException("type not allowed: " + className);
+		}
+		Class<?> type = Class.forName(className, false, getClass().getClassLoader());
+		return objectMapper.treeToValue(typed.get(1), type);
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.checkpoint;
+
+import com.alibaba.cloud.ai.dataagent.entity.GraphCheckpoint;
+import com.alibaba.cloud.ai.dataagent.mapper.GraphCheckpointMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.graph.RunnableConfig;
+import com.alibaba.cloud.ai.graph.checkpoint.BaseCheckpointSaver;
+import com.alibaba.cloud.ai.graph.checkpoint.Checkpoint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 基于管理库的图检查点存储。
+ * <p>
+ * 图在 HUMAN_FEEDBACK_NODE 前中断后，人工反馈请求可能落到任意实例上，因此检查点需要保存在共享的数据库中。
+ * 恢复执行只依赖最新检查点，每个 threadId 只保留一行；长时间未更新的检查点（放弃的会话）按 TTL 定期清理。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.ai.alibaba.data-agent.checkpoint.type", havingValue = "jdbc")
+public class JdbcCheckpointSaver implements BaseCheckpointSaver {
+
+	private final GraphCheckpointMapper mapper;
+
+	private final CheckpointStateSerializer serializer;
+
+	private final Duration ttl;
+
+	public JdbcCheckpointSaver(GraphCheckpointMapper mapper, DataAgentProperties properties) {
+		DataAgentProperties.CheckpointProperties checkpoint = properties.getCheckpoint();
+		this.mapper = mapper;
+		this.serializer = new CheckpointStateSerializer(checkpoint.getExcludedStateKeys());
+		this.ttl = Duration.ofSeconds(checkpoint.getTtlSeconds());
+	}
+
+	@Override
+	public Collection<Checkpoint> list(RunnableConfig config) {
+		return load(threadId(config)).map(List::of).orElseGet(List::of);
+	}
+
+	@Override
+	public Optional<Checkpoint> get(RunnableConfig config) {
+		Optional<Checkpoint> latest = load(threadId(config));
+		if (config.checkPointId().isPresent()) {
+			String checkpointId = config.checkPointId().get();
+			return latest.filter(checkpoint -> checkpointId.equals(checkpoint.getId()));
+		}
+		return latest;
+	}
+
+	@Override
+	public RunnableConfig put(RunnableConfig config, Checkpoint checkpoint) throws Exception {
+		GraphCheckpoint record = GraphCheckpoint.builder()
+			.threadId(threadId(config))
+			.checkpointId(checkpoint.getId())
+			.nodeId(checkpoint.getNodeId())
+			.nextNodeId(checkpoint.getNextNodeId())
+			.state(serializer.serialize(checkpoint.getState()))
+			.updateTime(LocalDateTime.now())
+			.build();
+		if (mapper.update(record) == 0) {
+			mapper.insert(record);
+		}
+		return RunnableConfig.builder(config).checkPointId(checkpoint.getId()).build();
+	}
+
+	@Override
+	public boolean clear(RunnableConfig config) {
+		return mapper.deleteByThreadId(threadId(config)) > 0;
+	}
+
+	/**
+	 * 清理超过 TTL 未更新的检查点
+	 */
+	@Scheduled(fixedDelay = 600000)
+	public void evictExpired() {
+		int deleted = mapper.deleteUpdatedBefore(LocalDateTime.now().minus(ttl));
+		if (deleted > 0) {
+			log.info("Evicted {} expired graph checkpoints", deleted);
+		}
+	}
+
+	private Optional<Checkpoint> load(String threadId) {
+		GraphCheckpoint record = mapper.selectByThreadId(threadId);
+		if (record == null) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(Checkpoint.builder()
+				.id(record.getCheckpointId())
+				.nodeId(record.getNodeId())
+				.nextNodeId(record.getNextNodeId())
+				.state(serializer.deserialize(record.getState()))
+				.build());
+		}
+		catch (Exception e) {
+			log.error("Failed to deserialize graph checkpoint for thread {}", threadId, e);
+			return Optional.empty();
+		}
+	}
+
+	private static String threadId(RunnableConfig config) {
+		return config.threadId().orElse(THREAD_ID_DEFAULT);
+	}
+
+}
@@ -16,11 +16,13 @@
 package com.alibaba.cloud.ai.dataagent.service.hybrid.factory;
 
 import com.alibaba.cloud.ai.dataagent.constant.Constant;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.FusionStrategy;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.impl.RrfFusionStrategy;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.impl.WeightedAverageStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -34,6 +36,9 @@ public class FusionStrategyFactory implements FactoryBean<FusionStrategy> {
 	@Value("${" + Constant.PROJECT_PROPERTIES_PREFIX + ".fusion-strategy:rrf}")
 	private String fusionStrategyType;
 
+	@Autowired
+	private DataAgentProperties dataAgentProperties;
+
 	/**
 	 * 创建FusionStrategy实例
 	 * @return FusionStrategy实例
@@ -49,7 +54,9 @@ public class FusionStrategyFactory implements FactoryBean<FusionStrategy> {
 			}
 			case "weighted" -> {
 				log.info("Creating WeightedAverageStrategy instance");
-				yield new WeightedAverageStrategy();
+				DataAgentProperties.VectorStoreProperties vectorStore = dataAgentProperties.getVectorStore();
+				yield new WeightedAverageStrategy(vectorStore.getFusionWeights(),
+						vectorStore.getFusionWeightsByVectorType());
 			}
 			default -> {
 				log.warn("Unknown fusion strategy type: {}, falling back to RrfFusionStrategy", fusionStrategyType);
@@ -17,6 +17,8 @@ package com.alibaba.cloud.ai.dataagent.service.hybrid.factory;
 
 import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.FusionStrategy;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.keyword.KeywordIndex;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval.AbstractHybridRetrievalStrategy;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval.HybridRetrievalStrategy;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval.impl.DefaultHybridRetrievalStrategy;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval.impl.ElasticsearchHybridRetrievalStrategy;
@@ -27,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -56,6 +59,9 @@ public class HybridRetrievalStrategyFactory implements FactoryBean<HybridRetriev
 	@Autowired
 	private DataAgentProperties dataAgentProperties;
 
+	@Autowired
+	private KeywordIndex keywordIndex;
+
 	@Override
 	public HybridRetrievalStrategy getObject() throws Exception {
 
@@ -71,15 +77,22 @@ public class HybridRetrievalStrategyFactory implements FactoryBean<HybridRetriev
 			strategy.setIndexName(elasticsearchIndexName);
 			// 从DataAgentProperties获取最小分数
 			strategy.setMinScore(dataAgentProperties.getVectorStore().getElasticsearchMinScore());
-			return strategy;
+			return withTimeouts(strategy);
 		}
 		else {
-			log.warn(
-					"Creating DefaultHybridRetrievalStrategy (default) without keyword-search ability,maybe you should implement interface -> HybridRetrievalStrategy ");
-			return new DefaultHybridRetrievalStrategy(executorService, vectorStore, fusionStrategy);
+			log.info("Creating DefaultHybridRetrievalStrategy (default) with in-memory BM25 keyword index");
+			return withTimeouts(
+					new DefaultHybridRetrievalStrategy(executorService, vectorStore, fusionStrategy, keywordIndex));
 		}
 	}
 
+	private AbstractHybridRetrievalStrategy withTimeouts(AbstractHybridRetrievalStrategy strategy) {
+		DataAgentProperties.VectorStoreProperties properties = dataAgentProperties.getVectorStore();
+		strategy.setVectorSearchTimeout(Duration.ofMillis(properties.getHybridVectorSearchTimeout()));
+		strategy.setKeywordSearchTimeout(Duration.ofMillis(properties.getHybridKeywordSearchTimeout()));
+		return strategy;
+	}
+
 	@Override
 	public Class<?> getObjectType() {
 		return HybridRetrievalStrategy.class;
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.factory;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.rerank.LexicalReranker;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.rerank.OnnxCrossEncoderReranker;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.rerank.Reranker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reranker工厂类，根据配置创建重排序实现；未启用重排序时返回null
+ */
+@Slf4j
+@Component
+public class RerankerFactory implements FactoryBean<Reranker>, DisposableBean {
+
+	private static final String ONNX_RUNTIME_CLASS = "ai.onnxruntime.OrtSession";
+
+	@Autowired
+	private DataAgentProperties dataAgentProperties;
+
+	private Reranker reranker;
+
+	@Override
+	public Reranker getObject() throws Exception {
+		DataAgentProperties.Rerank properties = dataAgentProperties.getRerank();
+		if (!properties.isEnabled()) {
+			log.info("Rerank is disabled. Returning null Reranker.");
+			return null;
+		}
+		if ("onnx".equalsIgnoreCase(properties.getType())) {
+			reranker = createOnnxReranker(properties);
+		}
+		if (reranker == null) {
+			log.info("Creating LexicalReranker with lexical weight: {}", properties.getLexicalWeight());
+			reranker = new LexicalReranker(properties.getLexicalWeight());
+		}
+		return reranker;
+	}
+
+	/**
+	 * 创建 cross-encoder 重排序，缺少依赖或模型文件时返回null以回退到词项重排序
+	 */
+	private Reranker createOnnxReranker(DataAgentProperties.Rerank properties) {
+		if (!ClassUtils.isPresent(ONNX_RUNTIME_CLASS, getClass().getClassLoader())) {
+			log.warn("onnxruntime is not on the classpath (add spring-ai-transformers), falling back to LexicalReranker");
+			return null;
+		}
+		if (!StringUtils.hasText(properties.getOnnxModelPath())
+				|| !StringUtils.hasText(properties.getOnnxTokenizerPath())) {
+			log.warn("Rerank onnx-model-path or onnx-tokenizer-path is not set, falling back to LexicalReranker");
+			return null;
+		}
+		try {
+			return new OnnxCrossEncoderReranker(properties.getOnnxModelPath(), properties.getOnnxTokenizerPath(),
+					properties.getMaxSequenceLength());
+		}
+		catch (Exception e) {
+			log.error("Failed to load cross-encoder reranker, falling back to LexicalReranker", e);
+			return null;
+		}
+	}
+
+	@Override
+	public Class<?> getObjectType() {
+		return Reranker.class;
+	}
+
+	@Override
+	public boolean isSingleton() {
+		return true;
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (reranker instanceof DisposableBean disposable) {
+			disposable.destroy();
+		}
+	}
+
+}
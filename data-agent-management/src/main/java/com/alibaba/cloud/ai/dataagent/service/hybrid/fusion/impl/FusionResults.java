@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.impl;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 融合策略共用的 topK 选取：用大小为 topK 的小顶堆代替全量排序，并把融合分数写回文档
+ */
+final class FusionResults {
+
+	private FusionResults() {
+	}
+
+	private record Candidate(String id, double score, int order) {
+	}
+
+	/**
+	 * @param scores 文档ID -> 融合分数，迭代顺序为文档首次出现的顺序，分数相同时先出现的优先
+	 * @param documents 文档ID -> 文档
+	 * @return 按融合分数降序的文档，分数写入 {@link Document#getScore()} 和元数据
+	 * {@link DocumentMetadataConstant#FUSION_SCORE}
+	 */
+	static List<Document> topK(Map<String, Double> scores, Map<String, Document> documents, int topK) {
+		if (topK <= 0 || scores.isEmpty()) {
+			return List.of();
+		}
+		// 堆顶是当前最差的候选：分数更低，或分数相同但出现更晚
+		PriorityQueue<Candidate> heap = new PriorityQueue<>(Math.min(topK, scores.size()) + 1,
+				(a, b) -> a.score() != b.score() ? Double.compare(a.score(), b.score())
+						: Integer.compare(b.order(), a.order()));
+		int order = 0;
+		for (Map.Entry<String, Double> entry : scores.entrySet()) {
+			heap.add(new Candidate(entry.getKey(), entry.getValue(), order++));
+			if (heap.size() > topK) {
+				heap.poll();
+			}
+		}
+		List<Document> results = new ArrayList<>(heap.size());
+		while (!heap.isEmpty()) {
+			Candidate candidate = heap.poll();
+			results.add(withFusionScore(documents.get(candidate.id()), candidate.score()));
+		}
+		Collections.reverse(results);
+		return results;
+	}
+
+	private static Document withFusionScore(Document document, double score) {
+		Map<String, Object> metadata = new HashMap<>(document.getMetadata());
+		metadata.put(DocumentMetadataConstant.FUSION_SCORE, score);
+		return document.mutate().metadata(metadata).score(score).build();
+	}
+
+}
@@ -21,9 +21,9 @@ import org.springframework.ai.document.Document;
 import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class RrfFusionStrategy implements FusionStrategy {
@@ -38,8 +38,8 @@ public class RrfFusionStrategy implements FusionStrategy {
 		// RRF参数配置
 		int k = 60;
 
-		// 使用Map存储每个文档的RRF分数
-		Map<String, Double> rrfScores = new HashMap<>();
+		// 使用Map存储每个文档的RRF分数，保持首次出现的顺序以便同分时稳定排序
+		Map<String, Double> rrfScores = new LinkedHashMap<>();
 		// 使用Map存储文档ID到Document对象的映射
 		Map<String, Document> documentMap = new HashMap<>();
 
@@ -67,13 +67,8 @@ public class RrfFusionStrategy implements FusionStrategy {
 			return List.of();
 		}
 
-		// 按RRF分数降序排序，取topK个
-		return rrfScores.entrySet()
-			.stream()
-			.sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-			.limit(topK)
-			.map(entry -> documentMap.get(entry.getKey()))
-			.collect(Collectors.toList());
+		// 按RRF分数降序取topK个，融合分数写入文档
+		return FusionResults.topK(rrfScores, documentMap, topK);
 
 	}
 
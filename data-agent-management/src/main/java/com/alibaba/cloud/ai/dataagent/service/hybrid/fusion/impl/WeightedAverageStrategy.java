@@ -15,17 +15,123 @@
  */
 package com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.impl;
 
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.FusionStrategy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.util.StringUtils;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * 加权分数融合：每个检索来源的分数先做 min-max 归一化到 [0, 1]，再按来源权重加权求和。
+ * <p>
+ * 权重按结果列表顺序（向量检索、关键词检索）对应，可按文档的 vectorType 覆盖；
+ * 文档没有分数时按其在列表中的排名折算。
+ */
+@Slf4j
 public class WeightedAverageStrategy implements FusionStrategy {
 
+	private final List<Double> defaultWeights;
+
+	private final Map<String, List<Double>> weightsByVectorType;
+
+	public WeightedAverageStrategy() {
+		this(List.of(), Map.of());
+	}
+
+	public WeightedAverageStrategy(List<Double> defaultWeights, Map<String, List<Double>> weightsByVectorType) {
+		this.defaultWeights = defaultWeights != null ? defaultWeights : List.of();
+		this.weightsByVectorType = weightsByVectorType != null ? weightsByVectorType : Map.of();
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<Document> fuseResults(int topK, List<Document>... resultLists) {
-		throw new UnsupportedOperationException("Not implemented");
+		if (resultLists == null || resultLists.length == 0) {
+			return List.of();
+		}
+		List<Double> weights = weightsFor(resultLists);
+
+		Map<String, Double> fusedScores = new LinkedHashMap<>();
+		Map<String, Document> documentMap = new HashMap<>();
+		for (int source = 0; source < resultLists.length; source++) {
+			List<Document> resultList = resultLists[source];
+			if (resultList == null || resultList.isEmpty()) {
+				continue;
+			}
+			double weight = source < weights.size() ? weights.get(source) : 1.0;
+			double[] normalized = normalize(resultList);
+			for (int i = 0; i < resultList.size(); i++) {
+				Document doc = resultList.get(i);
+				String docId = getDocumentId(doc);
+				fusedScores.merge(docId, weight * normalized[i], Double::sum);
+				documentMap.putIfAbsent(docId, doc);
+			}
+		}
+		return FusionResults.topK(fusedScores, documentMap, topK);
+	}
+
+	/**
+	 * 按第一个文档的 vectorType 选择权重，未配置时使用默认权重
+	 */
+	private List<Double> weightsFor(List<Document>[] resultLists) {
+		for (List<Document> resultList : resultLists) {
+			if (resultList == null || resultList.isEmpty()) {
+				continue;
+			}
+			Object vectorType = resultList.get(0).getMetadata().get(DocumentMetadataConstant.VECTOR_TYPE);
+			List<Double> weights = vectorType != null ? weightsByVectorType.get(vectorType.toString()) : null;
+			if (weights != null) {
+				return weights;
+			}
+			break;
+		}
+		return defaultWeights;
+	}
+
+	/**
+	 * min-max 归一化；列表中有文档缺少分数时整体按排名折算，所有分数相同时都记为 1
+	 */
+	private static double[] normalize(List<Document> resultList) {
+		int size = resultList.size();
+		double[] scores = new double[size];
+		boolean hasScores = true;
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			Double score = resultList.get(i).getScore();
+			if (score == null || score.isNaN()) {
+				hasScores = false;
+				break;
+			}
+			scores[i] = score;
+			min = Math.min(min, score);
+			max = Math.max(max, score);
+		}
+		for (int i = 0; i < size; i++) {
+			if (!hasScores) {
+				scores[i] = (double) (size - i) / size;
+			}
+			else if (max > min) {
+				scores[i] = (scores[i] - min) / (max - min);
+			}
+			else {
+				scores[i] = 1.0;
+			}
+		}
+		return scores;
+	}
+
+	private String getDocumentId(Document document) {
+		if (StringUtils.hasText(document.getId())) {
+			return document.getId();
+		}
+		log.error("Oops, this should never happen.Document ID is empty, using content hash as ID");
+		return String.valueOf(document.getText().hashCode());
 	}
 
 }
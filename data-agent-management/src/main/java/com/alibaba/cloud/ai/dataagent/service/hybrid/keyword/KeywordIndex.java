@@ -0,0 +1,293 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.keyword;
+
+import com.alibaba.cloud.ai.dataagent.constant.Constant;
+import com.alibaba.cloud.ai.dataagent.service.vectorstore.MetadataDocumentQuery;
+import com.alibaba.cloud.ai.dataagent.service.vectorstore.MetadataFilterEvaluator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 按智能体分区的内存 BM25 关键词索引，为没有全文检索能力的向量库提供混合检索中的关键词召回。
+ * <p>
+ * 分区在首次检索时从向量库按元数据加载，之后随 {@code AgentVectorStoreService} 的写入和删除同步维护；
+ * 未被检索过的智能体不占用内存，写入时也直接跳过。
+ */
+@Slf4j
+@Component
+public class KeywordIndex {
+
+	/**
+	 * 单个分区从向量库加载的最大文档数
+	 */
+	private static final int MAX_LOAD_DOCUMENTS = 100_000;
+
+	private static final double K1 = 1.2;
+
+	private static final double B = 0.75;
+
+	private final Map<String, AgentPartition> partitions = new ConcurrentHashMap<>();
+
+	private final Function<String, List<Document>> loader;
+
+	@Autowired
+	public KeywordIndex(VectorStore vectorStore, Optional<MetadataDocumentQuery> metadataDocumentQuery) {
+		this(loader(vectorStore instanceof MetadataDocumentQuery query ? query : metadataDocumentQuery.orElse(null)));
+	}
+
+	KeywordIndex(Function<String, List<Document>> loader) {
+		this.loader = loader;
+	}
+
+	private static Function<String, List<Document>> loader(MetadataDocumentQuery query) {
+		if (query == null) {
+			log.warn("No metadata query available for the vector store, keyword index only covers documents "
+					+ "added after startup");
+			return agentId -> List.of();
+		}
+		return agentId -> {
+			List<Document> documents = query
+				.findByFilter(new FilterExpressionBuilder().eq(Constant.AGENT_ID, agentId).build(), MAX_LOAD_DOCUMENTS);
+			if (documents.size() >= MAX_LOAD_DOCUMENTS) {
+				log.warn("Keyword index for agent {} truncated at {} documents", agentId, MAX_LOAD_DOCUMENTS);
+			}
+			return documents;
+		};
+	}
+
+	/**
+	 * 写入或覆盖文档，分区尚未加载时跳过（加载时会从向量库读到这些文档）
+	 */
+	public void add(String agentId, Collection<Document> documents) {
+		partitions.computeIfPresent(agentId, (key, partition) -> {
+			partition.addAll(documents);
+			return partition;
+		});
+	}
+
+	/**
+	 * 删除满足过滤条件的文档
+	 */
+	public void delete(String agentId, Filter.Expression filterExpression) {
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator.compile(filterExpression);
+		partitions.computeIfPresent(agentId, (key, partition) -> {
+			partition.removeMatching(filter);
+			return partition;
+		});
+	}
+
+	/**
+	 * BM25 检索，过滤条件中有 agentId 等值条件时只检索对应分区
+	 * @return 按分数降序的文档，分数写入 {@link Document#getScore()}
+	 */
+	public List<Document> search(String query, Filter.Expression filterExpression, int topK) {
+		List<String> terms = KeywordTokenizer.tokenize(query);
+		if (terms.isEmpty() || topK <= 0) {
+			return List.of();
+		}
+		Set<String> agentIds = agentIds(filterExpression);
+		if (agentIds == null) {
+			// 没有指定智能体时只检索已加载的分区
+			agentIds = partitions.keySet();
+		}
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator.compile(filterExpression);
+		List<Document> results = new ArrayList<>();
+		for (String agentId : agentIds) {
+			results.addAll(partition(agentId).search(new LinkedHashSet<>(terms), filter, topK));
+		}
+		if (agentIds.size() > 1) {
+			results.sort(Comparator.comparingDouble(Document::getScore).reversed());
+			return results.size() > topK ? results.subList(0, topK) : results;
+		}
+		return results;
+	}
+
+	private AgentPartition partition(String agentId) {
+		return partitions.computeIfAbsent(agentId, key -> {
+			AgentPartition partition = new AgentPartition();
+			long start = System.currentTimeMillis();
+			partition.addAll(loader.apply(key));
+			log.info("Keyword index for agent {} loaded with {} documents in {} ms", key, partition.size(),
+					System.currentTimeMillis() - start);
+			return partition;
+		});
+	}
+
+	private static Set<String> agentIds(Filter.Expression filterExpression) {
+		if (filterExpression == null) {
+			return null;
+		}
+		Set<String> agentIds = null;
+		for (MetadataFilterEvaluator.Conjunct conjunct : MetadataFilterEvaluator.conjuncts(filterExpression)) {
+			if (!Constant.AGENT_ID.equals(conjunct.key())) {
+				continue;
+			}
+			Set<String> values = new HashSet<>();
+			conjunct.values().forEach(value -> values.add(String.valueOf(value)));
+			if (agentIds != null) {
+				values.retainAll(agentIds);
+			}
+			agentIds = values;
+		}
+		return agentIds;
+	}
+
+	/**
+	 * 单个智能体的倒排索引
+	 */
+	private static final class AgentPartition {
+
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+		private final Map<String, IndexedDocument> documents = new HashMap<>();
+
+		/**
+		 * 词 -> 文档ID -> 词频
+		 */
+		private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+		private long totalLength;
+
+		private record IndexedDocument(Document document, Map<String, Integer> termFrequencies, int length) {
+		}
+
+		int size() {
+			lock.readLock().lock();
+			try {
+				return documents.size();
+			}
+			finally {
+				lock.readLock().unlock();
+			}
+		}
+
+		void addAll(Collection<Document> docs) {
+			lock.writeLock().lock();
+			try {
+				for (Document doc : docs) {
+					remove(doc.getId());
+					List<String> tokens = KeywordTokenizer.tokenize(doc.getText());
+					Map<String, Integer> termFrequencies = new HashMap<>();
+					tokens.forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+					Document stored = Document.builder()
+						.id(doc.getId())
+						.text(doc.getText())
+						.metadata(new HashMap<>(doc.getMetadata()))
+						.build();
+					documents.put(doc.getId(), new IndexedDocument(stored, termFrequencies, tokens.size()));
+					termFrequencies
+						.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(doc.getId(), tf));
+					totalLength += tokens.size();
+				}
+			}
+			finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		void removeMatching(MetadataFilterEvaluator.CompiledFilter filter) {
+			lock.writeLock().lock();
+			try {
+				List<String> ids = documents.values()
+					.stream()
+					.filter(indexed -> filter.test(indexed.document().getMetadata()))
+					.map(indexed -> indexed.document().getId())
+					.toList();
+				ids.forEach(this::remove);
+			}
+			finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		private void remove(String id) {
+			IndexedDocument removed = documents.remove(id);
+			if (removed == null) {
+				return;
+			}
+			removed.termFrequencies().keySet().forEach(term -> {
+				Map<String, Integer> docs = postings.get(term);
+				if (docs != null && docs.remove(id) != null && docs.isEmpty()) {
+					postings.remove(term);
+				}
+			});
+			totalLength -= removed.length();
+		}
+
+		List<Document> search(Set<String> terms, MetadataFilterEvaluator.CompiledFilter filter, int topK) {
+			lock.readLock().lock();
+			try {
+				int documentCount = documents.size();
+				if (documentCount == 0) {
+					return List.of();
+				}
+				double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+				Map<String, Double> scores = new HashMap<>();
+				for (String term : terms) {
+					Map<String, Integer> docs = postings.get(term);
+					if (docs == null) {
+						continue;
+					}
+					double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+					docs.forEach((id, tf) -> {
+						double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+						scores.merge(id, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+					});
+				}
+				return scores.entrySet()
+					.stream()
+					.filter(entry -> filter.test(documents.get(entry.getKey()).document().getMetadata()))
+					.sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+					.limit(topK)
+					.map(entry -> {
+						Document doc = documents.get(entry.getKey()).document();
+						return Document.builder()
+							.id(doc.getId())
+							.text(doc.getText())
+							.metadata(new HashMap<>(doc.getMetadata()))
+							.score(entry.getValue())
+							.build();
+					})
+					.toList();
+			}
+			finally {
+				lock.readLock().unlock();
+			}
+		}
+
+	}
+
+}
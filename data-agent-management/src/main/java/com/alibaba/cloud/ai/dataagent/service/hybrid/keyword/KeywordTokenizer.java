@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.keyword;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 关键词索引使用的分词器，不依赖外部分词库。
+ * <p>
+ * 连续的中日韩字符切分为二元组（单个字符时保留单字），字母数字与下划线组成的词转小写后整体保留，
+ * 含下划线的标识符（如 {@code user_id}）额外拆出各个部分，便于按列名片段命中。
+ */
+public final class KeywordTokenizer {
+
+	private KeywordTokenizer() {
+	}
+
+	public static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return tokens;
+		}
+		StringBuilder word = new StringBuilder();
+		StringBuilder cjk = new StringBuilder();
+		int i = 0;
+		while (i < text.length()) {
+			int codePoint = text.codePointAt(i);
+			if (isCjk(codePoint)) {
+				flushWord(word, tokens);
+				cjk.appendCodePoint(codePoint);
+			}
+			else if (Character.isLetterOrDigit(codePoint) || codePoint == '_') {
+				flushCjk(cjk, tokens);
+				word.appendCodePoint(Character.toLowerCase(codePoint));
+			}
+			else {
+				flushWord(word, tokens);
+				flushCjk(cjk, tokens);
+			}
+			i += Character.charCount(codePoint);
+		}
+		flushWord(word, tokens);
+		flushCjk(cjk, tokens);
+		return tokens;
+	}
+
+	private static void flushWord(StringBuilder word, List<String> tokens) {
+		if (word.isEmpty()) {
+			return;
+		}
+		String token = word.toString();
+		word.setLength(0);
+		String trimmed = trimUnderscores(token);
+		if (trimmed.isEmpty()) {
+			return;
+		}
+		tokens.add(trimmed);
+		if (trimmed.indexOf('_') >= 0) {
+			for (String part : trimmed.split("_+")) {
+				if (!part.isEmpty()) {
+					tokens.add(part);
+				}
+			}
+		}
+	}
+
+	private static void flushCjk(StringBuilder cjk, List<String> tokens) {
+		if (cjk.isEmpty()) {
+			return;
+		}
+		int[] codePoints = cjk.codePoints().toArray();
+		cjk.setLength(0);
+		if (codePoints.length == 1) {
+			tokens.add(new String(codePoints, 0, 1));
+			return;
+		}
+		for (int j = 0; j + 1 < codePoints.length; j++) {
+			tokens.add(new String(codePoints, j, 2));
+		}
+	}
+
+	private static String trimUnderscores(String token) {
+		int start = 0;
+		int end = token.length();
+		while (start < end && token.charAt(start) == '_') {
+			start++;
+		}
+		while (end > start && token.charAt(end - 1) == '_') {
+			end--;
+		}
+		return token.substring(start, end).toLowerCase(Locale.ROOT);
+	}
+
+	private static boolean isCjk(int codePoint) {
+		Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+		return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+				|| script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+	}
+
+}
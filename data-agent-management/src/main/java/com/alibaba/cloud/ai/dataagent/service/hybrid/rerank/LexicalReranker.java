@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.rerank;
+
+import com.alibaba.cloud.ai.dataagent.service.hybrid.keyword.KeywordTokenizer;
+import org.springframework.ai.document.Document;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于词项匹配的轻量重排序，不依赖模型。
+ * <p>
+ * 以候选集内的 IDF 为权重计算查询词在文档中的覆盖度，归一化后与召回阶段的原始分数（min-max 归一化）加权求和，
+ * 使精确命中表名、列名、业务术语的文档排到前面。
+ */
+public class LexicalReranker implements Reranker {
+
+	private final double lexicalWeight;
+
+	public LexicalReranker(double lexicalWeight) {
+		this.lexicalWeight = Math.max(0, Math.min(1, lexicalWeight));
+	}
+
+	@Override
+	public List<Document> rerank(String query, List<Document> candidates, int topK) {
+		if (candidates.isEmpty() || topK <= 0) {
+			return List.of();
+		}
+		Set<String> queryTerms = new LinkedHashSet<>(KeywordTokenizer.tokenize(query));
+		int size = candidates.size();
+
+		List<Set<String>> documentTerms = candidates.stream()
+			.map(doc -> (Set<String>) new HashSet<>(KeywordTokenizer.tokenize(doc.getText())))
+			.toList();
+		Map<String, Double> idf = new HashMap<>();
+		for (String term : queryTerms) {
+			long df = documentTerms.stream().filter(terms -> terms.contains(term)).count();
+			if (df > 0) {
+				idf.put(term, Math.log(1 + (size - df + 0.5) / (df + 0.5)));
+			}
+		}
+		double maxCoverage = idf.values().stream().mapToDouble(Double::doubleValue).sum();
+
+		double[] original = originalScores(candidates);
+		double[] scores = new double[size];
+		for (int i = 0; i < size; i++) {
+			double coverage = 0;
+			for (Map.Entry<String, Double> entry : idf.entrySet()) {
+				if (documentTerms.get(i).contains(entry.getKey())) {
+					coverage += entry.getValue();
+				}
+			}
+			double lexical = maxCoverage > 0 ? coverage / maxCoverage : 0;
+			scores[i] = lexicalWeight * lexical + (1 - lexicalWeight) * original[i];
+		}
+		return Reranker.selectTopK(candidates, scores, topK);
+	}
+
+	/**
+	 * 召回分数 min-max 归一化，缺少分数时按排名折算
+	 */
+	private static double[] originalScores(List<Document> candidates) {
+		int size = candidates.size();
+		double[] scores = new double[size];
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			Double score = candidates.get(i).getScore();
+			if (score == null || score.isNaN()) {
+				for (int j = 0; j < size; j++) {
+					scores[j] = (double) (size - j) / size;
+				}
+				return scores;
+			}
+			scores[i] = score;
+			min = Math.min(min, score);
+			max = Math.max(max, score);
+		}
+		for (int i = 0; i < size; i++) {
+			scores[i] = max > min ? (scores[i] - min) / (max - min) : 1.0;
+		}
+		return scores;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.rerank;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地 CPU 上运行的 cross-encoder 重排序，模型为 ONNX 格式，使用 spring-ai-transformers 自带的 onnxruntime 与
+ * HuggingFace tokenizer。
+ * <p>
+ * 每个（查询, 文档）对拼接后一次前向得到相关性 logit，适用于 ms-marco-MiniLM 等单输出的重排序模型；
+ * 输出两列（不相关/相关）时取第二列。
+ */
+@Slf4j
+public class OnnxCrossEncoderReranker implements Reranker, DisposableBean {
+
+	private static final String INPUT_IDS = "input_ids";
+
+	private static final String ATTENTION_MASK = "attention_mask";
+
+	private static final String TOKEN_TYPE_IDS = "token_type_ids";
+
+	private final OrtEnvironment environment;
+
+	private final OrtSession session;
+
+	private final HuggingFaceTokenizer tokenizer;
+
+	private final boolean needsTokenTypeIds;
+
+	public OnnxCrossEncoderReranker(String modelPath, String tokenizerPath, int maxSequenceLength)
+			throws OrtException, IOException {
+		this.environment = OrtEnvironment.getEnvironment();
+		this.session = environment.createSession(modelPath, new OrtSession.SessionOptions());
+		this.tokenizer = HuggingFaceTokenizer.newInstance(Path.of(tokenizerPath),
+				Map.of("truncation", "true", "padding", "false", "maxLength", String.valueOf(maxSequenceLength)));
+		this.needsTokenTypeIds = session.getInputNames().contains(TOKEN_TYPE_IDS);
+		log.info("Loaded cross-encoder reranker from {}, inputs: {}", modelPath, session.getInputNames());
+	}
+
+	@Override
+	public List<Document> rerank(String query, List<Document> candidates, int topK) {
+		if (candidates.isEmpty() || topK <= 0) {
+			return List.of();
+		}
+		int batchSize = candidates.size();
+		Encoding[] encodings = new Encoding[batchSize];
+		int maxLength = 0;
+		for (int i = 0; i < batchSize; i++) {
+			String text = candidates.get(i).getText();
+			encodings[i] = tokenizer.encode(query, text != null ? text : "");
+			maxLength = Math.max(maxLength, encodings[i].getIds().length);
+		}
+
+		// 按批内最长序列补齐
+		long[][] inputIds = new long[batchSize][maxLength];
+		long[][] attentionMask = new long[batchSize][maxLength];
+		long[][] tokenTypeIds = new long[batchSize][maxLength];
+		for (int i = 0; i < batchSize; i++) {
+			long[] ids = encodings[i].getIds();
+			System.arraycopy(ids, 0, inputIds[i], 0, ids.length);
+			System.arraycopy(encodings[i].getAttentionMask(), 0, attentionMask[i], 0, ids.length);
+			System.arraycopy(encodings[i].getTypeIds(), 0, tokenTypeIds[i], 0, ids.length);
+		}
+
+		Map<String, OnnxTensor> inputs = new HashMap<>();
+		try {
+			inputs.put(INPUT_IDS, OnnxTensor.createTensor(environment, inputIds));
+			inputs.put(ATTENTION_MASK, OnnxTensor.createTensor(environment, attentionMask));
+			if (needsTokenTypeIds) {
+				inputs.put(TOKEN_TYPE_IDS, OnnxTensor.createTensor(environment, tokenTypeIds));
+			}
+			try (OrtSession.Result result = session.run(inputs)) {
+				float[][] logits = (float[][]) result.get(0).getValue();
+				double[] scores = new double[batchSize];
+				for (int i = 0; i < batchSize; i++) {
+					scores[i] = logits[i].length > 1 ? logits[i][1] : logits[i][0];
+				}
+				return Reranker.selectTopK(candidates, scores, topK);
+			}
+		}
+		catch (OrtException e) {
+			throw new IllegalStateException("Cross-encoder rerank failed", e);
+		}
+		finally {
+			inputs.values().forEach(OnnxTensor::close);
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		session.close();
+		tokenizer.close();
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.rerank;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*召回结果重排序接口*/
+public interface Reranker {
+
+	/**
+	 * 对召回的候选文档按与查询的相关性重新排序
+	 * @return 相关性最高的 topK 个文档，分数写入 {@link Document#getScore()} 和元数据
+	 * {@link DocumentMetadataConstant#RERANK_SCORE}
+	 */
+	List<Document> rerank(String query, List<Document> candidates, int topK);
+
+	/**
+	 * 按分数降序取 topK 个文档并写入重排序分数，分数相同时保持原有顺序
+	 */
+	static List<Document> selectTopK(List<Document> candidates, double[] scores, int topK) {
+		List<Integer> order = new ArrayList<>(candidates.size());
+		for (int i = 0; i < candidates.size(); i++) {
+			order.add(i);
+		}
+		order.sort((a, b) -> Double.compare(scores[b], scores[a]));
+		List<Document> results = new ArrayList<>(Math.min(topK, candidates.size()));
+		for (int i = 0; i < order.size() && i < topK; i++) {
+			Document document = candidates.get(order.get(i));
+			Map<String, Object> metadata = new HashMap<>(document.getMetadata());
+			metadata.put(DocumentMetadataConstant.RERANK_SCORE, scores[order.get(i)]);
+			results.add(document.mutate().metadata(metadata).score(scores[order.get(i)]).build());
+		}
+		return results;
+	}
+
+}
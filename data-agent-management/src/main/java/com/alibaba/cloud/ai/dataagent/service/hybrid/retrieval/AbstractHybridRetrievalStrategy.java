@@ -17,25 +17,54 @@ package com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval;
 
 import com.alibaba.cloud.ai.dataagent.dto.search.HybridSearchRequest;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.FusionStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 public abstract class AbstractHybridRetrievalStrategy implements HybridRetrievalStrategy {
 
+	private static final String METRIC_PREFIX = "dataagent.hybrid.search.";
+
+	private static final String VECTOR_LEG = "vector";
+
+	private static final String KEYWORD_LEG = "keyword";
+
 	protected final ExecutorService executorService;
 
 	protected final VectorStore vectorStore;
 
 	protected final FusionStrategy fusionStrategy;
 
+	/**
+	 * 向量检索的截止时间（从发起检索开始计算）
+	 */
+	@Setter
+	private Duration vectorSearchTimeout = Duration.ofSeconds(10);
+
+	/**
+	 * 关键词检索的截止时间（从发起检索开始计算）
+	 */
+	@Setter
+	private Duration keywordSearchTimeout = Duration.ofSeconds(5);
+
+	@Setter
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
 	protected AbstractHybridRetrievalStrategy(ExecutorService executorService, VectorStore vectorStore,
 			FusionStrategy fusionStrategy) {
 		this.executorService = executorService;
@@ -49,47 +78,91 @@ public abstract class AbstractHybridRetrievalStrategy implements HybridRetrieval
 	// 模板方法，先进行向量搜索后进行关键词搜索，最后结果融合。
 	// 如果你的向量库天然支持混合检索，如Milvus,Es..你可以在子类直接重写该方法不用它这里的流程走
 	// 目前ES实现仍然按照模板流程走，因为ES的付费企业版才能使用它服务端的rrf融合策略
+	// 两路检索各有截止时间，超时的一路会被取消，超时或失败的一路按无结果参与融合；两路都失败时才抛出异常
 	@Override
 	public List<Document> retrieve(HybridSearchRequest request) {
 
 		SearchRequest vectorSearchRequest = request.toVectorSearchRequest();
+		long start = System.nanoTime();
 
 		// 异步执行向量搜索
-		CompletableFuture<List<Document>> vectorSearchFuture = CompletableFuture.supplyAsync(() -> {
+		Future<List<Document>> vectorSearchFuture = executorService.submit(() -> timed(VECTOR_LEG, () -> {
 			List<Document> vectorResults = vectorStore.similaritySearch(vectorSearchRequest);
 			log.debug("Vector Search completed. Found {} documents for SearchRequest: {}", vectorResults.size(),
 					vectorSearchRequest);
 			return vectorResults;
-		}, executorService);
+		}));
 
 		// 异步执行关键词搜索
-		CompletableFuture<List<Document>> keywordSearchFuture = CompletableFuture.supplyAsync(() -> {
+		Future<List<Document>> keywordSearchFuture = executorService.submit(() -> timed(KEYWORD_LEG, () -> {
 			List<Document> results = getDocumentsByKeywords(request);
 			log.debug("Keyword Search completed. Found {} documents, with query: {}", results.size(),
 					request.getQuery());
 			return results;
-		}, executorService);
+		}));
 
+		List<Document> vectorResults;
+		List<Document> keywordResults;
 		try {
-			List<Document> vectorResults = vectorSearchFuture.get();
-
+			vectorResults = await(VECTOR_LEG, vectorSearchFuture, start + vectorSearchTimeout.toNanos());
 			// 等待关键词搜索完成
-			List<Document> keywordResults = keywordSearchFuture.get();
-
-			// 融合结果
-			List<Document> finalDocuments = fusionStrategy.fuseResults(request.getTopK(), vectorResults,
-					keywordResults);
-			log.debug("Fusion completed. Found {} documents", finalDocuments.size());
-			return finalDocuments;
+			keywordResults = await(KEYWORD_LEG, keywordSearchFuture, start + keywordSearchTimeout.toNanos());
 		}
 		catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
+			vectorSearchFuture.cancel(true);
+			keywordSearchFuture.cancel(true);
 			throw new RuntimeException("Search operation interrupted", e);
 		}
+
+		if (vectorResults == null && keywordResults == null) {
+			throw new RuntimeException("Both vector and keyword search failed or timed out");
+		}
+
+		// 融合结果
+		List<Document> finalDocuments = fusionStrategy.fuseResults(request.getTopK(),
+				vectorResults != null ? vectorResults : List.of(), keywordResults != null ? keywordResults : List.of());
+		log.debug("Fusion completed. Found {} documents", finalDocuments.size());
+		return finalDocuments;
+	}
+
+	/**
+	 * 在截止时间前等待一路检索结果
+	 * @return 检索结果；超时（并取消该路）或失败时返回 null
+	 */
+	private List<Document> await(String leg, Future<List<Document>> future, long deadline)
+			throws InterruptedException {
+		try {
+			long remaining = Math.max(0, deadline - System.nanoTime());
+			List<Document> documents = future.get(remaining, TimeUnit.NANOSECONDS);
+			return documents != null ? documents : List.of();
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			meterRegistry.counter(METRIC_PREFIX + "timeouts", "leg", leg).increment();
+			log.warn("Hybrid {} search timed out, continuing with the other leg", leg);
+		}
 		catch (ExecutionException e) {
-			throw new RuntimeException("Error during parallel search execution", e);
+			log.error("Hybrid {} search failed, continuing with the other leg", leg, e.getCause());
 		}
+		return null;
+	}
 
+	private List<Document> timed(String leg, Callable<List<Document>> search) throws Exception {
+		long start = System.nanoTime();
+		String outcome = "error";
+		try {
+			List<Document> documents = search.call();
+			outcome = "success";
+			return documents;
+		}
+		finally {
+			Timer.builder(METRIC_PREFIX + "latency")
+				.tag("leg", leg)
+				.tag("outcome", outcome)
+				.register(meterRegistry)
+				.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
 	}
 
 	public abstract List<Document> getDocumentsByKeywords(HybridSearchRequest request);
@@ -17,30 +17,39 @@ package com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval.impl;
 
 import com.alibaba.cloud.ai.dataagent.dto.search.HybridSearchRequest;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.FusionStrategy;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.keyword.KeywordIndex;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval.AbstractHybridRetrievalStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.util.StringUtils;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 /**
- * 适合测试以及没有继承实现AbstractHybridRetrievalStrategy的向量库（如Pg,milvus）使用，无关键词搜索能力
+ * 适合测试以及没有继承实现AbstractHybridRetrievalStrategy的向量库（如Pg,milvus）使用，关键词搜索使用内存 BM25 索引
  */
 @Slf4j
 public class DefaultHybridRetrievalStrategy extends AbstractHybridRetrievalStrategy {
 
+	private final KeywordIndex keywordIndex;
+
 	public DefaultHybridRetrievalStrategy(ExecutorService executorService, VectorStore vectorStore,
-			FusionStrategy fusionStrategy) {
+			FusionStrategy fusionStrategy, KeywordIndex keywordIndex) {
 		super(executorService, vectorStore, fusionStrategy);
+		this.keywordIndex = keywordIndex;
 	}
 
 	@Override
 	public List<Document> getDocumentsByKeywords(HybridSearchRequest agentSearchRequest) {
-		// keyword默认不操作
-		return Collections.emptyList();
+		if (keywordIndex == null || !StringUtils.hasText(agentSearchRequest.getQuery())) {
+			return Collections.emptyList();
+		}
+		// 与ES实现保持一致，多召回一些给融合策略
+		return keywordIndex.search(agentSearchRequest.getQuery(), agentSearchRequest.getFilterExpression(),
+				agentSearchRequest.getTopK() * 2);
 	}
 
 }
@@ -20,6 +20,7 @@ import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.enums.KnowledgeType;
 import com.alibaba.cloud.ai.dataagent.util.DocumentConverterUtil;
 import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
+import com.alibaba.cloud.ai.dataagent.service.embedding.EmbeddingWriter;
 import com.alibaba.cloud.ai.dataagent.service.file.FileStorageService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import lombok.extern.slf4j.Slf4j;
@@ -39,17 +40,22 @@ import java.util.Map;
 @Component
 public class AgentKnowledgeResourceManager {
 
+	private static final String EMBEDDING_TASK = "agent-knowledge";
+
 	private final TextSplitterFactory textSplitterFactory;
 
 	private final FileStorageService fileStorageService;
 
 	private final AgentVectorStoreService agentVectorStoreService;
 
+	private final EmbeddingWriter embeddingWriter;
+
 	public AgentKnowledgeResourceManager(TextSplitterFactory textSplitterFactory, FileStorageService fileStorageService,
-			AgentVectorStoreService agentVectorStoreService) {
+			AgentVectorStoreService agentVectorStoreService, EmbeddingWriter embeddingWriter) {
 		this.textSplitterFactory = textSplitterFactory;
 		this.fileStorageService = fileStorageService;
 		this.agentVectorStoreService = agentVectorStoreService;
+		this.embeddingWriter = embeddingWriter;
 	}
 
 	public void doEmbedingToVectorStore(AgentKnowledge agentKnowledge) throws Exception {
@@ -69,7 +75,7 @@ public class AgentKnowledgeResourceManager {
 
 	private void processQaKnowledge(AgentKnowledge knowledge) {
 		Document document = DocumentConverterUtil.convertQaFaqKnowledgeToDocument(knowledge);
-		agentVectorStoreService.addDocuments(knowledge.getAgentId().toString(), List.of(document));
+		embeddingWriter.write(knowledge.getAgentId().toString(), List.of(document), EMBEDDING_TASK);
 		log.info("Successfully vectorized AgentKnowledge: id={}, type={}", knowledge.getId(), knowledge.getType());
 	}
 
@@ -88,7 +94,7 @@ public class AgentKnowledgeResourceManager {
 			.convertAgentKnowledgeDocumentsWithMetadata(documents, knowledge);
 
 		// 添加到向量存储
-		agentVectorStoreService.addDocuments(knowledge.getAgentId().toString(), documentsWithMetadata);
+		embeddingWriter.write(knowledge.getAgentId().toString(), documentsWithMetadata, EMBEDDING_TASK);
 		log.info("Successfully vectorized DOCUMENT knowledge: id={}, filePath={}, documentCount={}, splitterType={}",
 				knowledge.getId(), knowledge.getFilePath(), documentsWithMetadata.size(), knowledge.getSplitterType());
 
@@ -23,6 +23,7 @@ import com.alibaba.cloud.ai.dataagent.dto.knowledge.agentknowledge.AgentKnowledg
 import com.alibaba.cloud.ai.dataagent.dto.knowledge.agentknowledge.CreateKnowledgeDTO;
 import com.alibaba.cloud.ai.dataagent.dto.knowledge.agentknowledge.UpdateKnowledgeDTO;
 import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
+import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeChangedEvent;
 import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeDeletionEvent;
 import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeEmbeddingEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
@@ -85,6 +86,7 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 			throw new RuntimeException("Failed to create knowledge in database.");
 		}
 
+		eventPublisher.publishEvent(new AgentKnowledgeChangedEvent(this, knowledge.getAgentId(), knowledge.getId()));
 		eventPublisher
 			.publishEvent(new AgentKnowledgeEmbeddingEvent(this, knowledge.getId(), knowledge.getSplitterType()));
 		log.info("Knowledge created and event published. Id: {}, splitterType: {}", knowledge.getId(),
@@ -134,6 +136,7 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 			log.error("Failed to update knowledge with id: {}", existingKnowledge.getId());
 			throw new RuntimeException("Failed to update knowledge in database.");
 		}
+		eventPublisher.publishEvent(new AgentKnowledgeChangedEvent(this, existingKnowledge.getAgentId(), id));
 		return agentKnowledgeConverter.toVo(existingKnowledge);
 	}
 
@@ -195,6 +198,7 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 			log.error("Failed to update knowledge with id: {}", knowledge.getId());
 			throw new RuntimeException("Failed to update knowledge in database.");
 		}
+		eventPublisher.publishEvent(new AgentKnowledgeChangedEvent(this, knowledge.getAgentId(), id));
 		return agentKnowledgeConverter.toVo(knowledge);
 	}
 
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.knowledge;
+
+import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
+import com.alibaba.cloud.ai.dataagent.enums.KnowledgeType;
+import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeChangedEvent;
+import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeDeletionEvent;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 召回证据展示用的智能体知识来源缓存（标题、FAQ/QA 答案、源文件名），按智能体分组。
+ * <p>
+ * 未命中的知识通过一次批量查询补齐；知识被修改、删除或切换召回状态时经
+ * {@link AgentKnowledgeChangedEvent}/{@link AgentKnowledgeDeletionEvent} 失效。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgentKnowledgeSourceCache {
+
+	/**
+	 * 单个智能体最多缓存的知识条数，超出后清空该智能体的缓存重新加载
+	 */
+	private static final int MAX_ENTRIES_PER_AGENT = 1000;
+
+	private final AgentKnowledgeMapper agentKnowledgeMapper;
+
+	private final Map<Integer, Map<Integer, KnowledgeSource>> agentCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 批量获取知识来源信息，已删除或不存在的知识不在结果中
+	 * @param agentId 智能体ID
+	 * @param knowledgeIds 知识ID
+	 * @return 知识ID到来源信息的映射
+	 */
+	public Map<Integer, KnowledgeSource> getSources(Integer agentId, Collection<Integer> knowledgeIds) {
+		Map<Integer, KnowledgeSource> result = new HashMap<>();
+		if (knowledgeIds.isEmpty()) {
+			return result;
+		}
+		Map<Integer, KnowledgeSource> cache = agentCache.computeIfAbsent(agentId, k -> new ConcurrentHashMap<>());
+		Set<Integer> missing = new LinkedHashSet<>();
+		for (Integer id : knowledgeIds) {
+			KnowledgeSource source = cache.get(id);
+			if (source != null) {
+				result.put(id, source);
+			}
+			else {
+				missing.add(id);
+			}
+		}
+		if (missing.isEmpty()) {
+			return result;
+		}
+
+		List<AgentKnowledge> knowledgeList = agentKnowledgeMapper.selectByIds(missing);
+		if (cache.size() + knowledgeList.size() > MAX_ENTRIES_PER_AGENT) {
+			cache.clear();
+		}
+		for (AgentKnowledge knowledge : knowledgeList) {
+			KnowledgeSource source = KnowledgeSource.of(knowledge);
+			result.put(knowledge.getId(), source);
+			// 只缓存属于该智能体的知识，避免错误的元数据污染其他智能体的缓存
+			if (agentId.equals(knowledge.getAgentId())) {
+				cache.put(knowledge.getId(), source);
+			}
+		}
+		log.debug("Loaded {} knowledge sources for agent {}, {} from cache", knowledgeList.size(), agentId,
+				result.size() - knowledgeList.size());
+		return result;
+	}
+
+	public void evict(Integer agentId, Integer knowledgeId) {
+		if (agentId != null) {
+			Map<Integer, KnowledgeSource> cache = agentCache.get(agentId);
+			if (cache != null) {
+				cache.remove(knowledgeId);
+			}
+			return;
+		}
+		agentCache.values().forEach(cache -> cache.remove(knowledgeId));
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void handleKnowledgeChanged(AgentKnowledgeChangedEvent event) {
+		evict(event.getAgentId(), event.getKnowledgeId());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void handleKnowledgeDeleted(AgentKnowledgeDeletionEvent event) {
+		evict(null, event.getKnowledgeId());
+	}
+
+	/**
+	 * 证据展示所需的知识字段，DOCUMENT 类型不保留正文
+	 */
+	public record KnowledgeSource(String title, String content, String sourceFilename) {
+
+		static KnowledgeSource of(AgentKnowledge knowledge) {
+			boolean faqOrQa = knowledge.getType() == KnowledgeType.FAQ || knowledge.getType() == KnowledgeType.QA;
+			return new KnowledgeSource(knowledge.getTitle() != null ? knowledge.getTitle() : "",
+					faqOrQa ? knowledge.getContent() : null,
+					knowledge.getSourceFilename() != null ? knowledge.getSourceFilename() : "");
+		}
+
+	}
+
+}
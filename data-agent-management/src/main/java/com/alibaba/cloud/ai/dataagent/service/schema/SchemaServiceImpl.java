@@ -16,11 +16,14 @@
 package com.alibaba.cloud.ai.dataagent.service.schema;
 
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ForeignKeyInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
+import com.alibaba.cloud.ai.dataagent.constant.Constant;
 import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.enums.BizDataSourceTypeEnum;
 import com.alibaba.cloud.ai.dataagent.util.JsonUtil;
+import com.alibaba.cloud.ai.dataagent.util.SchemaFingerprintUtil;
 import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
@@ -29,6 +32,7 @@ import com.alibaba.cloud.ai.dataagent.dto.datasource.SchemaInitRequest;
 import com.alibaba.cloud.ai.dataagent.dto.schema.ColumnDTO;
 import com.alibaba.cloud.ai.dataagent.dto.schema.SchemaDTO;
 import com.alibaba.cloud.ai.dataagent.dto.schema.TableDTO;
+import com.alibaba.cloud.ai.dataagent.service.embedding.EmbeddingWriter;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.DynamicFilterService;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -37,15 +41,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.ai.document.Document;
-import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -61,13 +62,11 @@ import static com.alibaba.cloud.ai.dataagent.util.DocumentConverterUtil.convertT
 @AllArgsConstructor
 public class SchemaServiceImpl implements SchemaService {
 
-	private final ExecutorService dbOperationExecutor;
-
 	private final AccessorFactory accessorFactory;
 
 	private final TableMetadataService tableMetadataService;
 
-	private final BatchingStrategy batchingStrategy;
+	private final EmbeddingWriter embeddingWriter;
 
 	private final DynamicFilterService dynamicFilterService;
 
@@ -126,11 +125,6 @@ public class SchemaServiceImpl implements SchemaService {
 			// 根据当前DbConfig获取Accessor
 			Accessor dbAccessor = accessorFactory.getAccessorByDbConfig(config);
 
-			// 清理旧数据
-			log.info("Clearing existing schema data for agent: {}", agentId);
-			clearSchemaDataForAgent(agentId);
-			log.debug("Successfully cleared existing schema data for agent: {}", agentId);
-
 			// 处理外键
 			log.debug("Fetching foreign keys for agent: {}", agentId);
 			List<ForeignKeyInfoBO> foreignKeys = dbAccessor.showForeignKeys(config, dqp);
@@ -144,22 +138,55 @@ public class SchemaServiceImpl implements SchemaService {
 			List<TableInfoBO> tables = dbAccessor.fetchTables(config, dqp);
 			log.info("Found {} tables for agent: {}", tables.size(), agentId);
 
-			if (tables.size() > 5) {
-				// 对于大量表，使用并行处理
-				log.info("Processing {} tables in parallel mode for agent: {}", tables.size(), agentId);
-				processTablesInParallel(tables, config, foreignKeyMap);
+			// 批量获取列信息并计算每个表的结构指纹
+			Map<String, List<ColumnInfoBO>> tableColumnsMap = tableMetadataService.fetchTableColumns(tables, config);
+			Map<String, String> fingerprints = new HashMap<>();
+			for (TableInfoBO table : tables) {
+				fingerprints.put(table.getName(), SchemaFingerprintUtil.fingerprint(config, table,
+						tableColumnsMap.get(table.getName()), foreignKeyMap.get(table.getName())));
+			}
+
+			// 与已存储的指纹对比，只重建新增/变化的表，删除不再选择的表
+			List<TableInfoBO> changedTables = tables;
+			Map<String, String> storedFingerprints = loadStoredTableFingerprints(agentId, tables.size());
+			if (storedFingerprints == null) {
+				log.info("Clearing existing schema data for agent: {}", agentId);
+				clearSchemaDataForAgent(agentId);
+				log.debug("Successfully cleared existing schema data for agent: {}", agentId);
 			}
 			else {
-				// 对于少量表，使用批量处理
-				log.info("Processing {} tables in batch mode for agent: {}", tables.size(), agentId);
-				tableMetadataService.batchEnrichTableMetadata(tables, config, foreignKeyMap);
+				changedTables = tables.stream()
+					.filter(t -> !fingerprints.get(t.getName()).equals(storedFingerprints.get(t.getName())))
+					.toList();
+				Set<String> staleTableNames = new HashSet<>(storedFingerprints.keySet());
+				staleTableNames.removeAll(fingerprints.keySet());
+				int removedCount = staleTableNames.size();
+				// 新增的表也一并清理，避免上次中断残留的列文档重复
+				if (!storedFingerprints.isEmpty()) {
+					changedTables.stream().map(TableInfoBO::getName).forEach(staleTableNames::add);
+				}
+				log.info("Incremental schema init for agent: {}, changed or added: {}, removed: {}, unchanged: {}",
+						agentId, changedTables.size(), removedCount, tables.size() - changedTables.size());
+				deleteSchemaDocumentsForTables(agentId, new ArrayList<>(staleTableNames));
 			}
 
-			log.info("Successfully processed all tables for agent: {}", agentId);
+			if (changedTables.isEmpty()) {
+				log.info("Schema unchanged for agent: {}, skip embedding", agentId);
+				return true;
+			}
+
+			// 列样本数据只查询变化的表
+			tableMetadataService.enrichTableMetadata(changedTables, tableColumnsMap, config, foreignKeyMap);
+			log.info("Successfully processed {} tables for agent: {}", changedTables.size(), agentId);
 
 			// 转换为文档
-			List<Document> columnDocs = convertColumnsToDocuments(agentId, tables);
-			List<Document> tableDocs = convertTablesToDocuments(agentId, tables);
+			List<Document> columnDocs = convertColumnsToDocuments(agentId, changedTables);
+			List<Document> tableDocs = convertTablesToDocuments(agentId, changedTables).stream().map(doc -> {
+				Map<String, Object> metadata = new HashMap<>(doc.getMetadata());
+				metadata.put(DocumentMetadataConstant.SCHEMA_FINGERPRINT,
+						fingerprints.get((String) metadata.get(DocumentMetadataConstant.NAME)));
+				return new Document(doc.getId(), doc.getText(), metadata);
+			}).toList();
 
 			// 存储文档
 			log.info("Storing {} columns and {} tables for agent: {}", columnDocs.size(), tableDocs.size(), agentId);
@@ -173,76 +200,10 @@ public class SchemaServiceImpl implements SchemaService {
 		}
 	}
 
-	/**
-	 * 并行处理表元数据，提高大量表时的处理性能
-	 * @param tables 表列表
-	 * @param config 数据库配置
-	 * @param foreignKeyMap 外键映射
-	 * @throws Exception 处理失败时抛出异常
-	 */
-	private void processTablesInParallel(List<TableInfoBO> tables, DbConfigBO config,
-			Map<String, List<String>> foreignKeyMap) throws Exception {
-
-		// 根据CPU核心数确定并行度，但不超过表的数量
-		int parallelism = Math.min(Runtime.getRuntime().availableProcessors() * 2, tables.size());
-		int batchSize = (int) Math.ceil((double) tables.size() / parallelism);
-
-		log.info("Processing {} tables in parallel with parallelism: {}, batch size: {}", tables.size(), parallelism,
-				batchSize);
-		// 将表分成多个批次
-		List<List<TableInfoBO>> tableBatches = partitionList(tables, batchSize);
-
-		// 使用CompletableFuture进行更精细的并行控制，使用专用线程池
-		List<CompletableFuture<Void>> futures = tableBatches.stream().map(batch -> CompletableFuture.runAsync(() -> {
-			try {
-				log.debug("Processing batch of {} tables", batch.size());
-
-				// 批量处理当前批次的表
-				tableMetadataService.batchEnrichTableMetadata(batch, config, foreignKeyMap);
-				log.debug("Successfully processed batch of {} tables", batch.size());
-			}
-			catch (Exception e) {
-				log.error("Failed to process batch of tables", e);
-				throw new CompletionException(e);
-			}
-		}, dbOperationExecutor)).toList();
-
-		// 等待所有任务完成，并处理异常
-		try {
-			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-			log.info("All parallel batches completed successfully");
-		}
-		catch (CompletionException e) {
-			log.error("Parallel processing failed", e);
-			throw new Exception(e.getCause());
-		}
-	}
-
-	/**
-	 * 将列表分成指定大小的子列表
-	 * @param list 原始列表
-	 * @param batchSize 批次大小
-	 * @param <T> 列表元素类型
-	 * @return 分批后的列表
-	 */
-	private <T> List<List<T>> partitionList(List<T> list, int batchSize) {
-		List<List<T>> partitions = new ArrayList<>();
-		for (int i = 0; i < list.size(); i += batchSize) {
-			partitions.add(list.subList(i, Math.min(i + batchSize, list.size())));
-		}
-		return partitions;
-	}
-
 	protected void storeSchemaDocuments(String agentId, List<Document> columns, List<Document> tables) {
-		// 串行去批写入，并行流的时候有API限速了
-		List<List<Document>> columnBatches = batchingStrategy.batch(columns);
-		for (List<Document> batch : columnBatches) {
-			agentVectorStoreService.addDocuments(agentId, batch);
-		}
-		List<List<Document>> tableBatches = batchingStrategy.batch(tables);
-		for (List<Document> batch : tableBatches) {
-			agentVectorStoreService.addDocuments(agentId, batch);
-		}
+		// 限流并发写入；表文档带有指纹，放在列文档之后写入，中断时下次会重建该表
+		embeddingWriter.write(agentId, columns, "schema-columns");
+		embeddingWriter.write(agentId, tables, "schema-tables");
 
 	}
 
@@ -258,6 +219,52 @@ public class SchemaServiceImpl implements SchemaService {
 		return map;
 	}
 
+	/**
+	 * 读取已存储的表文档指纹
+	 * @return 表名到指纹的映射；存在未记录指纹的旧数据或无法完整读取时返回 null，表示需要全量重建
+	 */
+	protected Map<String, String> loadStoredTableFingerprints(String agentId, int liveTableCount) {
+		if (!agentVectorStoreService.hasDocuments(agentId)) {
+			return new HashMap<>();
+		}
+		FilterExpressionBuilder b = new FilterExpressionBuilder();
+		Filter.Expression filter = DynamicFilterService.combineWithAnd(List.of(b.eq(Constant.AGENT_ID, agentId).build(),
+				b.eq(DocumentMetadataConstant.VECTOR_TYPE, DocumentMetadataConstant.TABLE).build()));
+		int topK = Math.max(dataAgentProperties.getVectorStore().getBatchDelTopkLimit(), liveTableCount * 2 + 10);
+		List<Document> storedTableDocs = agentVectorStoreService.getDocumentsOnlyByFilter(filter, topK);
+		if (storedTableDocs.size() >= topK) {
+			log.info("Too many stored table documents for agent: {}, fall back to full rebuild", agentId);
+			return null;
+		}
+
+		Map<String, String> storedFingerprints = new HashMap<>();
+		for (Document doc : storedTableDocs) {
+			Object name = doc.getMetadata().get(DocumentMetadataConstant.NAME);
+			Object fingerprint = doc.getMetadata().get(DocumentMetadataConstant.SCHEMA_FINGERPRINT);
+			if (name == null || fingerprint == null || storedFingerprints.containsKey(name.toString())) {
+				// 旧版本写入的数据没有指纹，或存在重复表文档，全量重建
+				return null;
+			}
+			storedFingerprints.put(name.toString(), fingerprint.toString());
+		}
+		return storedFingerprints;
+	}
+
+	/**
+	 * 删除指定表的表文档及其列文档
+	 */
+	protected void deleteSchemaDocumentsForTables(String agentId, List<String> tableNames) {
+		if (tableNames.isEmpty()) {
+			return;
+		}
+		Filter.Expression tableFilter = DynamicFilterService.buildFilterExpressionForSearchTables(agentId, tableNames);
+		Filter.Expression columnFilter = dynamicFilterService.buildFilterExpressionForSearchColumns(agentId,
+				tableNames);
+		agentVectorStoreService.deleteDocumentsByFilter(agentId, columnFilter);
+		agentVectorStoreService.deleteDocumentsByFilter(agentId, tableFilter);
+		log.info("Deleted schema documents of {} tables for agent: {}", tableNames.size(), agentId);
+	}
+
 	protected void clearSchemaDataForAgent(String agentId) throws Exception {
 		if (!agentVectorStoreService.hasDocuments(agentId)) {
 			return;
@@ -23,6 +23,7 @@ import com.alibaba.cloud.ai.dataagent.util.SqlUtil;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
@@ -30,6 +31,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +51,15 @@ public class TableMetadataService {
 
 	private final ObjectMapper objectMapper;
 
+	private final ExecutorService dbOperationExecutor;
+
+	private final DataAgentProperties dataAgentProperties;
+
+	/**
+	 * 每个数据源的样本查询并发许可，跨多次初始化共享，避免同一数据源被并发查询打满连接池
+	 */
+	private final Map<String, Semaphore> sampleQueryPermits = new ConcurrentHashMap<>();
+
 	/**
 	 * 批量处理多个表的元数据，提高性能
 	 * @param tables 表列表
@@ -58,12 +73,30 @@ public class TableMetadataService {
 		// 1. 批量获取所有表的列信息
 		Map<String, List<ColumnInfoBO>> tableColumnsMap = fetchTableColumns(tables, dbConfig);
 
-		// 2. 批量获取所有表的列样本数据
+		// 2. 获取样本数据并处理每个表的元数据
+		enrichTableMetadata(tables, tableColumnsMap, dbConfig, foreignKeyMap);
+	}
+
+	/**
+	 * 基于已获取的列信息补充样本数据、主键和外键，只处理传入的表
+	 * @param tables 需要处理的表列表
+	 * @param tableColumnsMap 表名到列信息的映射，可包含其它表
+	 * @param dbConfig 数据库配置
+	 * @param foreignKeyMap 外键映射
+	 */
+	public void enrichTableMetadata(List<TableInfoBO> tables, Map<String, List<ColumnInfoBO>> tableColumnsMap,
+			DbConfigBO dbConfig, Map<String, List<String>> foreignKeyMap) {
+		Map<String, List<ColumnInfoBO>> selectedColumnsMap = new HashMap<>();
+		for (TableInfoBO table : tables) {
+			selectedColumnsMap.put(table.getName(), tableColumnsMap.getOrDefault(table.getName(), new ArrayList<>()));
+		}
+
+		// 批量获取所有表的列样本数据
 		Map<String, Map<String, List<String>>> allTablesSampleData = batchGetSampleDataForTables(dbConfig,
-				tableColumnsMap);
+				selectedColumnsMap);
 
-		// 3. 处理每个表的元数据
-		enrichTablesWithMetadata(tables, tableColumnsMap, allTablesSampleData, foreignKeyMap);
+		// 处理每个表的元数据
+		enrichTablesWithMetadata(tables, selectedColumnsMap, allTablesSampleData, foreignKeyMap);
 	}
 
 	/**
@@ -73,19 +106,21 @@ public class TableMetadataService {
 	 * @return 表名到列信息的映射
 	 * @throws Exception 获取列信息失败时抛出异常
 	 */
-	private Map<String, List<ColumnInfoBO>> fetchTableColumns(List<TableInfoBO> tables, DbConfigBO dbConfig)
+	public Map<String, List<ColumnInfoBO>> fetchTableColumns(List<TableInfoBO> tables, DbConfigBO dbConfig)
 			throws Exception {
-		Map<String, List<ColumnInfoBO>> tableColumnsMap = new HashMap<>();
 		Accessor accessor = accessorFactory.getAccessorByDbConfig(dbConfig);
 
-		for (TableInfoBO table : tables) {
-			DbQueryParameter tableDqp = DbQueryParameter.from(dbConfig)
-				.setSchema(dbConfig.getSchema())
-				.setTable(table.getName());
-			List<ColumnInfoBO> columnInfoBOS = accessor.showColumns(dbConfig, tableDqp);
-			tableColumnsMap.put(table.getName(), columnInfoBOS);
-		}
+		// 一次（按方言分片）元数据查询获取所有表的列，而不是每个表一个连接一次查询
+		List<String> tableNames = tables.stream().map(TableInfoBO::getName).toList();
+		DbQueryParameter tableDqp = DbQueryParameter.from(dbConfig)
+			.setSchema(dbConfig.getSchema())
+			.setTables(tableNames);
+		Map<String, List<ColumnInfoBO>> fetched = accessor.showColumnsBatch(dbConfig, tableDqp);
 
+		Map<String, List<ColumnInfoBO>> tableColumnsMap = new HashMap<>();
+		for (String tableName : tableNames) {
+			tableColumnsMap.put(tableName, fetched.getOrDefault(tableName, new ArrayList<>()));
+		}
 		return tableColumnsMap;
 	}
 
@@ -200,26 +235,60 @@ public class TableMetadataService {
 		// "email": ["zhang@example.com", "li@example.com", "wang@example.com"]
 		// }
 		// }
-		Map<String, Map<String, List<String>>> result = new HashMap<>();
+		Map<String, Map<String, List<String>>> result = new ConcurrentHashMap<>();
 		Accessor accessor = accessorFactory.getAccessorByDbConfig(dbConfig);
 
-		// 为每个表的数据列生成样本数据
+		// 为每个表的数据列生成样本数据，由有限个 worker 并发消费待查询的表
+		Queue<Map.Entry<String, List<ColumnInfoBO>>> pending = new ConcurrentLinkedQueue<>();
 		for (Map.Entry<String, List<ColumnInfoBO>> entry : tableColumnsMap.entrySet()) {
-			String tableName = entry.getKey();
-			List<ColumnInfoBO> columns = entry.getValue();
+			if (entry.getValue().isEmpty()) {
+				result.put(entry.getKey(), new HashMap<>());
+			}
+			else {
+				pending.add(entry);
+			}
+		}
+		if (pending.isEmpty()) {
+			return result;
+		}
 
-			if (columns.isEmpty()) {
-				result.put(tableName, new HashMap<>());
-				continue;
+		int concurrency = Math.max(1, dataAgentProperties.getSchemaSampleConcurrency());
+		Semaphore permits = sampleQueryPermits.computeIfAbsent(datasourceKey(dbConfig),
+				k -> new Semaphore(concurrency));
+		Runnable worker = () -> {
+			Map.Entry<String, List<ColumnInfoBO>> entry;
+			while ((entry = pending.poll()) != null) {
+				String tableName = entry.getKey();
+				try {
+					permits.acquire();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				try {
+					result.put(tableName, fetchTableSampleData(dbConfig, accessor, tableName, entry.getValue()));
+				}
+				finally {
+					permits.release();
+				}
 			}
+		};
 
-			Map<String, List<String>> tableSampleData = fetchTableSampleData(dbConfig, accessor, tableName, columns);
-			result.put(tableName, tableSampleData);
+		int workers = Math.min(concurrency, pending.size());
+		CompletableFuture<?>[] futures = new CompletableFuture[workers];
+		for (int i = 0; i < workers; i++) {
+			futures[i] = CompletableFuture.runAsync(worker, dbOperationExecutor);
 		}
+		CompletableFuture.allOf(futures).join();
 
 		return result;
 	}
 
+	private String datasourceKey(DbConfigBO dbConfig) {
+		return dbConfig.getUrl() + "|" + dbConfig.getUsername();
+	}
+
 	/**
 	 * 获取单个表的样本数据
 	 * @param dbConfig 数据库配置
@@ -241,7 +310,7 @@ public class TableMetadataService {
 			batchParam.setSql(sql);
 
 			ResultSetBO resultSet = accessor.executeSqlAndReturnObject(dbConfig, batchParam);
-			log.info("Embedding for table: {}, result size: {}", tableName, resultSet.getData().size());
+			log.info("Embedding for table: {}, result size: {}", tableName, resultSet.getRowCount());
 
 			return processResultSet(resultSet, columns);
 		}
@@ -260,13 +329,17 @@ public class TableMetadataService {
 	private Map<String, List<String>> processResultSet(ResultSetBO resultSet, List<ColumnInfoBO> columns) {
 		Map<String, List<String>> tableSampleData = new HashMap<>();
 
-		if (resultSet == null || resultSet.getData() == null) {
+		if (resultSet == null || resultSet.getRows() == null) {
 			return tableSampleData;
 		}
 
-		// 提取原始样本数据
-		for (Map<String, String> row : resultSet.getData()) {
-			extractSampleDataFromRow(row, columns, tableSampleData);
+		// 提取原始样本数据，按列下标直接读取行数组
+		for (ColumnInfoBO column : columns) {
+			int columnIndex = resultSet.indexOfColumn(column.getName());
+			if (columnIndex < 0) {
+				continue;
+			}
+			extractSampleDataFromColumn(resultSet.getRows(), columnIndex, column.getName(), tableSampleData);
 		}
 
 		// 过滤和限制样本数据
@@ -274,18 +347,18 @@ public class TableMetadataService {
 	}
 
 	/**
-	 * 从单行数据中提取样本数据
-	 * @param row 数据行
-	 * @param columns 列信息列表
+	 * 从结果集的指定列中提取样本数据
+	 * @param rows 行数据
+	 * @param columnIndex 列下标
+	 * @param columnName 列名
 	 * @param tableSampleData 存储样本数据的映射
 	 */
-	private void extractSampleDataFromRow(Map<String, String> row, List<ColumnInfoBO> columns,
+	private void extractSampleDataFromColumn(List<String[]> rows, int columnIndex, String columnName,
 			Map<String, List<String>> tableSampleData) {
-		for (ColumnInfoBO column : columns) {
-			String columnName = column.getName();
-			Object value = row.get(columnName);
+		for (String[] row : rows) {
+			String value = columnIndex < row.length ? row[columnIndex] : null;
 			if (value != null) {
-				tableSampleData.computeIfAbsent(columnName, k -> new ArrayList<>()).add(String.valueOf(value));
+				tableSampleData.computeIfAbsent(columnName, k -> new ArrayList<>()).add(value);
 			}
 		}
 	}
@@ -33,6 +33,11 @@ public interface AgentVectorStoreService {
 
 	Boolean deleteDocumentsByMetedata(String agentId, Map<String, Object> metadata);
 
+	/**
+	 * 按过滤表达式删除文档，表达式必须已包含 agentId 条件
+	 */
+	Boolean deleteDocumentsByFilter(String agentId, Filter.Expression filterExpression);
+
 	/**
 	 * Get documents for specified agent
 	 */
@@ -20,6 +20,8 @@ import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.dto.search.AgentSearchRequest;
 import com.alibaba.cloud.ai.dataagent.dto.search.HybridSearchRequest;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.keyword.KeywordIndex;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.rerank.Reranker;
 import com.alibaba.cloud.ai.dataagent.service.hybrid.retrieval.HybridRetrievalStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
@@ -27,6 +29,7 @@ import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -48,14 +51,30 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 
 	private final DynamicFilterService dynamicFilterService;
 
+	/**
+	 * 纯元数据查询，为空时退化为带默认查询词的相似度检索
+	 */
+	private final MetadataDocumentQuery metadataDocumentQuery;
+
+	private final KeywordIndex keywordIndex;
+
+	private final Optional<Reranker> reranker;
+
 	public AgentVectorStoreServiceImpl(VectorStore vectorStore,
 			Optional<HybridRetrievalStrategy> hybridRetrievalStrategy, DataAgentProperties dataAgentProperties,
-			DynamicFilterService dynamicFilterService) {
+			DynamicFilterService dynamicFilterService, Optional<MetadataDocumentQuery> metadataDocumentQuery,
+			KeywordIndex keywordIndex, Optional<Reranker> reranker) {
 		this.vectorStore = vectorStore;
+		this.keywordIndex = keywordIndex;
+		this.reranker = reranker;
 		this.hybridRetrievalStrategy = hybridRetrievalStrategy;
 		this.dataAgentProperties = dataAgentProperties;
 		this.dynamicFilterService = dynamicFilterService;
-		log.info("VectorStore type: {}", vectorStore.getClass().getSimpleName());
+		this.metadataDocumentQuery = vectorStore instanceof MetadataDocumentQuery query ? query
+				: metadataDocumentQuery.orElse(null);
+		log.info("VectorStore type: {}, metadata query: {}", vectorStore.getClass().getSimpleName(),
+				this.metadataDocumentQuery != null ? this.metadataDocumentQuery.getClass().getSimpleName()
+						: "similarity search fallback");
 	}
 
 	@Override
@@ -73,22 +92,51 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 			return Collections.emptyList();
 		}
 
+		// 启用重排序时多召回一些候选，重排后再取topK
+		int topK = searchRequest.getTopK() != null ? searchRequest.getTopK()
+				: dataAgentProperties.getVectorStore().getDefaultTopkLimit();
 		HybridSearchRequest hybridRequest = HybridSearchRequest.builder()
 			.query(searchRequest.getQuery())
-			.topK(searchRequest.getTopK())
+			.topK(reranker.isPresent() ? candidateCount(topK) : topK)
 			.similarityThreshold(searchRequest.getSimilarityThreshold())
 			.filterExpression(filter)
 			.build();
 
+		List<Document> results;
 		if (dataAgentProperties.getVectorStore().isEnableHybridSearch() && hybridRetrievalStrategy.isPresent()) {
-			return hybridRetrievalStrategy.get().retrieve(hybridRequest);
+			results = hybridRetrievalStrategy.get().retrieve(hybridRequest);
 		}
-		log.debug("Hybrid search is not enabled. use vector-search only");
-		List<Document> results = vectorStore.similaritySearch(hybridRequest.toVectorSearchRequest());
-		log.debug("Search completed with vectorType: {}, found {} documents for SearchRequest: {}",
-				searchRequest.getDocVectorType(), results.size(), searchRequest);
-		return results;
+		else {
+			log.debug("Hybrid search is not enabled. use vector-search only");
+			results = vectorStore.similaritySearch(hybridRequest.toVectorSearchRequest());
+			log.debug("Search completed with vectorType: {}, found {} documents for SearchRequest: {}",
+					searchRequest.getDocVectorType(), results.size(), searchRequest);
+		}
+		return rerank(searchRequest.getQuery(), results, topK);
+
+	}
 
+	private int candidateCount(int topK) {
+		DataAgentProperties.Rerank rerank = dataAgentProperties.getRerank();
+		return Math.max(topK, Math.min(topK * rerank.getOverFetchFactor(), rerank.getMaxCandidates()));
+	}
+
+	private List<Document> rerank(String query, List<Document> candidates, int topK) {
+		if (reranker.isEmpty() || candidates.isEmpty()) {
+			return candidates;
+		}
+		try {
+			long start = System.currentTimeMillis();
+			List<Document> reranked = reranker.get().rerank(query, candidates, topK);
+			log.debug("Reranked {} candidates to {} documents in {} ms", candidates.size(), reranked.size(),
+					System.currentTimeMillis() - start);
+			return reranked;
+		}
+		catch (Exception e) {
+			// 重排序失败时按召回顺序返回
+			log.error("Rerank failed, falling back to recall order", e);
+			return candidates.size() > topK ? candidates.subList(0, topK) : candidates;
+		}
 	}
 
 	@Override
@@ -115,6 +163,7 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 					"Document metadata agentId does not match.");
 		}
 		vectorStore.add(documents);
+		keywordIndex.add(agentId, documents);
 	}
 
 	@Override
@@ -126,18 +175,36 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 		String filterExpression = buildFilterExpressionString(metadata);
 
 		// es的可以直接元数据删除
-		if (vectorStore instanceof SimpleVectorStore) {
+		deleteWithFilter(agentId, new FilterExpressionTextParser().parse(filterExpression));
+		return true;
+	}
+
+	@Override
+	public Boolean deleteDocumentsByFilter(String agentId, Filter.Expression filterExpression) {
+		Assert.hasText(agentId, "AgentId cannot be empty.");
+		Assert.notNull(filterExpression, "FilterExpression cannot be null.");
+
+		deleteWithFilter(agentId, filterExpression);
+		return true;
+	}
+
+	private void deleteWithFilter(String agentId, Filter.Expression filterExpression) {
+		if (vectorStore instanceof InMemoryVectorStore inMemoryVectorStore) {
+			// 内置向量库通过元数据索引直接删除，不需要嵌入和相似度计算
+			int deleted = inMemoryVectorStore.deleteByFilter(filterExpression);
+			log.info("Deleted {} documents with filter expression: {}", deleted, filterExpression);
+		}
+		else if (vectorStore instanceof SimpleVectorStore) {
 			// 目前SimpleVectorStore不支持通过元数据删除，使用会抛出UnsupportedOperationException,现在是通过id删除
 			batchDelDocumentsWithFilter(filterExpression);
 		}
 		else {
 			vectorStore.delete(filterExpression);
 		}
-
-		return true;
+		keywordIndex.delete(agentId, filterExpression);
 	}
 
-	private void batchDelDocumentsWithFilter(String filterExpression) {
+	private void batchDelDocumentsWithFilter(Filter.Expression filterExpression) {
 		Set<String> seenDocumentIds = new HashSet<>();
 		// 分批获取，因为Milvus等向量数据库的topK有限制
 		List<Document> batch;
@@ -203,6 +270,9 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 		Assert.notNull(filterExpression, "filterExpression cannot be null.");
 		if (topK == null)
 			topK = dataAgentProperties.getVectorStore().getDefaultTopkLimit();
+		if (metadataDocumentQuery != null) {
+			return metadataDocumentQuery.findByFilter(filterExpression, topK);
+		}
 		SearchRequest searchRequest = SearchRequest.builder()
 			.query(DEFAULT)
 			.topK(topK)
@@ -215,6 +285,12 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 	@Override
 	public boolean hasDocuments(String agentId) {
 		// 类似 MySQL 的 LIMIT 1,只检查是否存在文档
+		if (metadataDocumentQuery != null) {
+			return !metadataDocumentQuery
+				.findByFilter(new FilterExpressionTextParser()
+					.parse(buildFilterExpressionString(Map.of(Constant.AGENT_ID, agentId))), 1)
+				.isEmpty();
+		}
 		List<Document> docs = vectorStore.similaritySearch(org.springframework.ai.vectorstore.SearchRequest.builder()
 			.query(DEFAULT)// 使用默认的查询字符串，因为有的嵌入模型不支持空字符串
 			.filterExpression(buildFilterExpressionString(Map.of(Constant.AGENT_ID, agentId)))
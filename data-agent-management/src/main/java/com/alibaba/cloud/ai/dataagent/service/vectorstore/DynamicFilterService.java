@@ -17,6 +17,9 @@ package com.alibaba.cloud.ai.dataagent.service.vectorstore;
 
 import com.alibaba.cloud.ai.dataagent.constant.Constant;
 import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeChangedEvent;
+import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeDeletionEvent;
+import com.alibaba.cloud.ai.dataagent.event.BusinessKnowledgeChangedEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
 import com.alibaba.cloud.ai.dataagent.mapper.BusinessKnowledgeMapper;
 import lombok.AllArgsConstructor;
@@ -24,10 +27,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,10 +44,25 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class DynamicFilterService {
 
+	/**
+	 * 召回ID集合缓存的兜底过期时间，本实例内的变更通过事件立即失效，该时间只用于感知其他实例的变更
+	 */
+	private static final long RECALLED_IDS_TTL_NANOS = Duration.ofMinutes(5).toNanos();
+
 	private final AgentKnowledgeMapper agentKnowledgeMapper;
 
 	private final BusinessKnowledgeMapper businessKnowledgeMapper;
 
+	/**
+	 * key 为 vectorType:agentId
+	 */
+	private final Map<String, RecalledIds> recalledIdsCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 每次失效递增，加载期间发生过失效的结果不写入缓存，避免把旧数据写回
+	 */
+	private final AtomicLong cacheGeneration = new AtomicLong();
+
 	public Filter.Expression buildDynamicFilter(String agentId, String vectorType) {
 		FilterExpressionBuilder b = new FilterExpressionBuilder();
 		List<Filter.Expression> conditions = new ArrayList<>();
@@ -51,7 +75,8 @@ public class DynamicFilterService {
 
 			case DocumentMetadataConstant.AGENT_KNOWLEDGE:
 				// 场景 A: 知识库文档 -> 需要查 MySQL 获取启用状态
-				List<Integer> validIds = agentKnowledgeMapper.selectRecalledKnowledgeIds(Integer.valueOf(agentId));
+				List<?> validIds = getRecalledIds(vectorType, agentId,
+						() -> agentKnowledgeMapper.selectRecalledKnowledgeIds(Integer.valueOf(agentId)));
 
 				if (validIds.isEmpty()) {
 					log.warn("Agent {} has no recalled knowledge documents. Returning empty filter signal.", agentId);
@@ -65,8 +90,8 @@ public class DynamicFilterService {
 
 			case DocumentMetadataConstant.BUSINESS_TERM:
 				// 场景 B: 业务知识 -> 查 business_knowledge 表的需要召回的
-				List<Long> recalledBusinessKnowledgeIds = businessKnowledgeMapper
-					.selectRecalledKnowledgeIds(Long.valueOf(agentId));
+				List<?> recalledBusinessKnowledgeIds = getRecalledIds(vectorType, agentId,
+						() -> businessKnowledgeMapper.selectRecalledKnowledgeIds(Long.valueOf(agentId)));
 
 				if (recalledBusinessKnowledgeIds.isEmpty()) {
 					log.warn("Agent {} has no recalled business terms. Returning empty filter signal.", agentId);
@@ -90,6 +115,49 @@ public class DynamicFilterService {
 		return combineWithAnd(conditions);
 	}
 
+	private List<?> getRecalledIds(String vectorType, String agentId, Supplier<List<?>> loader) {
+		String key = vectorType + ":" + agentId;
+		RecalledIds cached = recalledIdsCache.get(key);
+		if (cached != null && System.nanoTime() - cached.loadedAt() < RECALLED_IDS_TTL_NANOS) {
+			return cached.ids();
+		}
+		long generation = cacheGeneration.get();
+		List<?> ids = List.copyOf(loader.get());
+		if (generation == cacheGeneration.get()) {
+			recalledIdsCache.put(key, new RecalledIds(ids, System.nanoTime()));
+		}
+		return ids;
+	}
+
+	private void evictRecalledIds(String vectorType, Object agentId) {
+		cacheGeneration.incrementAndGet();
+		if (agentId != null) {
+			recalledIdsCache.remove(vectorType + ":" + agentId);
+		}
+		else {
+			recalledIdsCache.keySet().removeIf(key -> key.startsWith(vectorType + ":"));
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void handleAgentKnowledgeChanged(AgentKnowledgeChangedEvent event) {
+		evictRecalledIds(DocumentMetadataConstant.AGENT_KNOWLEDGE, event.getAgentId());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void handleAgentKnowledgeDeleted(AgentKnowledgeDeletionEvent event) {
+		// 删除事件不带智能体ID，失效所有智能体的知识ID集合
+		evictRecalledIds(DocumentMetadataConstant.AGENT_KNOWLEDGE, null);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void handleBusinessKnowledgeChanged(BusinessKnowledgeChangedEvent event) {
+		evictRecalledIds(DocumentMetadataConstant.BUSINESS_TERM, event.getAgentId());
+	}
+
+	private record RecalledIds(List<?> ids, long loadedAt) {
+	}
+
 	/**
 	 * 将多个过滤条件用 AND 连接起来
 	 * @param conditions 条件列表
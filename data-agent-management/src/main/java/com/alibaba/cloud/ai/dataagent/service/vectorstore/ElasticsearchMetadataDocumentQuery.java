@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.elasticsearch.ElasticsearchAiSearchFilterExpressionConverter;
+import org.springframework.ai.vectorstore.elasticsearch.ElasticsearchVectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Elasticsearch 向量库的元数据查询，直接以过滤条件查询索引，不带向量检索
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.ai.vectorstore.type", havingValue = "elasticsearch")
+public class ElasticsearchMetadataDocumentQuery implements MetadataDocumentQuery {
+
+	private final FilterExpressionConverter filterConverter = new ElasticsearchAiSearchFilterExpressionConverter();
+
+	private final VectorStore vectorStore;
+
+	private final String indexName;
+
+	public ElasticsearchMetadataDocumentQuery(VectorStore vectorStore,
+			@Value("${spring.ai.vectorstore.elasticsearch.index-name:spring-ai-document-index}") String indexName) {
+		this.vectorStore = vectorStore;
+		this.indexName = indexName;
+	}
+
+	@Override
+	public List<Document> findByFilter(Filter.Expression filterExpression, int limit) {
+		if (!(vectorStore instanceof ElasticsearchVectorStore elasticsearchVectorStore)) {
+			throw new IllegalStateException("VectorStore is not an ElasticsearchVectorStore.");
+		}
+		ElasticsearchClient client = elasticsearchVectorStore.<ElasticsearchClient>getNativeClient()
+			.orElseThrow(() -> new IllegalStateException("ElasticsearchClient is not available."));
+		String filterString = filterConverter.convertExpression(filterExpression);
+		log.debug("Metadata query on index {} with filter: {}", indexName, filterString);
+
+		SearchRequest searchRequest = SearchRequest.of(s -> s.index(indexName)
+			.query(q -> q.bool(b -> b.filter(f -> f.queryString(qs -> qs.query(filterString)))))
+			.size(limit)
+			.source(src -> src.fetch(true)));
+		try {
+			SearchResponse<Document> response = client.search(searchRequest, Document.class);
+			if (response == null || response.hits() == null) {
+				return List.of();
+			}
+			return response.hits().hits().stream().map(Hit::source).filter(Objects::nonNull).toList();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Elasticsearch metadata query failed", e);
+		}
+	}
+
+}
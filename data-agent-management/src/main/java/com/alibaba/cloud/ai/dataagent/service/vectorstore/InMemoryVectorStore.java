@@ -0,0 +1,600 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.constant.Constant;
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.util.JsonUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 内置的内存向量库，未配置 Milvus/ES 等外部向量库时作为兜底实现，替代 Spring AI 的 SimpleVectorStore。
+ * <p>
+ * 文档按（agentId, vectorType）分区，每个分区的向量以归一化后的 float[] 连续存放，检索时先用元数据倒排索引按 EQ/IN
+ * 条件预过滤，再对候选文档做点积并用小顶堆保留 topK。没有候选文档时不会调用嵌入模型。
+ * 数据定期写入快照文件，启动时以内存映射方式读回，不需要重新嵌入。
+ * <p>
+ * JDK Vector API 在 Java 17 中仍是孵化模块，需要额外的启动参数，这里使用展开的标量循环，由 JIT 自动向量化。
+ */
+@Slf4j
+public class InMemoryVectorStore implements VectorStore, MetadataDocumentQuery, DisposableBean {
+
+	private static final int SNAPSHOT_MAGIC = 0x44415653;
+
+	private static final int SNAPSHOT_VERSION = 1;
+
+	private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+	};
+
+	private final EmbeddingModel embeddingModel;
+
+	private final BatchingStrategy batchingStrategy;
+
+	private final ObjectMapper objectMapper = JsonUtil.getObjectMapper();
+
+	/**
+	 * agentId -> vectorType -> 分区
+	 */
+	private final Map<String, Map<String, VectorPartition>> partitions = new ConcurrentHashMap<>();
+
+	/**
+	 * 文档ID -> 所在分区实例，用于按ID删除。保存实例而不是分区键：分区被整体删除后同一键下会新建分区，
+	 * 按实例比较才能区分新旧分区
+	 */
+	private final Map<String, VectorPartition> partitionById = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean dirty = new AtomicBoolean();
+
+	private final Path snapshotFile;
+
+	private final ScheduledExecutorService flushScheduler;
+
+	private record PartitionKey(String agentId, String vectorType) {
+	}
+
+	private record ScoredDocument(String id, String text, Map<String, Object> metadata, double score) {
+	}
+
+	public InMemoryVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy,
+			DataAgentProperties.VectorStoreProperties properties) {
+		this(embeddingModel, batchingStrategy,
+				StringUtils.hasText(properties.getMemoryStoreSnapshotPath())
+						? Path.of(properties.getMemoryStoreSnapshotPath()) : null,
+				Duration.ofSeconds(properties.getMemoryStoreFlushIntervalSeconds()));
+	}
+
+	InMemoryVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy, Path snapshotFile,
+			Duration flushInterval) {
+		this.embeddingModel = embeddingModel;
+		this.batchingStrategy = batchingStrategy;
+		this.snapshotFile = snapshotFile;
+		if (snapshotFile == null) {
+			this.flushScheduler = null;
+			return;
+		}
+		loadSnapshot();
+		this.flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "vector-store-flush");
+			t.setDaemon(true);
+			return t;
+		});
+		long intervalMs = Math.max(1000, flushInterval.toMillis());
+		flushScheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public String getName() {
+		return "InMemoryVectorStore";
+	}
+
+	@Override
+	public void add(List<Document> documents) {
+		if (documents == null || documents.isEmpty()) {
+			return;
+		}
+		for (List<Document> batch : batchingStrategy.batch(documents)) {
+			List<float[]> embeddings = embeddingModel.embed(batch.stream().map(Document::getText).toList());
+			if (embeddings.size() != batch.size()) {
+				throw new IllegalStateException(
+						"Embedding model returned " + embeddings.size() + " vectors for " + batch.size() + " documents");
+			}
+			for (int i = 0; i < batch.size(); i++) {
+				Document document = batch.get(i);
+				put(document.getId(), document.getText(), new HashMap<>(document.getMetadata()),
+						VectorPartition.normalize(embeddings.get(i).clone()));
+			}
+		}
+		dirty.set(true);
+	}
+
+	@Override
+	public void delete(List<String> idList) {
+		for (String id : idList) {
+			VectorPartition partition = partitionById.remove(id);
+			if (partition == null) {
+				continue;
+			}
+			partition.lock.writeLock().lock();
+			try {
+				partition.remove(id);
+			}
+			finally {
+				partition.lock.writeLock().unlock();
+			}
+		}
+		dirty.set(true);
+	}
+
+	@Override
+	public void delete(Filter.Expression filterExpression) {
+		deleteByFilter(filterExpression);
+	}
+
+	/**
+	 * 按元数据条件删除，不调用嵌入模型。条件只包含 agentId/vectorType 的等值条件时直接整体删除对应分区，
+	 * 否则通过倒排索引找到匹配的文档逐个删除
+	 * @return 删除的文档数
+	 */
+	public int deleteByFilter(Filter.Expression filterExpression) {
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator.compile(filterExpression);
+		boolean wholePartitions = filter.pureConjunction() && filter.conjuncts()
+			.stream()
+			.allMatch(conjunct -> Constant.AGENT_ID.equals(conjunct.key())
+					|| DocumentMetadataConstant.VECTOR_TYPE.equals(conjunct.key()));
+		int deleted = 0;
+		for (PartitionKey key : targetPartitionKeys(filter.conjuncts())) {
+			deleted += wholePartitions ? dropPartition(key) : deleteMatching(key, filter);
+		}
+		if (deleted > 0) {
+			dirty.set(true);
+		}
+		return deleted;
+	}
+
+	private int dropPartition(PartitionKey key) {
+		Map<String, VectorPartition> byType = partitions.get(key.agentId());
+		VectorPartition partition = byType != null ? byType.remove(key.vectorType()) : null;
+		if (partition == null) {
+			return 0;
+		}
+		List<String> removed;
+		partition.lock.writeLock().lock();
+		try {
+			removed = partition.drop();
+		}
+		finally {
+			partition.lock.writeLock().unlock();
+		}
+		// 只移除仍指向该分区实例的ID，避免误删并发写入到同一键下新分区的同名文档
+		removed.forEach(id -> partitionById.remove(id, partition));
+		return removed.size();
+	}
+
+	private int deleteMatching(PartitionKey key, MetadataFilterEvaluator.CompiledFilter filter) {
+		VectorPartition partition = getPartition(key);
+		if (partition == null) {
+			return 0;
+		}
+		int deleted = 0;
+		partition.lock.writeLock().lock();
+		try {
+			for (String id : partition.matchingIds(filter)) {
+				partition.remove(id);
+				partitionById.remove(id, partition);
+				deleted++;
+			}
+		}
+		finally {
+			partition.lock.writeLock().unlock();
+		}
+		return deleted;
+	}
+
+	@Override
+	public List<Document> similaritySearch(SearchRequest request) {
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator.compile(request.getFilterExpression());
+		List<VectorPartition> targets = targetPartitions(filter.conjuncts());
+		if (targets.stream().allMatch(partition -> partition.size() == 0)) {
+			return List.of();
+		}
+
+		// 查询向量可能来自共享缓存，复制后再归一化
+		float[] query = VectorPartition.normalize(embeddingModel.embed(request.getQuery()).clone());
+		List<ScoredDocument> hits = new ArrayList<>();
+		for (VectorPartition partition : targets) {
+			partition.lock.readLock().lock();
+			try {
+				if (partition.size() > 0 && partition.dimensions() != query.length) {
+					log.warn("Skip vector partition with {} dimensions for query with {} dimensions",
+							partition.dimensions(), query.length);
+					continue;
+				}
+				for (VectorPartition.Hit hit : partition.search(query, request.getTopK(),
+						request.getSimilarityThreshold(), filter)) {
+					hits.add(new ScoredDocument(hit.id(), hit.text(), hit.metadata(), hit.score()));
+				}
+			}
+			finally {
+				partition.lock.readLock().unlock();
+			}
+		}
+		return hits.stream()
+			.sorted(Comparator.comparingDouble(ScoredDocument::score).reversed())
+			.limit(request.getTopK())
+			.map(this::toDocument)
+			.toList();
+	}
+
+	/**
+	 * 通过元数据倒排索引查询，不调用嵌入模型
+	 */
+	@Override
+	public List<Document> findByFilter(Filter.Expression filterExpression, int limit) {
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator.compile(filterExpression);
+		List<Document> result = new ArrayList<>();
+		for (VectorPartition partition : targetPartitions(filter.conjuncts())) {
+			if (result.size() >= limit) {
+				break;
+			}
+			partition.lock.readLock().lock();
+			try {
+				for (VectorPartition.Entry entry : partition.matchingEntries(filter, limit - result.size())) {
+					result.add(Document.builder()
+						.id(entry.id())
+						.text(entry.text())
+						.metadata(new HashMap<>(entry.metadata()))
+						.build());
+				}
+			}
+			finally {
+				partition.lock.readLock().unlock();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 文档总数
+	 */
+	public int size() {
+		return partitions.values()
+			.stream()
+			.flatMap(byType -> byType.values().stream())
+			.mapToInt(VectorPartition::size)
+			.sum();
+	}
+
+	private Document toDocument(ScoredDocument hit) {
+		Map<String, Object> metadata = new HashMap<>(hit.metadata());
+		metadata.put(DocumentMetadata.DISTANCE.value(), 1 - hit.score());
+		return Document.builder().id(hit.id()).text(hit.text()).metadata(metadata).score(hit.score()).build();
+	}
+
+	private void put(String id, String text, Map<String, Object> metadata, float[] vector) {
+		PartitionKey key = partitionKey(metadata);
+		VectorPartition previous;
+		while (true) {
+			VectorPartition partition = partitions.computeIfAbsent(key.agentId(), k -> new ConcurrentHashMap<>())
+				.computeIfAbsent(key.vectorType(), k -> new VectorPartition());
+			partition.lock.writeLock().lock();
+			try {
+				// 分区刚被整体删除时重新获取
+				if (!partition.isDropped()) {
+					partition.put(id, text, metadata, vector);
+					// 在分区写锁内登记，整体删除要么看到该文档并清理登记，要么发生在写入之前
+					previous = partitionById.put(id, partition);
+					if (previous == partition) {
+						previous = null;
+					}
+					break;
+				}
+			}
+			finally {
+				partition.lock.writeLock().unlock();
+			}
+		}
+		if (previous != null) {
+			// 同一ID换了分区，从原分区移除（原分区已被整体删除时为空操作）
+			previous.lock.writeLock().lock();
+			try {
+				previous.remove(id);
+			}
+			finally {
+				previous.lock.writeLock().unlock();
+			}
+		}
+	}
+
+	private static PartitionKey partitionKey(Map<String, Object> metadata) {
+		Object agentId = metadata.get(Constant.AGENT_ID);
+		Object vectorType = metadata.get(DocumentMetadataConstant.VECTOR_TYPE);
+		return new PartitionKey(agentId != null ? agentId.toString() : "",
+				vectorType != null ? vectorType.toString() : "");
+	}
+
+	private VectorPartition getPartition(PartitionKey key) {
+		Map<String, VectorPartition> byType = partitions.get(key.agentId());
+		return byType != null ? byType.get(key.vectorType()) : null;
+	}
+
+	/**
+	 * 根据过滤条件中的 agentId/vectorType 等值条件定位分区，没有这些条件时返回所有分区
+	 */
+	private List<VectorPartition> targetPartitions(List<MetadataFilterEvaluator.Conjunct> conjuncts) {
+		List<VectorPartition> result = new ArrayList<>();
+		for (PartitionKey key : targetPartitionKeys(conjuncts)) {
+			VectorPartition partition = getPartition(key);
+			if (partition != null) {
+				result.add(partition);
+			}
+		}
+		return result;
+	}
+
+	private List<PartitionKey> targetPartitionKeys(List<MetadataFilterEvaluator.Conjunct> conjuncts) {
+		Set<String> agentIds = null;
+		Set<String> vectorTypes = null;
+		for (MetadataFilterEvaluator.Conjunct conjunct : conjuncts) {
+			if (Constant.AGENT_ID.equals(conjunct.key())) {
+				agentIds = intersect(agentIds, conjunct.values());
+			}
+			else if (DocumentMetadataConstant.VECTOR_TYPE.equals(conjunct.key())) {
+				vectorTypes = intersect(vectorTypes, conjunct.values());
+			}
+		}
+		List<PartitionKey> result = new ArrayList<>();
+		for (Map.Entry<String, Map<String, VectorPartition>> agentEntry : partitions.entrySet()) {
+			if (agentIds != null && !agentIds.contains(agentEntry.getKey())) {
+				continue;
+			}
+			for (String vectorType : agentEntry.getValue().keySet()) {
+				if (vectorTypes == null || vectorTypes.contains(vectorType)) {
+					result.add(new PartitionKey(agentEntry.getKey(), vectorType));
+				}
+			}
+		}
+		return result;
+	}
+
+	private static Set<String> intersect(Set<String> current, Set<Object> values) {
+		Set<String> strings = new HashSet<>();
+		values.forEach(v -> strings.add(String.valueOf(v)));
+		if (current != null) {
+			strings.retainAll(current);
+		}
+		return strings;
+	}
+
+	// ---------------------------------------------------------------------
+	// 快照持久化
+	// ---------------------------------------------------------------------
+
+	private void flushQuietly() {
+		try {
+			flush();
+		}
+		catch (Exception e) {
+			log.warn("Failed to write vector store snapshot to {}: {}", snapshotFile, e.getMessage());
+		}
+	}
+
+	/**
+	 * 有变更时把全部数据写入临时文件，再原子替换快照文件
+	 */
+	synchronized void flush() throws IOException {
+		if (snapshotFile == null || !dirty.getAndSet(false)) {
+			return;
+		}
+		try {
+			Path parent = snapshotFile.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+			int[] count = new int[1];
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 16))) {
+				out.writeInt(SNAPSHOT_MAGIC);
+				out.writeInt(SNAPSHOT_VERSION);
+				for (Map<String, VectorPartition> byType : partitions.values()) {
+					for (VectorPartition partition : byType.values()) {
+						partition.lock.readLock().lock();
+						try {
+							partition.forEach(entry -> {
+								writeEntry(out, entry);
+								count[0]++;
+							});
+						}
+						finally {
+							partition.lock.readLock().unlock();
+						}
+					}
+				}
+			}
+			catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			log.debug("Vector store snapshot written to {}, {} documents", snapshotFile, count[0]);
+		}
+		catch (IOException | RuntimeException e) {
+			dirty.set(true);
+			throw e;
+		}
+	}
+
+	private void writeEntry(DataOutputStream out, VectorPartition.Entry entry) {
+		try {
+			writeBytes(out, entry.id().getBytes(StandardCharsets.UTF_8));
+			writeBytes(out, entry.text() != null ? entry.text().getBytes(StandardCharsets.UTF_8) : new byte[0]);
+			writeBytes(out, objectMapper.writeValueAsBytes(entry.metadata()));
+			float[] vector = entry.vector();
+			ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES);
+			buffer.asFloatBuffer().put(vector);
+			out.writeInt(vector.length);
+			out.write(buffer.array());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private void loadSnapshot() {
+		if (!Files.isRegularFile(snapshotFile)) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		int loaded = 0;
+		try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+			MappedSnapshotReader reader = new MappedSnapshotReader(channel);
+			if (reader.readInt() != SNAPSHOT_MAGIC || reader.readInt() != SNAPSHOT_VERSION) {
+				log.warn("Ignore vector store snapshot {} with unknown format", snapshotFile);
+				return;
+			}
+			while (reader.hasRemaining()) {
+				String id = new String(reader.readBytes(reader.readInt()), StandardCharsets.UTF_8);
+				String text = new String(reader.readBytes(reader.readInt()), StandardCharsets.UTF_8);
+				Map<String, Object> metadata = objectMapper.readValue(reader.readBytes(reader.readInt()),
+						METADATA_TYPE);
+				float[] vector = reader.readFloats(reader.readInt());
+				put(id, text, metadata, vector);
+				loaded++;
+			}
+			log.info("Loaded {} documents from vector store snapshot {} in {} ms", loaded, snapshotFile,
+					System.currentTimeMillis() - start);
+		}
+		catch (IOException | RuntimeException e) {
+			// 快照损坏时保留已读取的部分，并在下次写快照时覆盖
+			log.error("Failed to load vector store snapshot {}, {} documents loaded", snapshotFile, loaded, e);
+			dirty.set(true);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (flushScheduler != null) {
+			flushScheduler.shutdownNow();
+			flushQuietly();
+		}
+	}
+
+	/**
+	 * 分段映射快照文件顺序读取，避免单次映射超过 2GB 的限制
+	 */
+	private static final class MappedSnapshotReader {
+
+		private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+		private final FileChannel channel;
+
+		private final long fileSize;
+
+		private long windowStart;
+
+		private MappedByteBuffer buffer;
+
+		private MappedSnapshotReader(FileChannel channel) throws IOException {
+			this.channel = channel;
+			this.fileSize = channel.size();
+		}
+
+		boolean hasRemaining() {
+			return windowStart + (buffer != null ? buffer.position() : 0) < fileSize;
+		}
+
+		int readInt() throws IOException {
+			ensure(Integer.BYTES);
+			return buffer.getInt();
+		}
+
+		byte[] readBytes(int length) throws IOException {
+			ensure(length);
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return bytes;
+		}
+
+		float[] readFloats(int length) throws IOException {
+			ensure(length * Float.BYTES);
+			float[] floats = new float[length];
+			buffer.asFloatBuffer().get(floats);
+			buffer.position(buffer.position() + length * Float.BYTES);
+			return floats;
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (bytes < 0) {
+				throw new IOException("Corrupted vector store snapshot");
+			}
+			if (buffer != null && buffer.remaining() >= bytes) {
+				return;
+			}
+			long position = windowStart + (buffer != null ? buffer.position() : 0);
+			if (fileSize - position < bytes) {
+				throw new EOFException("Unexpected end of vector store snapshot");
+			}
+			long length = Math.min(Math.max(WINDOW_SIZE, bytes), fileSize - position);
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+			windowStart = position;
+		}
+
+	}
+
+}
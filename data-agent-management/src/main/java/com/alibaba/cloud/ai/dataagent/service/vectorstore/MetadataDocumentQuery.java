@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.List;
+
+/**
+ * 仅按元数据过滤查询文档，不做向量相似度计算，也不调用嵌入模型。
+ * <p>
+ * 向量库自身实现该接口时直接使用（如 {@link InMemoryVectorStore}），否则使用容器中注册的实现；
+ * 都没有时 {@link AgentVectorStoreServiceImpl} 退化为带默认查询词的相似度检索。
+ */
+public interface MetadataDocumentQuery {
+
+	/**
+	 * 查询满足过滤条件的文档
+	 * @param filterExpression 过滤条件
+	 * @param limit 最多返回的文档数
+	 */
+	List<Document> findByFilter(Filter.Expression filterExpression, int limit);
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 在内存中对文档元数据求值 Spring AI 的 {@link Filter.Expression}，并从表达式中提取可走倒排索引的等值条件。
+ * <p>
+ * 数值统一归一化后比较，因此元数据中的 Integer 与过滤条件中的 Long 视为相等。
+ */
+public final class MetadataFilterEvaluator {
+
+	private MetadataFilterEvaluator() {
+	}
+
+	/**
+	 * 顶层 AND 链中的 EQ/IN 条件：元数据字段 key 的值必须属于 values
+	 */
+	public record Conjunct(String key, Set<Object> values) {
+	}
+
+	/**
+	 * 编译后的过滤条件：逐条求值用的谓词（IN/EQ 的比较值已预先归一化）、可走倒排索引的条件，以及表达式是否为纯
+	 * EQ/IN 合取。每次请求编译一次，供所有候选文档复用
+	 */
+	public record CompiledFilter(Predicate<Map<String, Object>> predicate, List<Conjunct> conjuncts,
+			boolean pureConjunction) {
+
+		/**
+		 * 无过滤条件
+		 */
+		public static final CompiledFilter ALL = new CompiledFilter(metadata -> true, List.of(), true);
+
+		public boolean test(Map<String, Object> metadata) {
+			return predicate.test(metadata);
+		}
+
+	}
+
+	/**
+	 * 编译过滤条件，表达式为 null 时返回 {@link CompiledFilter#ALL}
+	 */
+	public static CompiledFilter compile(Filter.Expression expression) {
+		if (expression == null) {
+			return CompiledFilter.ALL;
+		}
+		return new CompiledFilter(predicate(expression), conjuncts(expression), isPureConjunction(expression));
+	}
+
+	private static Predicate<Map<String, Object>> predicate(Filter.Expression expression) {
+		return switch (expression.type()) {
+			case AND -> {
+				Predicate<Map<String, Object>> left = operandPredicate(expression.left());
+				Predicate<Map<String, Object>> right = operandPredicate(expression.right());
+				yield metadata -> left.test(metadata) && right.test(metadata);
+			}
+			case OR -> {
+				Predicate<Map<String, Object>> left = operandPredicate(expression.left());
+				Predicate<Map<String, Object>> right = operandPredicate(expression.right());
+				yield metadata -> left.test(metadata) || right.test(metadata);
+			}
+			case NOT -> operandPredicate(expression.left()).negate();
+			case EQ -> {
+				String key = keyName(expression.left());
+				Object expected = normalize(value(expression.right()));
+				yield metadata -> {
+					Object actual = metadata.get(key);
+					return actual != null && normalize(actual).equals(expected);
+				};
+			}
+			case NE -> {
+				String key = keyName(expression.left());
+				Object expected = normalize(value(expression.right()));
+				yield metadata -> {
+					Object actual = metadata.get(key);
+					return actual == null || !normalize(actual).equals(expected);
+				};
+			}
+			case GT, GTE, LT, LTE -> {
+				String key = keyName(expression.left());
+				Object expected = value(expression.right());
+				Filter.ExpressionType type = expression.type();
+				yield metadata -> {
+					Integer c = compare(metadata.get(key), expected);
+					return c != null && switch (type) {
+						case GT -> c > 0;
+						case GTE -> c >= 0;
+						case LT -> c < 0;
+						default -> c <= 0;
+					};
+				};
+			}
+			case IN -> {
+				String key = keyName(expression.left());
+				Set<Object> values = normalizedValues(value(expression.right()));
+				yield metadata -> {
+					Object actual = metadata.get(key);
+					return actual != null && values.contains(normalize(actual));
+				};
+			}
+			case NIN -> {
+				String key = keyName(expression.left());
+				Set<Object> values = normalizedValues(value(expression.right()));
+				yield metadata -> {
+					Object actual = metadata.get(key);
+					return actual == null || !values.contains(normalize(actual));
+				};
+			}
+			default -> throw new UnsupportedOperationException("Unsupported filter expression type: " + expression.type());
+		};
+	}
+
+	/**
+	 * 提取顶层 AND 链中的 EQ/IN 条件，这些条件对结果是必要条件，可以先用倒排索引缩小候选集
+	 */
+	public static List<Conjunct> conjuncts(Filter.Expression expression) {
+		List<Conjunct> result = new ArrayList<>();
+		collectConjuncts(expression, result);
+		return result;
+	}
+
+	/**
+	 * 表达式是否仅由 AND 连接的 EQ/IN 条件组成，此时 {@link #conjuncts} 与原表达式等价
+	 */
+	private static boolean isPureConjunction(Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return isPureConjunction(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return false;
+		}
+		return switch (expression.type()) {
+			case AND -> isPureConjunction(expression.left()) && isPureConjunction(expression.right());
+			case EQ, IN -> true;
+			default -> false;
+		};
+	}
+
+	private static void collectConjuncts(Filter.Operand operand, List<Conjunct> result) {
+		if (operand instanceof Filter.Group group) {
+			collectConjuncts(group.content(), result);
+			return;
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return;
+		}
+		switch (expression.type()) {
+			case AND -> {
+				collectConjuncts(expression.left(), result);
+				collectConjuncts(expression.right(), result);
+			}
+			case EQ -> result.add(new Conjunct(keyName(expression.left()),
+					Set.of(normalize(value(expression.right())))));
+			case IN -> result.add(new Conjunct(keyName(expression.left()), normalizedValues(value(expression.right()))));
+			default -> {
+				// 其他条件只在逐条求值时判断
+			}
+		}
+	}
+
+	/**
+	 * 归一化元数据值：整数统一为 Long，小数统一为 Double（整数值的小数转为 Long），其他类型原样返回
+	 */
+	static Object normalize(Object value) {
+		if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+			return ((Number) value).longValue();
+		}
+		if (value instanceof Number number) {
+			double d = number.doubleValue();
+			if (d == Math.rint(d) && !Double.isInfinite(d) && Math.abs(d) < Long.MAX_VALUE) {
+				return (long) d;
+			}
+			return d;
+		}
+		return value;
+	}
+
+	private static Predicate<Map<String, Object>> operandPredicate(Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return predicate(group.content());
+		}
+		if (operand instanceof Filter.Expression expression) {
+			return predicate(expression);
+		}
+		throw new IllegalArgumentException("Unexpected filter operand: " + operand);
+	}
+
+	private static String keyName(Filter.Operand operand) {
+		if (!(operand instanceof Filter.Key key)) {
+			throw new IllegalArgumentException("Expected filter key but got: " + operand);
+		}
+		String name = key.key();
+		// 文本表达式中带引号的 key，如 'tableName'
+		if (name.length() >= 2 && (name.startsWith("'") && name.endsWith("'")
+				|| name.startsWith("\"") && name.endsWith("\"") || name.startsWith("`") && name.endsWith("`"))) {
+			return name.substring(1, name.length() - 1);
+		}
+		return name;
+	}
+
+	private static Object value(Filter.Operand operand) {
+		if (!(operand instanceof Filter.Value value)) {
+			throw new IllegalArgumentException("Expected filter value but got: " + operand);
+		}
+		return value.value();
+	}
+
+	private static Set<Object> normalizedValues(Object value) {
+		Set<Object> values = new HashSet<>();
+		if (value instanceof Collection<?> collection) {
+			collection.forEach(v -> values.add(normalize(v)));
+		}
+		else if (value instanceof Object[] array) {
+			for (Object v : array) {
+				values.add(normalize(v));
+			}
+		}
+		else {
+			values.add(normalize(value));
+		}
+		return values;
+	}
+
+	/**
+	 * 比较大小，缺失或类型不可比较时返回 null（条件不满足）
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Integer compare(Object actual, Object expected) {
+		if (actual == null || expected == null) {
+			return null;
+		}
+		Object left = normalize(actual);
+		Object right = normalize(expected);
+		if (left instanceof Number l && right instanceof Number r) {
+			return Double.compare(l.doubleValue(), r.doubleValue());
+		}
+		if (left instanceof Comparable && left.getClass() == right.getClass()) {
+			return ((Comparable) left).compareTo(right);
+		}
+		return null;
+	}
+
+}
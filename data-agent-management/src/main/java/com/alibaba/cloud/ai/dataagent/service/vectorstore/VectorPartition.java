@@ -0,0 +1,379 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * {@link InMemoryVectorStore} 中一个（agentId, vectorType）分区的数据。
+ * <p>
+ * 向量按槽位连续存放在一个 float[] 中（已归一化，点积即余弦相似度），删除时把最后一个槽位移到空位，保持数组紧凑。
+ * 元数据中长度有限的标量值建立倒排索引（字段 -> 值 -> 文档ID），用于检索前按 EQ/IN 条件预过滤。
+ * 所有读写通过分区自身的读写锁保护。
+ */
+final class VectorPartition {
+
+	/**
+	 * 超过该长度的字符串元数据不建索引（如长描述），只在逐条求值时使用
+	 */
+	private static final int MAX_INDEXED_STRING_LENGTH = 256;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private int dimensions = -1;
+
+	private boolean dropped;
+
+	private int size;
+
+	private float[] vectors = new float[0];
+
+	private String[] ids = new String[INITIAL_CAPACITY];
+
+	private String[] texts = new String[INITIAL_CAPACITY];
+
+	private Map<String, Object>[] metadata = newMetadataArray(INITIAL_CAPACITY);
+
+	private final Map<String, Integer> slotById = new HashMap<>();
+
+	private final Map<String, Map<Object, Set<String>>> invertedIndex = new HashMap<>();
+
+	record Entry(String id, String text, Map<String, Object> metadata, float[] vector) {
+	}
+
+	record Hit(String id, String text, Map<String, Object> metadata, double score) {
+	}
+
+	int size() {
+		return size;
+	}
+
+	int dimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * 分区是否已被整体删除，调用方需持有锁
+	 */
+	boolean isDropped() {
+		return dropped;
+	}
+
+	/**
+	 * 写入或覆盖文档，调用方需持有写锁
+	 * @param vector 已归一化的向量
+	 */
+	void put(String id, String text, Map<String, Object> docMetadata, float[] vector) {
+		if (dimensions < 0 || size == 0) {
+			dimensions = vector.length;
+		}
+		else if (dimensions != vector.length) {
+			throw new IllegalStateException("Embedding dimensions changed from " + dimensions + " to "
+					+ vector.length + ", please re-initialize the vector data of this agent");
+		}
+		remove(id);
+		ensureCapacity(size + 1);
+		int slot = size++;
+		System.arraycopy(vector, 0, vectors, slot * dimensions, dimensions);
+		ids[slot] = id;
+		texts[slot] = text;
+		metadata[slot] = docMetadata;
+		slotById.put(id, slot);
+		forEachIndexedValue(docMetadata, (key, value) -> invertedIndex.computeIfAbsent(key, k -> new HashMap<>())
+			.computeIfAbsent(value, v -> new HashSet<>())
+			.add(id));
+	}
+
+	/**
+	 * 删除文档，调用方需持有写锁
+	 * @return 文档是否存在
+	 */
+	boolean remove(String id) {
+		Integer slot = slotById.remove(id);
+		if (slot == null) {
+			return false;
+		}
+		forEachIndexedValue(metadata[slot], (key, value) -> {
+			Map<Object, Set<String>> values = invertedIndex.get(key);
+			if (values == null) {
+				return;
+			}
+			Set<String> docIds = values.get(value);
+			if (docIds != null && docIds.remove(id) && docIds.isEmpty()) {
+				values.remove(value);
+				if (values.isEmpty()) {
+					invertedIndex.remove(key);
+				}
+			}
+		});
+		int last = --size;
+		if (slot != last) {
+			System.arraycopy(vectors, last * dimensions, vectors, slot * dimensions, dimensions);
+			ids[slot] = ids[last];
+			texts[slot] = texts[last];
+			metadata[slot] = metadata[last];
+			slotById.put(ids[slot], slot);
+		}
+		ids[last] = null;
+		texts[last] = null;
+		metadata[last] = null;
+		return true;
+	}
+
+	/**
+	 * 整体清空分区并标记为已删除，之后的写入方需要重新获取分区，调用方需持有写锁
+	 * @return 被删除的文档ID
+	 */
+	List<String> drop() {
+		List<String> removed = new ArrayList<>(Arrays.asList(ids).subList(0, size));
+		dropped = true;
+		size = 0;
+		vectors = new float[0];
+		ids = new String[INITIAL_CAPACITY];
+		texts = new String[INITIAL_CAPACITY];
+		metadata = newMetadataArray(INITIAL_CAPACITY);
+		slotById.clear();
+		invertedIndex.clear();
+		return removed;
+	}
+
+	/**
+	 * 返回满足过滤条件的文档ID，调用方需持有读锁
+	 */
+	List<String> matchingIds(MetadataFilterEvaluator.CompiledFilter filter) {
+		List<String> result = new ArrayList<>();
+		Candidates candidates = candidateSlots(filter);
+		for (int slot : candidates.slots()) {
+			if (candidates.exact() || filter.test(metadata[slot])) {
+				result.add(ids[slot]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 返回满足过滤条件的前 limit 条文档（不含向量），调用方需持有读锁
+	 */
+	List<Entry> matchingEntries(MetadataFilterEvaluator.CompiledFilter filter, int limit) {
+		List<Entry> result = new ArrayList<>();
+		Candidates candidates = candidateSlots(filter);
+		for (int slot : candidates.slots()) {
+			if (result.size() >= limit) {
+				break;
+			}
+			if (candidates.exact() || filter.test(metadata[slot])) {
+				result.add(new Entry(ids[slot], texts[slot], metadata[slot], null));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 在候选文档中计算相似度并保留分数最高的 topK 条，调用方需持有读锁
+	 * @param query 已归一化的查询向量
+	 */
+	List<Hit> search(float[] query, int topK, double threshold, MetadataFilterEvaluator.CompiledFilter filter) {
+		if (size == 0 || topK <= 0 || query.length != dimensions) {
+			return List.of();
+		}
+		// 小顶堆，只保留当前最好的 topK 个槽位
+		PriorityQueue<double[]> heap = new PriorityQueue<>(Math.min(topK, size) + 1,
+				(a, b) -> Double.compare(a[0], b[0]));
+		Candidates candidates = candidateSlots(filter);
+		for (int slot : candidates.slots()) {
+			if (!candidates.exact() && !filter.test(metadata[slot])) {
+				continue;
+			}
+			double score = dot(query, vectors, slot * dimensions, dimensions);
+			if (score < threshold) {
+				continue;
+			}
+			if (heap.size() < topK) {
+				heap.add(new double[] { score, slot });
+			}
+			else if (score > heap.peek()[0]) {
+				heap.poll();
+				heap.add(new double[] { score, slot });
+			}
+		}
+		List<Hit> hits = new ArrayList<>(heap.size());
+		for (double[] entry : heap) {
+			int slot = (int) entry[1];
+			hits.add(new Hit(ids[slot], texts[slot], metadata[slot], entry[0]));
+		}
+		return hits;
+	}
+
+	/**
+	 * 遍历所有文档，调用方需持有读锁
+	 */
+	void forEach(Consumer<Entry> consumer) {
+		for (int slot = 0; slot < size; slot++) {
+			consumer.accept(new Entry(ids[slot], texts[slot], metadata[slot],
+					Arrays.copyOfRange(vectors, slot * dimensions, (slot + 1) * dimensions)));
+		}
+	}
+
+	/**
+	 * 点积，4 路展开便于 JIT 自动向量化
+	 */
+	static double dot(float[] query, float[] data, int offset, int length) {
+		float s0 = 0f;
+		float s1 = 0f;
+		float s2 = 0f;
+		float s3 = 0f;
+		int i = 0;
+		int bound = length - (length % 4);
+		for (; i < bound; i += 4) {
+			s0 += query[i] * data[offset + i];
+			s1 += query[i + 1] * data[offset + i + 1];
+			s2 += query[i + 2] * data[offset + i + 2];
+			s3 += query[i + 3] * data[offset + i + 3];
+		}
+		for (; i < length; i++) {
+			s0 += query[i] * data[offset + i];
+		}
+		return (double) s0 + s1 + s2 + s3;
+	}
+
+	/**
+	 * 原地归一化为单位向量，零向量保持不变
+	 */
+	static float[] normalize(float[] vector) {
+		double norm = 0;
+		for (float v : vector) {
+			norm += (double) v * v;
+		}
+		if (norm > 0) {
+			float inv = (float) (1.0 / Math.sqrt(norm));
+			for (int i = 0; i < vector.length; i++) {
+				vector[i] *= inv;
+			}
+		}
+		return vector;
+	}
+
+	/**
+	 * 候选槽位。exact 表示候选集已精确等于满足过滤条件的文档（纯 EQ/IN 合取且每个条件都由倒排索引求得），无需逐条求值
+	 */
+	private record Candidates(List<Integer> slots, boolean exact) {
+
+		private static final Candidates NONE = new Candidates(List.of(), true);
+
+	}
+
+	/**
+	 * 用倒排索引求 EQ/IN 条件的交集，得到候选槽位；没有可用条件时返回全部槽位
+	 */
+	private Candidates candidateSlots(MetadataFilterEvaluator.CompiledFilter filter) {
+		Set<String> candidates = null;
+		boolean exact = filter.pureConjunction();
+		for (MetadataFilterEvaluator.Conjunct conjunct : filter.conjuncts()) {
+			Map<Object, Set<String>> values = invertedIndex.get(conjunct.key());
+			if (values == null) {
+				// 该字段没有任何可索引的值：要么所有文档都不满足，要么值未被索引，交给逐条求值
+				if (conjunct.values().stream().allMatch(VectorPartition::isIndexable)) {
+					return Candidates.NONE;
+				}
+				exact = false;
+				continue;
+			}
+			if (!conjunct.values().stream().allMatch(VectorPartition::isIndexable)) {
+				exact = false;
+				continue;
+			}
+			Set<String> matched = new HashSet<>();
+			for (Object value : conjunct.values()) {
+				matched.addAll(values.getOrDefault(value, Set.of()));
+			}
+			if (candidates == null) {
+				candidates = matched;
+			}
+			else {
+				candidates.retainAll(matched);
+			}
+			if (candidates.isEmpty()) {
+				return Candidates.NONE;
+			}
+		}
+		if (candidates == null) {
+			List<Integer> all = new ArrayList<>(size);
+			for (int slot = 0; slot < size; slot++) {
+				all.add(slot);
+			}
+			return new Candidates(all, exact);
+		}
+		List<Integer> slots = new ArrayList<>(candidates.size());
+		for (String id : candidates) {
+			slots.add(slotById.get(id));
+		}
+		Collections.sort(slots);
+		return new Candidates(slots, exact);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object>[] newMetadataArray(int capacity) {
+		return new Map[capacity];
+	}
+
+	private void ensureCapacity(int required) {
+		if (required > ids.length) {
+			int capacity = Math.max(required, ids.length * 2);
+			ids = Arrays.copyOf(ids, capacity);
+			texts = Arrays.copyOf(texts, capacity);
+			metadata = Arrays.copyOf(metadata, capacity);
+		}
+		if ((long) required * dimensions > vectors.length) {
+			long capacity = Math.max((long) required, (long) ids.length) * dimensions;
+			if (capacity > Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("Vector partition is too large");
+			}
+			vectors = Arrays.copyOf(vectors, (int) capacity);
+		}
+	}
+
+	private static boolean isIndexable(Object value) {
+		return value instanceof Number || value instanceof Boolean
+				|| value instanceof String s && s.length() <= MAX_INDEXED_STRING_LENGTH;
+	}
+
+	private static void forEachIndexedValue(Map<String, Object> docMetadata, BiConsumer<String, Object> consumer) {
+		if (docMetadata == null) {
+			return;
+		}
+		docMetadata.forEach((key, value) -> {
+			Object normalized = MetadataFilterEvaluator.normalize(value);
+			if (isIndexable(normalized)) {
+				consumer.accept(key, normalized);
+			}
+		});
+	}
+
+}
@@ -19,18 +19,30 @@ import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
 import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
+import com.alibaba.cloud.ai.dataagent.event.DatasourceChangedEvent;
 import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
 import com.alibaba.cloud.ai.dataagent.service.datasource.DatasourceService;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for processing database.
+ * <p>
+ * 智能体当前启用的数据源配置与对应的 Accessor 按 agentId 缓存，同一次图执行中的多个节点只解析一次；
+ * 数据源或关联关系变更时通过 {@link DatasourceChangedEvent} 失效。失效会推进代数，加载期间发生过失效的结果不会留在缓存中，
+ * 避免加载读到旧配置后覆盖刚完成的失效。
  */
 @Slf4j
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class DatabaseUtil {
 
 	private final AccessorFactory accessorFactory;
@@ -39,7 +51,77 @@ public class DatabaseUtil {
 
 	private final DatasourceService datasourceService;
 
+	private final Map<Long, ResolvedDatasource> agentDatasourceCache = new ConcurrentHashMap<>();
+
+	private final AtomicLong generation = new AtomicLong();
+
 	public DbConfigBO getAgentDbConfig(Long agentId) {
+		return resolve(agentId).dbConfig();
+	}
+
+	public Accessor getAgentAccessor(Long agentId) {
+		return resolve(agentId).accessor();
+	}
+
+	/**
+	 * 失效单个智能体的数据源缓存
+	 */
+	public void evictAgent(Long agentId) {
+		if (agentId == null) {
+			return;
+		}
+		generation.incrementAndGet();
+		if (agentDatasourceCache.remove(agentId) != null) {
+			log.debug("Evicted cached datasource config for agent: {}", agentId);
+		}
+	}
+
+	/**
+	 * 失效所有引用该数据源的智能体缓存
+	 */
+	public void evictDatasource(Integer datasourceId) {
+		if (datasourceId == null) {
+			return;
+		}
+		generation.incrementAndGet();
+		agentDatasourceCache.entrySet()
+			.removeIf(entry -> Objects.equals(entry.getValue().dbConfig().getDatasourceId(), datasourceId));
+		log.debug("Evicted cached datasource config for datasource: {}", datasourceId);
+	}
+
+	/**
+	 * fallbackExecution 保证非事务方法发布的事件也会立即处理
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void handleDatasourceChanged(DatasourceChangedEvent event) {
+		if (event.getAgentId() != null) {
+			evictAgent(event.getAgentId());
+		}
+		else {
+			evictDatasource(event.getDatasourceId());
+		}
+	}
+
+	private ResolvedDatasource resolve(Long agentId) {
+		ResolvedDatasource cached = agentDatasourceCache.get(agentId);
+		if (cached != null) {
+			return cached;
+		}
+		// 解析失败（如无启用数据源）时不缓存，直接抛出
+		long loadedAt = generation.get();
+		ResolvedDatasource loaded = loadAgentDatasource(agentId);
+		ResolvedDatasource existing = agentDatasourceCache.putIfAbsent(agentId, loaded);
+		if (existing != null) {
+			return existing;
+		}
+		// 先写入再校验代数：失效先推进代数再删除，二者交错时总有一方会移除这次加载的结果
+		if (generation.get() != loadedAt) {
+			agentDatasourceCache.remove(agentId, loaded);
+		}
+		return loaded;
+	}
+
+	private ResolvedDatasource loadAgentDatasource(Long agentId) {
 		log.info("Getting datasource config for agent: {}", agentId);
 
 		// Get the enabled data source for the agent
@@ -49,12 +131,10 @@ public class DatabaseUtil {
 		log.info("Successfully created DbConfig for agent {}: url={}, schema={}, type={}", agentId, dbConfig.getUrl(),
 				dbConfig.getSchema(), dbConfig.getDialectType());
 
-		return dbConfig;
+		return new ResolvedDatasource(dbConfig, accessorFactory.getAccessorByDbConfig(dbConfig));
 	}
 
-	public Accessor getAgentAccessor(Long agentId) {
-		DbConfigBO dbConfig = getAgentDbConfig(agentId);
-		return accessorFactory.getAccessorByDbConfig(dbConfig);
+	private record ResolvedDatasource(DbConfigBO dbConfig, Accessor accessor) {
 	}
 
 }
@@ -18,7 +18,6 @@ package com.alibaba.cloud.ai.dataagent.util;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
 
 import java.util.List;
-import java.util.Map;
 
 public class MdTableGeneratorUtil {
 
@@ -63,19 +62,14 @@ public class MdTableGeneratorUtil {
 	 */
 	public static String generateTable(ResultSetBO resultSetBO) {
 		List<String> column = resultSetBO.getColumn();
-		List<Map<String, String>> data = resultSetBO.getData();
+		List<String[]> rows = resultSetBO.getRows() != null ? resultSetBO.getRows() : List.of();
 
-		String[][] resultArr = new String[data.size() + 1][column.size()];
+		String[][] resultArr = new String[rows.size() + 1][];
 		int idxR = 0;
 
 		resultArr[idxR++] = column.toArray(new String[0]);
 
-		for (Map<String, String> kv : data) {
-			String[] row = new String[column.size()];
-			int idxC = 0;
-			for (String c : column) {
-				row[idxC++] = kv.get(c);
-			}
+		for (String[] row : rows) {
 			resultArr[idxR++] = row;
 		}
 
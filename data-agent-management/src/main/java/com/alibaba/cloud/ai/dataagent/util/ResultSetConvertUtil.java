@@ -40,9 +40,9 @@ public class ResultSetConvertUtil {
 
 		while (rs.next()) {
 			String[] rowData = new String[columnsCount];
-			int idx = 0;
-			for (String head : rowHead) {
-				rowData[idx++] = rs.getString(head) == null ? "" : rs.getString(head);
+			for (int i = 0; i < columnsCount; i++) {
+				String value = rs.getString(i + 1);
+				rowData[i] = value == null ? "" : value;
 			}
 			list.add(rowData);
 		}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 表结构指纹工具类，用于增量初始化 Schema 时判断表是否发生变化。
+ * <p>
+ * 指纹覆盖数据源地址、表名、表注释、列（名称/类型/注释/主键/非空，按顺序）和外键，不包含样本数据。
+ */
+public final class SchemaFingerprintUtil {
+
+	private static final char SEPARATOR = '\u0001';
+
+	private SchemaFingerprintUtil() {
+		throw new AssertionError("Cannot instantiate utility class");
+	}
+
+	/**
+	 * 计算表结构指纹
+	 * @param dbConfig 数据库配置，数据源切换后即使表结构相同也视为变化
+	 * @param table 表信息
+	 * @param columns 表的列信息
+	 * @param foreignKeys 与该表相关的外键描述，顺序无关
+	 * @return SHA-256 十六进制字符串
+	 */
+	public static String fingerprint(DbConfigBO dbConfig, TableInfoBO table, List<ColumnInfoBO> columns,
+			List<String> foreignKeys) {
+		StringBuilder sb = new StringBuilder();
+		if (dbConfig != null) {
+			append(sb, dbConfig.getUrl());
+			append(sb, dbConfig.getSchema());
+		}
+		append(sb, table.getName());
+		append(sb, table.getDescription());
+		if (columns != null) {
+			for (ColumnInfoBO column : columns) {
+				append(sb, column.getName());
+				append(sb, column.getType());
+				append(sb, column.getDescription());
+				append(sb, String.valueOf(column.isPrimary()));
+				append(sb, String.valueOf(column.isNotnull()));
+			}
+		}
+		if (foreignKeys != null) {
+			foreignKeys.stream().filter(Objects::nonNull).sorted().distinct().forEach(fk -> append(sb, fk));
+		}
+		return sha256Hex(sb.toString());
+	}
+
+	private static void append(StringBuilder sb, String value) {
+		sb.append(value == null ? "" : value).append(SEPARATOR);
+	}
+
+	private static String sha256Hex(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+}
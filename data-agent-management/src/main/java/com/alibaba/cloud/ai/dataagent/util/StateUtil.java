@@ -15,6 +15,7 @@
  */
 package com.alibaba.cloud.ai.dataagent.util;
 
+import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
 import com.alibaba.cloud.ai.dataagent.dto.prompt.QueryEnhanceOutputDTO;
 import com.alibaba.cloud.ai.graph.OverAllState;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -27,6 +28,7 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_ENHANCE_NODE_OUTPUT;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.SQL_RESULT_LIST_MEMORY;
 
 /**
  * State management utility class, providing type-safe state getting methods
@@ -124,6 +126,13 @@ public class StateUtil {
 		return getListValue(state, key);
 	}
 
+	/**
+	 * Get the result set of the last successfully executed SQL, empty if absent
+	 */
+	public static ResultSetBO getSqlResultSet(OverAllState state) {
+		return getObjectValue(state, SQL_RESULT_LIST_MEMORY, ResultSetBO.class, new ResultSetBO());
+	}
+
 	/**
 	 * Get canonical query
 	 */
@@ -43,10 +43,8 @@ public class IntentRecognitionDispatcher implements EdgeAction {
 			return END;
 		}
 
-		String classification = intentResult.getClassification();
-
 		// 根据分类结果决定下一个节点
-		if ("《闲聊或无关指令》".equals(classification)) {
+		if (!isDataAnalysis(intentResult)) {
 			log.warn("Intent classified as chat or irrelevant, ending conversation");
 			return END;
 		}
@@ -56,4 +54,15 @@ public class IntentRecognitionDispatcher implements EdgeAction {
 		}
 	}
 
+	/**
+	 * 意图识别结果是否需要继续进入数据分析流程
+	 */
+	public static boolean isDataAnalysis(IntentRecognitionOutputDTO intentResult) {
+		if (intentResult == null || intentResult.getClassification() == null
+				|| intentResult.getClassification().trim().isEmpty()) {
+			return false;
+		}
+		return !"《闲聊或无关指令》".equals(intentResult.getClassification());
+	}
+
 }
@@ -19,9 +19,11 @@ import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.enums.KnowledgeType;
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
 import com.alibaba.cloud.ai.dataagent.dto.prompt.EvidenceQueryRewriteDTO;
-import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
-import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.service.graph.SpeculativeExecutionService;
+import com.alibaba.cloud.ai.dataagent.service.knowledge.AgentKnowledgeSourceCache;
+import com.alibaba.cloud.ai.dataagent.service.knowledge.AgentKnowledgeSourceCache.KnowledgeSource;
 import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.util.*;
@@ -29,10 +31,12 @@ import com.alibaba.cloud.ai.graph.GraphResponse;
 import com.alibaba.cloud.ai.graph.OverAllState;
 import com.alibaba.cloud.ai.graph.action.NodeAction;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
@@ -42,12 +46,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
 
 @Slf4j
 @Component
-@AllArgsConstructor
 public class EvidenceRecallNode implements NodeAction {
 
 	private final LlmService llmService;
@@ -56,7 +65,26 @@ public class EvidenceRecallNode implements NodeAction {
 
 	private final JsonParseUtil jsonParseUtil;
 
-	private final AgentKnowledgeMapper agentKnowledgeMapper;
+	private final AgentKnowledgeSourceCache agentKnowledgeSourceCache;
+
+	private final DataAgentProperties dataAgentProperties;
+
+	private final ExecutorService retrievalExecutor;
+
+	private final SpeculativeExecutionService speculativeExecutionService;
+
+	public EvidenceRecallNode(LlmService llmService, AgentVectorStoreService vectorStoreService,
+			JsonParseUtil jsonParseUtil, AgentKnowledgeSourceCache agentKnowledgeSourceCache,
+			DataAgentProperties dataAgentProperties, @Qualifier("retrievalExecutor") ExecutorService retrievalExecutor,
+			SpeculativeExecutionService speculativeExecutionService) {
+		this.llmService = llmService;
+		this.vectorStoreService = vectorStoreService;
+		this.jsonParseUtil = jsonParseUtil;
+		this.agentKnowledgeSourceCache = agentKnowledgeSourceCache;
+		this.dataAgentProperties = dataAgentProperties;
+		this.retrievalExecutor = retrievalExecutor;
+		this.speculativeExecutionService = speculativeExecutionService;
+	}
 
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
@@ -76,8 +104,9 @@ public class EvidenceRecallNode implements NodeAction {
 		String prompt = PromptHelper.buildEvidenceQueryRewritePrompt(multiTurn, question);
 		log.debug("Built evidence-query-rewrite prompt as follows \n {} \n", prompt);
 
-		// 调用LLM进行查询重写
-		Flux<ChatResponse> responseFlux = llmService.callUser(prompt);
+		// 调用LLM进行查询重写，意图识别阶段已推测发起时直接复用
+		Flux<ChatResponse> responseFlux = speculativeExecutionService.takeEvidenceRewrite(prompt)
+			.orElseGet(() -> llmService.callUser(prompt));
 		Sinks.Many<String> evidenceDisplaySink = Sinks.many().multicast().onBackpressureBuffer();
 
 		final Map<String, Object> resultMap = new HashMap<>();
@@ -112,7 +141,7 @@ public class EvidenceRecallNode implements NodeAction {
 			outputRewrittenQuery(standaloneQuery, sink);
 
 			// 获取业务知识和智能体知识文档
-			DocumentRetrievalResult retrievalResult = retrieveDocuments(agentId, standaloneQuery);
+			DocumentRetrievalResult retrievalResult = retrieveDocuments(agentId, standaloneQuery, sink);
 
 			// 检查是否有证据文档
 			if (retrievalResult.allDocuments().isEmpty()) {
@@ -122,7 +151,7 @@ public class EvidenceRecallNode implements NodeAction {
 			}
 
 			// 构建证据内容
-			String evidence = buildFormattedEvidenceContent(retrievalResult.businessTermDocuments(),
+			String evidence = buildFormattedEvidenceContent(agentId, retrievalResult.businessTermDocuments(),
 					retrievalResult.agentKnowledgeDocuments());
 			log.info("Evidence content built as follows \n {} \n", evidence);
 			// 输出证据内容
@@ -148,18 +177,20 @@ public class EvidenceRecallNode implements NodeAction {
 		sink.tryEmitNext("正在获取证据...");
 	}
 
-	private DocumentRetrievalResult retrieveDocuments(String agentId, String standaloneQuery) {
-		// 获取业务知识文档
-		List<Document> businessTermDocuments = vectorStoreService
-			.getDocumentsForAgent(agentId, standaloneQuery, DocumentMetadataConstant.BUSINESS_TERM)
-			.stream()
-			.toList();
-
-		// 获取智能体知识文档
-		List<Document> agentKnowledgeDocuments = vectorStoreService
-			.getDocumentsForAgent(agentId, standaloneQuery, DocumentMetadataConstant.AGENT_KNOWLEDGE)
-			.stream()
-			.toList();
+	private DocumentRetrievalResult retrieveDocuments(String agentId, String standaloneQuery,
+			Sinks.Many<String> sink) {
+		// 业务知识与智能体知识并发检索，共用同一个截止时间
+		Future<List<Document>> businessTermFuture = submitSearch(agentId, standaloneQuery,
+				DocumentMetadataConstant.BUSINESS_TERM);
+		Future<List<Document>> agentKnowledgeFuture = submitSearch(agentId, standaloneQuery,
+				DocumentMetadataConstant.AGENT_KNOWLEDGE);
+
+		long deadline = System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(dataAgentProperties.getEvidenceRecallTimeout());
+		List<Document> businessTermDocuments = awaitDocuments(businessTermFuture, deadline,
+				DocumentMetadataConstant.BUSINESS_TERM, agentId, sink);
+		List<Document> agentKnowledgeDocuments = awaitDocuments(agentKnowledgeFuture, deadline,
+				DocumentMetadataConstant.AGENT_KNOWLEDGE, agentId, sink);
 
 		// 合并所有证据文档
 		List<Document> allDocuments = new ArrayList<>();
@@ -175,16 +206,60 @@ public class EvidenceRecallNode implements NodeAction {
 		return new DocumentRetrievalResult(businessTermDocuments, agentKnowledgeDocuments, allDocuments);
 	}
 
+	/**
+	 * 以可取消的任务提交检索，超时后 cancel(true) 会中断执行线程，及时释放 retrievalExecutor
+	 */
+	private Future<List<Document>> submitSearch(String agentId, String query, String vectorType) {
+		return retrievalExecutor.submit(() -> vectorStoreService.getDocumentsForAgent(agentId, query, vectorType));
+	}
+
+	/**
+	 * 等待单路检索结果，超时或失败时该路按无结果处理，不影响另一路；同时向前端输出提示并计数，避免与"没有证据"混淆
+	 */
+	private List<Document> awaitDocuments(Future<List<Document>> future, long deadline, String vectorType,
+			String agentId, Sinks.Many<String> sink) {
+		String reason;
+		try {
+			long remaining = Math.max(0, deadline - System.nanoTime());
+			List<Document> documents = future.get(remaining, TimeUnit.NANOSECONDS);
+			return documents != null ? documents : List.of();
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			reason = "timeout";
+			log.warn("Evidence recall of {} timed out for agent: {}", vectorType, agentId);
+			sink.tryEmitNext("证据召回（" + vectorType + "）超时，已跳过该部分证据\n");
+		}
+		catch (ExecutionException e) {
+			reason = "error";
+			log.error("Evidence recall of {} failed for agent: {}", vectorType, agentId, e.getCause());
+			sink.tryEmitNext("证据召回（" + vectorType + "）失败，已跳过该部分证据\n");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			reason = "interrupted";
+			log.warn("Interrupted while waiting for evidence recall of {} for agent: {}", vectorType, agentId);
+		}
+		Counter.builder("dataagent.evidence.recall.failures")
+			.description("Evidence recalls that timed out or failed and were treated as empty")
+			.tag("vector_type", vectorType)
+			.tag("reason", reason)
+			.register(Metrics.globalRegistry)
+			.increment();
+		return List.of();
+	}
+
 	// 构建证据内容，输出格式
 	// 1. [来源: 2025Q3报告-销售数据.md] ...华东地区的增长主要来自于核心用户...
 	// 2. [来源: 客服FAQ] Q: 退款怎么算? A: 只统计已入库退货...
-	private String buildFormattedEvidenceContent(List<Document> businessTermDocuments,
+	private String buildFormattedEvidenceContent(String agentId, List<Document> businessTermDocuments,
 			List<Document> agentKnowledgeDocuments) {
 		// 构建业务知识内容
 		String businessKnowledgeContent = buildBusinessKnowledgeContent(businessTermDocuments);
 
 		// 构建智能体知识内容
-		String agentKnowledgeContent = buildAgentKnowledgeContent(agentKnowledgeDocuments);
+		String agentKnowledgeContent = buildAgentKnowledgeContent(agentId, agentKnowledgeDocuments);
 
 		// 使用PromptHelper的模板方法进行渲染
 		String businessPrompt = PromptHelper.buildBusinessKnowledgePrompt(businessKnowledgeContent);
@@ -214,100 +289,97 @@ public class EvidenceRecallNode implements NodeAction {
 		return result.toString();
 	}
 
-	private String buildAgentKnowledgeContent(List<Document> agentKnowledgeDocuments) {
+	private String buildAgentKnowledgeContent(String agentId, List<Document> agentKnowledgeDocuments) {
 		if (agentKnowledgeDocuments.isEmpty()) {
 			return "";
 		}
 
+		// 一次性批量获取所有召回文档对应的知识来源，获取失败时为 null
+		Map<Integer, KnowledgeSource> sources = loadKnowledgeSources(agentId, agentKnowledgeDocuments);
 		StringBuilder result = new StringBuilder();
 
 		for (int i = 0; i < agentKnowledgeDocuments.size(); i++) {
 			Document doc = agentKnowledgeDocuments.get(i);
 			Map<String, Object> metadata = doc.getMetadata();
 			String knowledgeType = (String) metadata.get(DocumentMetadataConstant.CONCRETE_AGENT_KNOWLEDGE_TYPE);
+			Integer knowledgeId = getKnowledgeId(doc);
 
 			// 根据知识类型调用不同的处理方法
 			if (KnowledgeType.FAQ.getCode().equals(knowledgeType) || KnowledgeType.QA.getCode().equals(knowledgeType)) {
-				processFaqOrQaKnowledge(doc, i, result);
+				processFaqOrQaKnowledge(doc, knowledgeId, sources, i, result);
 			}
 			else {
-				processDocumentKnowledge(doc, i, result);
+				processDocumentKnowledge(doc, knowledgeId, sources, i, result);
 			}
 		}
 
 		return result.toString();
 	}
 
+	private Map<Integer, KnowledgeSource> loadKnowledgeSources(String agentId, List<Document> documents) {
+		List<Integer> knowledgeIds = documents.stream()
+			.map(this::getKnowledgeId)
+			.filter(Objects::nonNull)
+			.distinct()
+			.toList();
+		try {
+			return agentKnowledgeSourceCache.getSources(Integer.valueOf(agentId), knowledgeIds);
+		}
+		catch (Exception e) {
+			// 获取失败时使用原始内容
+			log.error("Error getting knowledge by ids: {}", knowledgeIds, e);
+			return null;
+		}
+	}
+
+	private Integer getKnowledgeId(Document doc) {
+		Object knowledgeId = doc.getMetadata().get(DocumentMetadataConstant.DB_AGENT_KNOWLEDGE_ID);
+		return knowledgeId instanceof Number number ? number.intValue() : null;
+	}
+
 	/**
 	 * 处理FAQ或QA类型的知识
 	 */
-	private void processFaqOrQaKnowledge(Document doc, int index, StringBuilder result) {
-		Map<String, Object> metadata = doc.getMetadata();
+	private void processFaqOrQaKnowledge(Document doc, Integer knowledgeId, Map<Integer, KnowledgeSource> sources,
+			int index, StringBuilder result) {
 		String content = doc.getText();
-		Integer knowledgeId = ((Number) metadata.get(DocumentMetadataConstant.DB_AGENT_KNOWLEDGE_ID)).intValue();
-		String knowledgeType = (String) metadata.get(DocumentMetadataConstant.CONCRETE_AGENT_KNOWLEDGE_TYPE);
-
-		log.debug("Processing {} type knowledge with id: {}", knowledgeType, knowledgeId);
-
-		if (knowledgeId != null) {
-			try {
-				AgentKnowledge knowledge = agentKnowledgeMapper.selectById(knowledgeId);
-				if (knowledge != null) {
-					String title = knowledge.getTitle();
-					// 格式：[来源: xxx] Q: xxx A: xxx
-					result.append(index + 1).append(". [来源: ");
-					result.append(title.isEmpty() ? "知识库" : title);
-					result.append("] Q: ").append(content).append(" A: ").append(knowledge.getContent()).append("\n");
-
-					log.debug("Successfully processed {} knowledge with title: {}", knowledgeType, title);
-				}
-				else {
-					log.warn("Knowledge not found for id: {}", knowledgeId);
-				}
-			}
-			catch (Exception e) {
-				log.error("Error getting knowledge by id: {}", knowledgeId, e);
-				// 如果获取失败，使用原始内容
-				result.append(index + 1).append(". [来源: 知识库] ").append(content).append("\n");
+
+		if (knowledgeId == null || sources == null) {
+			// 如果没有知识ID或获取失败，使用原始内容
+			if (knowledgeId == null) {
+				log.error("No knowledge id found for agent knowledge document: {}", doc.getId());
 			}
-		}
-		else {
-			// 如果没有知识ID，使用原始内容
-			log.error("No knowledge id found for agent knowledge document: {}", doc.getId());
 			result.append(index + 1).append(". [来源: 知识库] ").append(content).append("\n");
+			return;
 		}
+		KnowledgeSource source = sources.get(knowledgeId);
+		if (source == null) {
+			log.warn("Knowledge not found for id: {}", knowledgeId);
+			return;
+		}
+
+		String title = source.title();
+		// 格式：[来源: xxx] Q: xxx A: xxx
+		result.append(index + 1).append(". [来源: ");
+		result.append(title.isEmpty() ? "知识库" : title);
+		result.append("] Q: ").append(content).append(" A: ").append(source.content()).append("\n");
 	}
 
 	/**
 	 * 处理DOCUMENT类型的知识
 	 */
-	private void processDocumentKnowledge(Document doc, int index, StringBuilder result) {
-		Map<String, Object> metadata = doc.getMetadata();
-		String content = doc.getText();
-		Integer knowledgeId = ((Number) metadata.get(DocumentMetadataConstant.DB_AGENT_KNOWLEDGE_ID)).intValue();
-		String knowledgeType = (String) metadata.get(DocumentMetadataConstant.CONCRETE_AGENT_KNOWLEDGE_TYPE);
+	private void processDocumentKnowledge(Document doc, Integer knowledgeId, Map<Integer, KnowledgeSource> sources,
+			int index, StringBuilder result) {
 		String title = "";
 		String sourceFilename = "";
 
-		log.debug("Processing {} type knowledge with id: {}", knowledgeType, knowledgeId);
-
-		if (knowledgeId != null) {
-			try {
-				AgentKnowledge knowledge = agentKnowledgeMapper.selectById(knowledgeId);
-				if (knowledge != null) {
-					title = knowledge.getTitle();
-					sourceFilename = knowledge.getSourceFilename();
-
-					log.debug("Successfully processed {} knowledge with title: {}, source file: {}", knowledgeType,
-							title, sourceFilename);
-				}
-				else {
-					log.warn("Knowledge not found for id: {}", knowledgeId);
-				}
-			}
-			catch (Exception e) {
-				log.error("Error getting knowledge by id: {}", knowledgeId, e);
-			}
+		KnowledgeSource source = sources != null && knowledgeId != null ? sources.get(knowledgeId) : null;
+		if (source != null) {
+			title = source.title();
+			sourceFilename = source.sourceFilename();
+		}
+		else if (sources != null) {
+			log.warn("Knowledge not found for id: {}", knowledgeId);
 		}
 
 		// 构建来源信息，格式为"标题-文件名"
@@ -318,7 +390,7 @@ public class EvidenceRecallNode implements NodeAction {
 
 		result.append(index + 1).append(". [来源: ");
 		result.append(sourceInfo);
-		result.append("] ").append(content).append("\n");
+		result.append("] ").append(doc.getText()).append("\n");
 	}
 
 	private void outputEvidenceContent(List<Document> allDocuments, Sinks.Many<String> sink) {
@@ -17,6 +17,8 @@ package com.alibaba.cloud.ai.dataagent.workflow.node;
 
 import com.alibaba.cloud.ai.dataagent.dto.prompt.IntentRecognitionOutputDTO;
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
+import com.alibaba.cloud.ai.dataagent.service.graph.SpeculativeExecutionService;
+import com.alibaba.cloud.ai.dataagent.workflow.dispatcher.IntentRecognitionDispatcher;
 import com.alibaba.cloud.ai.dataagent.util.JsonParseUtil;
 import com.alibaba.cloud.ai.graph.GraphResponse;
 import com.alibaba.cloud.ai.graph.OverAllState;
@@ -49,6 +51,8 @@ public class IntentRecognitionNode implements NodeAction {
 
 	private final JsonParseUtil jsonParseUtil;
 
+	private final SpeculativeExecutionService speculativeExecutionService;
+
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
 
@@ -58,6 +62,9 @@ public class IntentRecognitionNode implements NodeAction {
 
 		String multiTurn = StateUtil.getStringValue(state, MULTI_TURN_CONTEXT, "(无)");
 
+		// 证据召回的查询重写不依赖意图识别结果，开启推测执行时在此并行发起
+		speculativeExecutionService.speculate(state);
+
 		// 构建意图识别提示
 		String prompt = PromptHelper.buildIntentRecognitionPrompt(multiTurn, userInput);
 		log.debug("Built intent recognition prompt as follows \n {} \n", prompt);
@@ -75,6 +82,9 @@ public class IntentRecognitionNode implements NodeAction {
 					// 使用JsonParseUtil解析JSON并转换为IntentRecognitionOutputDTO对象
 					IntentRecognitionOutputDTO intentRecognitionOutput = jsonParseUtil.tryConvertToObject(result,
 							IntentRecognitionOutputDTO.class);
+					if (!IntentRecognitionDispatcher.isDataAnalysis(intentRecognitionOutput)) {
+						speculativeExecutionService.discard(state);
+					}
 					return Map.of(INTENT_RECOGNITION_NODE_OUTPUT, intentRecognitionOutput);
 				});
 		return Map.of(INTENT_RECOGNITION_NODE_OUTPUT, generator);
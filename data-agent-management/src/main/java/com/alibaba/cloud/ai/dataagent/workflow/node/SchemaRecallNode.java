@@ -20,6 +20,7 @@ import com.alibaba.cloud.ai.graph.GraphResponse;
 import com.alibaba.cloud.ai.graph.OverAllState;
 import com.alibaba.cloud.ai.graph.action.NodeAction;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
+import com.alibaba.cloud.ai.dataagent.service.graph.SpeculativeExecutionService;
 import com.alibaba.cloud.ai.dataagent.service.schema.SchemaService;
 import com.alibaba.cloud.ai.dataagent.util.ChatResponseUtil;
 import com.alibaba.cloud.ai.dataagent.util.FluxUtil;
@@ -54,6 +55,8 @@ public class SchemaRecallNode implements NodeAction {
 
 	private final SchemaService schemaService;
 
+	private final SpeculativeExecutionService speculativeExecutionService;
+
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
 
@@ -64,7 +67,10 @@ public class SchemaRecallNode implements NodeAction {
 		String agentId = StateUtil.getStringValue(state, AGENT_ID);
 
 		// Execute business logic first - recall schema information immediately
-		List<Document> tableDocuments = new ArrayList<>(schemaService.getTableDocumentsForAgent(agentId, input));
+		String originalInput = StateUtil.getStringValue(state, INPUT_KEY, "");
+		List<Document> tableDocuments = new ArrayList<>(
+				speculativeExecutionService.takeTableDocuments(agentId, originalInput, input)
+					.orElseGet(() -> schemaService.getTableDocumentsForAgent(agentId, input)));
 		// extract table names
 		List<String> recalledTableNames = extractTableName(tableDocuments);
 		List<Document> columnDocuments = schemaService.getColumnDocumentsByTableName(agentId, recalledTableNames);
@@ -24,9 +24,10 @@ import static com.alibaba.cloud.ai.dataagent.constant.Constant.SQL_RESULT_LIST_M
 
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.DisplayStyleBO;
-import com.alibaba.cloud.ai.dataagent.bo.schema.ResultBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetFrameBO;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSetPageListener;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
 import com.alibaba.cloud.ai.dataagent.constant.Constant;
 import com.alibaba.cloud.ai.dataagent.dto.datasource.SqlRetryDto;
@@ -48,8 +49,10 @@ import com.alibaba.cloud.ai.graph.GraphResponse;
 import com.alibaba.cloud.ai.graph.OverAllState;
 import com.alibaba.cloud.ai.graph.action.NodeAction;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -141,25 +144,55 @@ public class SqlExecuteNode implements NodeAction {
 			emitter.next(ChatResponseUtil.createPureResponse(TextType.SQL.getStartSign()));
 			emitter.next(ChatResponseUtil.createResponse(sqlQuery));
 			emitter.next(ChatResponseUtil.createPureResponse(TextType.SQL.getEndSign()));
-			ResultBO resultBO = ResultBO.builder().build();
+			boolean streamOpened = false;
 
 			try {
-				// Execute SQL query and get results immediately
-				ResultSetBO resultSetBO = dbAccessor.executeSqlAndReturnObject(dbConfig, dbQueryParameter);
-				// 调用大模型获取图表配置信息并填充到ResultSetBO中
-				DisplayStyleBO displayStyleBO = enrichResultSetWithChartConfig(state, resultSetBO);
-				resultBO.setResultSet(resultSetBO);
-				resultBO.setDisplayStyle(displayStyleBO);
-
-				String strResultSetJson = JsonUtil.getObjectMapper().writeValueAsString(resultSetBO);
-				String strResultJson = JsonUtil.getObjectMapper().writeValueAsString(resultBO);
-
-				// 数据执行成功
-				emitter.next(ChatResponseUtil.createResponse("执行SQL完成"));
-				emitter.next(ChatResponseUtil.createResponse("SQL查询结果："));
-				emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getStartSign()));
-				emitter.next(ChatResponseUtil.createPureResponse(strResultJson));
-				emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getEndSign()));
+				ResultSetBO resultSetBO;
+				DisplayStyleBO displayStyleBO;
+				String strResultSetJson;
+				if (properties.isEnableSqlResultStreaming()) {
+					// 边读取边按页推送结果集：header帧 -> rows帧 -> end帧
+					emitter.next(ChatResponseUtil.createResponse("SQL查询结果："));
+					emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET_STREAM.getStartSign()));
+					streamOpened = true;
+					resultSetBO = dbAccessor.executeSqlAndStreamObject(dbConfig, dbQueryParameter,
+							properties.getSqlResultPageSize(), new ResultSetPageListener() {
+								@Override
+								public void onHeader(List<String> column) {
+									emitter.next(createFrameResponse(ResultSetFrameBO.header(column)));
+								}
+
+								@Override
+								public void onPage(List<String[]> rows) {
+									emitter.next(createFrameResponse(ResultSetFrameBO.rows(rows)));
+								}
+							});
+					// 调用大模型获取图表配置信息，随结束帧一起返回
+					displayStyleBO = enrichResultSetWithChartConfig(state, resultSetBO);
+					emitter.next(createFrameResponse(ResultSetFrameBO.end(resultSetBO.getRowCount(), displayStyleBO)));
+					emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET_STREAM.getEndSign()));
+					streamOpened = false;
+					strResultSetJson = JsonUtil.getObjectMapper().writeValueAsString(resultSetBO);
+					emitter.next(ChatResponseUtil.createResponse("执行SQL完成"));
+				}
+				else {
+					// Execute SQL query and get results immediately
+					resultSetBO = dbAccessor.executeSqlAndReturnObject(dbConfig, dbQueryParameter);
+					// 调用大模型获取图表配置信息并填充到ResultSetBO中
+					displayStyleBO = enrichResultSetWithChartConfig(state, resultSetBO);
+
+					// 结果集只序列化一次，ResultBO直接复用已序列化的结果集
+					strResultSetJson = JsonUtil.getObjectMapper().writeValueAsString(resultSetBO);
+					String strResultJson = "{\"resultSet\":" + strResultSetJson + ",\"displayStyle\":"
+							+ JsonUtil.getObjectMapper().writeValueAsString(displayStyleBO) + "}";
+
+					// 数据执行成功
+					emitter.next(ChatResponseUtil.createResponse("执行SQL完成"));
+					emitter.next(ChatResponseUtil.createResponse("SQL查询结果："));
+					emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getStartSign()));
+					emitter.next(ChatResponseUtil.createPureResponse(strResultJson));
+					emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getEndSign()));
+				}
 
 				// Update step results with the query output
 				Map<String, String> existingResults = StateUtil.getObjectValue(state, SQL_EXECUTE_NODE_OUTPUT,
@@ -167,8 +200,7 @@ public class SqlExecuteNode implements NodeAction {
 				Map<String, String> updatedResults = PlanProcessUtil.addStepResult(existingResults, currentStep,
 						strResultSetJson);
 
-				log.info("SQL execution successful, result count: {}",
-						resultSetBO.getData() != null ? resultSetBO.getData().size() : 0);
+				log.info("SQL execution successful, result count: {}", resultSetBO.getRowCount());
 
 				// 回写最终执行的sql，报告节点需要使用
 				ExecutionStep.ToolParameters currentStepParams = PlanProcessUtil.getCurrentExecutionStep(state)
@@ -176,16 +208,21 @@ public class SqlExecuteNode implements NodeAction {
 				currentStepParams.setSqlQuery(sqlQuery);
 
 				// Prepare the final result object
-				// Store List of SQL query results for use by code execution node
+				// Store SQL query result set for use by code execution node
 				// Reset sql generate count retry times when sql execute success
 				result.putAll(Map.of(SQL_EXECUTE_NODE_OUTPUT, updatedResults, SQL_REGENERATE_REASON,
-						SqlRetryDto.empty(), SQL_RESULT_LIST_MEMORY, resultSetBO.getData(), PLAN_CURRENT_STEP,
+						SqlRetryDto.empty(), SQL_RESULT_LIST_MEMORY, resultSetBO, PLAN_CURRENT_STEP,
 						currentStep + 1, SQL_GENERATE_COUNT, 0));
 			}
 			catch (Exception e) {
 				String errorMessage = e.getMessage();
 				log.error("SQL execution failed - SQL as follows: \n {} \n ", sqlQuery, e);
 				result.put(SQL_REGENERATE_REASON, SqlRetryDto.sqlExecute(errorMessage));
+				if (streamOpened) {
+					// 关闭已开始的流式结果集，前端据此结束渲染
+					emitter.next(createFrameResponse(ResultSetFrameBO.error(errorMessage)));
+					emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET_STREAM.getEndSign()));
+				}
 				emitter.next(ChatResponseUtil.createResponse("SQL执行失败: " + errorMessage));
 			}
 			finally {
@@ -200,6 +237,20 @@ public class SqlExecuteNode implements NodeAction {
 		return Map.of(SQL_EXECUTE_NODE_OUTPUT, generator);
 	}
 
+	/**
+	 * 将流式结果集数据帧序列化为一个数据块
+	 * @param frame 数据帧
+	 * @return 数据块
+	 */
+	private ChatResponse createFrameResponse(ResultSetFrameBO frame) {
+		try {
+			return ChatResponseUtil.createPureResponse(JsonUtil.getObjectMapper().writeValueAsString(frame));
+		}
+		catch (JsonProcessingException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * 调用大模型获取图表配置信息并填充到ResultSetBO中
 	 * @param state 整体状态
@@ -108,6 +108,9 @@ CREATE TABLE IF NOT EXISTS datasource (
   test_status VARCHAR(50) DEFAULT 'unknown' COMMENT '连接测试状态：success-成功，failed-失败，unknown-未知',
   description TEXT COMMENT '描述',
   creator_id BIGINT COMMENT '创建者ID',
+  pool_max_active INT DEFAULT NULL COMMENT '连接池最大活跃连接数，为空时使用全局默认值',
+  pool_min_idle INT DEFAULT NULL COMMENT '连接池最小空闲连接数，为空时使用全局默认值',
+  pool_max_wait INT DEFAULT NULL COMMENT '获取连接最大等待时间(毫秒)，为空时使用全局默认值',
   create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   PRIMARY KEY (id),
@@ -117,6 +120,20 @@ CREATE TABLE IF NOT EXISTS datasource (
   INDEX idx_creator_id (creator_id)
 ) ENGINE = InnoDB COMMENT = '数据源表';
 
+-- 升级已有部署：为 datasource 表补充连接池配置列（列已存在时跳过）
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE datasource ADD COLUMN pool_max_active INT DEFAULT NULL COMMENT ''连接池最大活跃连接数，为空时使用全局默认值''', 'SELECT 1') FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'datasource' AND COLUMN_NAME = 'pool_max_active');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE datasource ADD COLUMN pool_min_idle INT DEFAULT NULL COMMENT ''连接池最小空闲连接数，为空时使用全局默认值''', 'SELECT 1') FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'datasource' AND COLUMN_NAME = 'pool_min_idle');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE datasource ADD COLUMN pool_max_wait INT DEFAULT NULL COMMENT ''获取连接最大等待时间(毫秒)，为空时使用全局默认值''', 'SELECT 1') FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'datasource' AND COLUMN_NAME = 'pool_max_wait');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
 -- 逻辑外键配置表
 CREATE TABLE IF NOT EXISTS logical_relation (
   id INT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
@@ -262,3 +279,24 @@ CREATE TABLE IF NOT EXISTS `model_config` (
   `is_deleted` int(11) DEFAULT '0' COMMENT '0=未删除, 1=已删除',
   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 多轮对话历史表
+CREATE TABLE IF NOT EXISTS conversation_history (
+  thread_id VARCHAR(64) NOT NULL COMMENT '会话线程ID',
+  turns MEDIUMTEXT NOT NULL COMMENT '历史轮次（JSON数组）',
+  update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (thread_id),
+  INDEX idx_conversation_history_update_time (update_time)
+) ENGINE = InnoDB COMMENT = '多轮对话历史表';
+
+-- 图执行检查点表（每个会话线程仅保留最新检查点）
+CREATE TABLE IF NOT EXISTS graph_checkpoint (
+  thread_id VARCHAR(64) NOT NULL COMMENT '会话线程ID',
+  checkpoint_id VARCHAR(64) NOT NULL COMMENT '检查点ID',
+  node_id VARCHAR(100) COMMENT '当前节点',
+  next_node_id VARCHAR(100) COMMENT '下一节点',
+  state LONGTEXT NOT NULL COMMENT '图状态（JSON）',
+  update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (thread_id),
+  INDEX idx_graph_checkpoint_update_time (update_time)
+) ENGINE = InnoDB COMMENT = '图执行检查点表';
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.bo.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultSetBOTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void deserializesRowsUnderRightColumnsWhenDataPrecedesColumn() throws Exception {
+		String json = """
+				{"data":[{"name":"a","id":"1"},{"name":"b","id":"2"}],"column":["id","name"]}
+				""";
+
+		ResultSetBO resultSet = objectMapper.readValue(json, ResultSetBO.class);
+
+		assertEquals(List.of("id", "name"), resultSet.getColumn());
+		assertEquals("1", resultSet.getData().get(0).get("id"));
+		assertEquals("a", resultSet.getData().get(0).get("name"));
+		assertEquals("b", resultSet.getData().get(1).get("name"));
+		assertArrayEquals(new String[] { "2", "b" }, resultSet.getRows().get(1));
+	}
+
+	@Test
+	void roundTripsThroughJson() throws Exception {
+		ResultSetBO original = ResultSetBO.builder()
+			.column(List.of("id", "name"))
+			.rows(List.of(new String[] { "1", "a" }, new String[] { "2", null }))
+			.build();
+
+		ResultSetBO restored = objectMapper.readValue(objectMapper.writeValueAsString(original), ResultSetBO.class);
+
+		assertEquals(original.getColumn(), restored.getColumn());
+		assertEquals(original.getData(), restored.getData());
+	}
+
+	@Test
+	void cloneToleratesMissingColumnAndRows() {
+		ResultSetBO empty = new ResultSetBO();
+
+		ResultSetBO copy = empty.clone();
+
+		assertNull(copy.getColumn());
+		assertNull(copy.getRows());
+	}
+
+}
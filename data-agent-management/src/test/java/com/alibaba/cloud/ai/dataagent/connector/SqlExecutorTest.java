@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.enums.DatabaseDialectEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqlExecutorTest {
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private DatabaseMetaData databaseMetaData;
+
+	@Mock
+	private Statement statement;
+
+	@Mock
+	private ResultSet resultSet;
+
+	@Mock
+	private ResultSetMetaData resultSetMetaData;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(connection.getMetaData()).thenReturn(databaseMetaData);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(anyString())).thenReturn(resultSet);
+		when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+	}
+
+	@Test
+	void switchesSchemaOnceForRepeatedQueries() throws SQLException {
+		when(databaseMetaData.getDatabaseProductName()).thenReturn(DatabaseDialectEnum.H2.code);
+
+		SqlExecutor.executeSqlAndReturnObject(connection, "A", "select 1");
+		SqlExecutor.executeSqlAndReturnObject(connection, "A", "select * from users");
+
+		verify(statement, times(1)).execute("use A;");
+	}
+
+	@Test
+	void reissuesSchemaSwitchAfterUserSqlSwitchesSchema() throws SQLException {
+		when(databaseMetaData.getDatabaseProductName()).thenReturn(DatabaseDialectEnum.H2.code);
+
+		// 用户 SQL 自行切换了 schema，同一连接的下一次执行必须重新切换
+		SqlExecutor.executeSqlAndReturnObject(connection, "A", "set schema B; select 1");
+		SqlExecutor.executeSqlAndReturnObject(connection, "A", "select 1");
+
+		verify(statement, times(2)).execute("use A;");
+	}
+
+	@Test
+	void mysqlUserSqlDoesNotSwitchDatabase() throws SQLException {
+		when(databaseMetaData.getDatabaseProductName()).thenReturn(DatabaseDialectEnum.MYSQL.code);
+
+		SqlExecutor.executeSqlAndReturnObject(connection, "db", "select 1");
+		SqlExecutor.executeSqlAndReturnObject(connection, "db", "select 1");
+
+		verify(statement, never()).execute(anyString());
+	}
+
+}
@@ -30,6 +30,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -107,6 +108,21 @@ public class H2AccessorIntegrationTest {
 		assertThat(productColumnInfoBOS).isNotEmpty();
 	}
 
+	@Test
+	public void testShowColumnsBatch() throws Exception {
+		DbQueryParameter queryParam = DbQueryParameter.from(dbConfig);
+		queryParam.setSchema("product_db");
+		queryParam.setTables(List.of("orders", "order_items"));
+
+		Map<String, List<ColumnInfoBO>> columnsByTable = dbAccessor.showColumnsBatch(dbConfig, queryParam);
+
+		assertThat(columnsByTable).containsKeys("orders", "order_items");
+		queryParam.setTable("orders");
+		assertThat(columnsByTable.get("orders")).extracting(ColumnInfoBO::getName)
+			.containsExactlyInAnyOrderElementsOf(
+					dbAccessor.showColumns(dbConfig, queryParam).stream().map(ColumnInfoBO::getName).toList());
+	}
+
 	@Test
 	public void testShowForeignKeys() throws Exception {
 		DbQueryParameter queryParam = DbQueryParameter.from(dbConfig);
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingCacheStoreTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testEntriesSurviveReopen() {
+		EmbeddingCacheStore store = new EmbeddingCacheStore(true, tempDir, 10, new SimpleMeterRegistry());
+		store.putAll("1:m", Map.of("h1", new float[] { 1f, 2f }, "h2", new float[] { 3f }));
+		store.destroy();
+
+		EmbeddingCacheStore reopened = new EmbeddingCacheStore(true, tempDir, 10, new SimpleMeterRegistry());
+		Map<String, float[]> hits = reopened.getAll("1:m", List.of("h1", "h2", "h3"));
+		assertEquals(2, hits.size());
+		assertArrayEquals(new float[] { 1f, 2f }, hits.get("h1"));
+		assertArrayEquals(new float[] { 3f }, hits.get("h2"));
+		// 不同模型的缓存互不可见
+		assertTrue(reopened.getAll("2:m", List.of("h1")).isEmpty());
+		reopened.destroy();
+	}
+
+	@Test
+	void testLeastRecentlyUsedEntryIsEvicted() {
+		EmbeddingCacheStore store = new EmbeddingCacheStore(true, tempDir, 2, new SimpleMeterRegistry());
+		store.putAll("m", Map.of("a", new float[] { 1f }));
+		store.putAll("m", Map.of("b", new float[] { 2f }));
+		store.getAll("m", List.of("a"));
+		store.putAll("m", Map.of("c", new float[] { 3f }));
+
+		assertEquals(2, store.size());
+		assertEquals(Map.of(), store.getAll("m", List.of("b")));
+		assertEquals(2, store.getAll("m", List.of("a", "c")).size());
+		store.destroy();
+	}
+
+	@Test
+	void testConcurrentReadsSeeConsistentVectorsAcrossCompaction() throws Exception {
+		// 小容量加大量写入会反复触发压缩，读取方不应读到错位的向量
+		EmbeddingCacheStore store = new EmbeddingCacheStore(true, tempDir, 8, new SimpleMeterRegistry());
+		ExecutorService pool = Executors.newFixedThreadPool(3);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		try {
+			Future<?> writer = pool.submit(() -> {
+				for (int i = 0; i < 5000; i++) {
+					store.putAll("m", Map.of("h" + i, new float[] { i, i }));
+				}
+				writing.set(false);
+			});
+			List<Future<?>> readers = new ArrayList<>();
+			for (int r = 0; r < 2; r++) {
+				readers.add(pool.submit(() -> {
+					while (writing.get()) {
+						for (int i = 0; i < 5000; i += 97) {
+							float[] vector = store.getAll("m", List.of("h" + i)).get("h" + i);
+							if (vector != null) {
+								assertArrayEquals(new float[] { i, i }, vector);
+							}
+						}
+					}
+				}));
+			}
+			writer.get();
+			for (Future<?> reader : readers) {
+				reader.get();
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		assertEquals(8, store.size());
+		assertEquals(1, store.getAll("m", List.of("h4999")).size());
+		store.destroy();
+	}
+
+	@Test
+	void testCachingModelOnlyEmbedsMisses() {
+		EmbeddingCacheStore store = new EmbeddingCacheStore(true, tempDir, 100, new SimpleMeterRegistry());
+		CountingEmbeddingModel delegate = new CountingEmbeddingModel();
+		QueryEmbeddingCache queryCache = new QueryEmbeddingCache(Duration.ZERO, 10, 1024, System::nanoTime,
+				new SimpleMeterRegistry());
+		CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, store, queryCache, () -> "1:m");
+
+		List<float[]> first = model.embed(List.of("foo", "bar", "foo"));
+		assertEquals(List.of("foo", "bar"), delegate.requested);
+		assertArrayEquals(first.get(0), first.get(2));
+
+		delegate.requested.clear();
+		List<float[]> second = model.embed(List.of("bar", "baz"));
+		assertEquals(List.of("baz"), delegate.requested);
+		assertArrayEquals(first.get(1), second.get(0));
+		store.destroy();
+	}
+
+	/**
+	 * 以文本长度作为向量，记录实际送到模型的文本
+	 */
+	private static class CountingEmbeddingModel implements EmbeddingModel {
+
+		private final List<String> requested = new ArrayList<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				requested.add(text);
+				embeddings.add(new Embedding(new float[] { text.length(), text.charAt(0) }, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return embed(document.getText());
+		}
+
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingWriterTest {
+
+	@Test
+	void testRateLimitedByHttpStatus() {
+		assertTrue(EmbeddingWriter.isRateLimited(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+		assertTrue(EmbeddingWriter.isRateLimited(
+				new RuntimeException("wrapped", new WebClientResponseException(429, "", null, null, null))));
+		assertFalse(EmbeddingWriter.isRateLimited(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+	}
+
+	@Test
+	void testRateLimitedByMessageOnlyForTooManyRequests() {
+		assertTrue(EmbeddingWriter.isRateLimited(new RuntimeException("wrapped",
+				new IllegalStateException("HTTP 429 - Too Many Requests"))));
+		// 消息中恰好含有 429 的普通错误不视为限流
+		assertFalse(EmbeddingWriter.isRateLimited(new RuntimeException("Invalid input, request id: 8f4290ab")));
+		assertFalse(EmbeddingWriter.isRateLimited(new RuntimeException("Invalid api key")));
+	}
+
+}
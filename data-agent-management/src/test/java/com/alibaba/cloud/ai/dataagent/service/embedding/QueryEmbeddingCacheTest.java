@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryEmbeddingCacheTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private float[] load() {
+		loads.incrementAndGet();
+		return new float[] { 1f, 2f, 3f, 4f };
+	}
+
+	@Test
+	void testRepeatedQueryLoadsOnceWithinTtl() {
+		QueryEmbeddingCache cache = new QueryEmbeddingCache(Duration.ofSeconds(60), 10, 1024 * 1024, now::get,
+				new SimpleMeterRegistry());
+
+		cache.get("m", "销售额最高的城市", this::load);
+		cache.get("m", "销售额最高的城市", this::load);
+		assertEquals(1, loads.get());
+
+		// 不同模型分别缓存
+		cache.get("n", "销售额最高的城市", this::load);
+		assertEquals(2, loads.get());
+
+		now.addAndGet(Duration.ofSeconds(61).toNanos());
+		cache.get("m", "销售额最高的城市", this::load);
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void testEvictsByEntryCountAndBytes() {
+		QueryEmbeddingCache byCount = new QueryEmbeddingCache(Duration.ofSeconds(60), 2, 1024 * 1024, now::get,
+				new SimpleMeterRegistry());
+		byCount.get("m", "a", this::load);
+		byCount.get("m", "b", this::load);
+		byCount.get("m", "c", this::load);
+		assertEquals(2, byCount.size());
+
+		// 每条约 64 + 2*3 + 16 字节，上限只够放下一条
+		QueryEmbeddingCache byBytes = new QueryEmbeddingCache(Duration.ofSeconds(60), 10, 100, now::get,
+				new SimpleMeterRegistry());
+		byBytes.get("m", "a", this::load);
+		byBytes.get("m", "b", this::load);
+		assertEquals(1, byBytes.size());
+	}
+
+	@Test
+	void testDisabledWhenTtlIsZero() {
+		QueryEmbeddingCache cache = new QueryEmbeddingCache(Duration.ZERO, 10, 1024, now::get,
+				new SimpleMeterRegistry());
+		assertFalse(cache.isEnabled());
+		cache.get("m", "q", this::load);
+		cache.get("m", "q", this::load);
+		assertEquals(2, loads.get());
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void testBurstWithinCapacityDoesNotWait() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, Duration.ofSeconds(1), now::get);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.reserve(1));
+		}
+		// 第6个请求需要等待约 1/5 秒
+		long wait = limiter.reserve(1);
+		assertEquals(Duration.ofMillis(200).toNanos(), wait, Duration.ofMillis(1).toNanos());
+	}
+
+	@Test
+	void testRefillOverTime() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, Duration.ofSeconds(1), now::get);
+		assertEquals(0, limiter.reserve(10));
+		assertTrue(limiter.reserve(1) > 0);
+
+		now.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertEquals(0, limiter.reserve(5));
+	}
+
+	@Test
+	void testOversizedRequestBorrows() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, Duration.ofMinutes(1), now::get);
+
+		// 超过桶容量的请求不会被拒绝，只按透支的部分等待
+		assertEquals(0, limiter.reserve(50));
+		assertEquals(Duration.ofMinutes(1).toNanos(), limiter.reserve(150), Duration.ofMillis(1).toNanos());
+	}
+
+	@Test
+	void testUnlimited() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0, Duration.ofSeconds(1), now::get);
+
+		assertTrue(limiter.isUnlimited());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(0, limiter.reserve(1000));
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import com.alibaba.cloud.ai.dataagent.mapper.ConversationHistoryMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcConversationHistoryStoreTest {
+
+	/**
+	 * 以内存 Map 模拟共享的 conversation_history 表
+	 */
+	static class InMemoryConversationHistoryMapper implements ConversationHistoryMapper {
+
+		private final Map<String, String> rows = new ConcurrentHashMap<>();
+
+		@Override
+		public String selectTurns(String threadId) {
+			return rows.get(threadId);
+		}
+
+		@Override
+		public int updateTurns(String threadId, String turns, LocalDateTime updateTime) {
+			return rows.replace(threadId, turns) != null ? 1 : 0;
+		}
+
+		@Override
+		public int insert(String threadId, String turns, LocalDateTime updateTime) {
+			rows.put(threadId, turns);
+			return 1;
+		}
+
+	}
+
+	private static void turn(MultiTurnContextManager manager, String threadId, String question, String plan) {
+		manager.beginTurn(threadId, question);
+		manager.appendPlannerChunk(threadId, plan);
+		manager.finishTurn(threadId);
+	}
+
+	@Test
+	void turnsWrittenOnOneNodeAreVisibleAndPreservedOnAnother() {
+		InMemoryConversationHistoryMapper sharedDb = new InMemoryConversationHistoryMapper();
+		DataAgentProperties properties = new DataAgentProperties();
+		MultiTurnContextManager nodeA = new MultiTurnContextManager(properties,
+				new JdbcConversationHistoryStore(sharedDb));
+		MultiTurnContextManager nodeB = new MultiTurnContextManager(properties,
+				new JdbcConversationHistoryStore(sharedDb));
+
+		turn(nodeA, "t1", "q1", "p1");
+		assertEquals("用户: q1\nAI计划: p1", nodeB.buildContext("t1"));
+
+		turn(nodeB, "t1", "q2", "p2");
+		turn(nodeA, "t1", "q3", "p3");
+
+		assertEquals("用户: q1\nAI计划: p1\n用户: q2\nAI计划: p2\n用户: q3\nAI计划: p3", nodeB.buildContext("t1"));
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiTurnContextManagerTest {
+
+	private static void turn(MultiTurnContextManager manager, String threadId, String question, String plan) {
+		manager.beginTurn(threadId, question);
+		manager.appendPlannerChunk(threadId, plan);
+		manager.finishTurn(threadId);
+	}
+
+	@Test
+	void keepsOnlyConfiguredNumberOfTurns() {
+		DataAgentProperties properties = new DataAgentProperties();
+		properties.setMaxturnhistory(2);
+		LocalConversationHistoryStore store = new LocalConversationHistoryStore(10);
+		MultiTurnContextManager manager = new MultiTurnContextManager(properties, store);
+
+		turn(manager, "t1", "q1", "p1");
+		turn(manager, "t1", "q2", "p2");
+		turn(manager, "t1", "q3", "p3");
+
+		assertEquals("用户: q2\nAI计划: p2\n用户: q3\nAI计划: p3", manager.buildContext("t1"));
+
+		manager.restartLastTurn("t1");
+		assertEquals("用户: q2\nAI计划: p2", manager.buildContext("t1"));
+		manager.appendPlannerChunk("t1", "p3'");
+		manager.finishTurn("t1");
+		assertEquals(2, store.load("t1").size());
+		assertEquals("p3'", store.load("t1").get(1).plan());
+	}
+
+	@Test
+	void localStoreEvictsLeastRecentlyUsedThreads() {
+		LocalConversationHistoryStore store = new LocalConversationHistoryStore(2);
+		MultiTurnContextManager manager = new MultiTurnContextManager(new DataAgentProperties(), store);
+
+		turn(manager, "t1", "q", "p");
+		turn(manager, "t2", "q", "p");
+		manager.buildContext("t1");
+		turn(manager, "t3", "q", "p");
+
+		assertEquals(2, store.size());
+		assertEquals("(无)", manager.buildContext("t2"));
+		assertNotEquals("(无)", manager.buildContext("t1"));
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import com.alibaba.cloud.ai.dataagent.exception.StreamLimitExceededException;
+import com.alibaba.cloud.ai.dataagent.vo.GraphNodeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamContextRegistryTest {
+
+	private static Sinks.Many<ServerSentEvent<GraphNodeResponse>> sink() {
+		return Sinks.many().unicast().onBackpressureBuffer();
+	}
+
+	@Test
+	void rejectsNewStreamsBeyondLimitButReusesExistingThread() {
+		StreamContextRegistry registry = new StreamContextRegistry(2, new SimpleMeterRegistry());
+		StreamContext first = registry.register("t1", sink());
+		registry.register("t2", sink());
+
+		assertThrows(StreamLimitExceededException.class, () -> registry.register("t3", sink()));
+		assertSame(first, registry.register("t1", sink()));
+		assertEquals(2, registry.size());
+
+		registry.remove("t2");
+		assertNotNull(registry.register("t3", sink()));
+	}
+
+	@Test
+	void removeIdleOnlyEvictsInactiveContexts() throws InterruptedException {
+		StreamContextRegistry registry = new StreamContextRegistry(10, new SimpleMeterRegistry());
+		registry.register("idle", sink());
+		Thread.sleep(50);
+		registry.register("active", sink());
+
+		Map<String, StreamContext> removed = registry.removeIdle(Duration.ofMillis(30));
+
+		assertEquals(1, removed.size());
+		assertTrue(removed.containsKey("idle"));
+		assertNull(registry.get("idle"));
+		assertNotNull(registry.get("active"));
+	}
+
+	@Test
+	void reportsBufferedEventsGauge() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		StreamContextRegistry registry = new StreamContextRegistry(10, meterRegistry);
+		Sinks.Many<ServerSentEvent<GraphNodeResponse>> sink = sink();
+		registry.register("t1", sink);
+		sink.tryEmitNext(ServerSentEvent.builder(GraphNodeResponse.error("a", "t1", "x")).build());
+		sink.tryEmitNext(ServerSentEvent.builder(GraphNodeResponse.error("a", "t1", "y")).build());
+
+		assertEquals(1.0, meterRegistry.get("dataagent.stream.contexts").gauge().value());
+		assertEquals(2.0, meterRegistry.get("dataagent.stream.buffered.events").gauge().value());
+	}
+
+}
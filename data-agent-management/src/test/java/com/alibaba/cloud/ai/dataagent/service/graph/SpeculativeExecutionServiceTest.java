@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaService;
+import com.alibaba.cloud.ai.dataagent.util.ChatResponseUtil;
+import com.alibaba.cloud.ai.graph.OverAllState;
+import com.alibaba.cloud.ai.graph.state.strategy.ReplaceStrategy;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.document.Document;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpeculativeExecutionServiceTest {
+
+	@Mock
+	private LlmService llmService;
+
+	@Mock
+	private SchemaService schemaService;
+
+	private ExecutorService executor;
+
+	private DataAgentProperties properties;
+
+	private SpeculativeExecutionService service;
+
+	private OverAllState state;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+		properties = new DataAgentProperties();
+		properties.getSpeculative().setEnabled(true);
+		properties.getSpeculative().setSchemaRecallEnabled(true);
+		service = new SpeculativeExecutionService(llmService, schemaService, executor, properties);
+
+		state = new OverAllState();
+		state.registerKeyAndStrategy(INPUT_KEY, new ReplaceStrategy());
+		state.registerKeyAndStrategy(AGENT_ID, new ReplaceStrategy());
+		state.updateState(Map.of(INPUT_KEY, "上个月销售额", AGENT_ID, "1"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void evidenceRewriteAndRawSchemaRecallAreReused() {
+		when(llmService.callUser(anyString()))
+			.thenReturn(Flux.just(ChatResponseUtil.createPureResponse("a"), ChatResponseUtil.createPureResponse("b")));
+		List<Document> tables = List.of(new Document("orders"));
+		when(schemaService.getTableDocumentsForAgent("1", "上个月销售额")).thenReturn(tables);
+
+		service.speculate(state);
+		String prompt = PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "上个月销售额");
+		Flux<String> replayed = service.takeEvidenceRewrite(prompt).orElseThrow().map(ChatResponseUtil::getText);
+
+		assertEquals(List.of("a", "b"), replayed.collectList().block());
+		assertTrue(service.takeEvidenceRewrite(prompt).isEmpty());
+		assertEquals(tables, service.takeTableDocuments("1", "上个月销售额", "上个月销售额").orElseThrow());
+		verify(llmService, times(1)).callUser(anyString());
+	}
+
+	@Test
+	void rawSchemaRecallIsNotReusedForRewrittenQueryAndDiscardDropsResults() {
+		when(llmService.callUser(anyString())).thenReturn(Flux.never());
+
+		service.speculate(state);
+		assertTrue(service.takeTableDocuments("1", "上个月销售额", "2024年10月的销售总额").isEmpty());
+
+		service.discard(state);
+		String prompt = PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "上个月销售额");
+		assertTrue(service.takeEvidenceRewrite(prompt).isEmpty());
+	}
+
+	@Test
+	void slowSpeculativeSchemaRecallFallsBackInsteadOfBlocking() throws Exception {
+		properties.getVectorStore().setHybridVectorSearchTimeout(50);
+		service = new SpeculativeExecutionService(llmService, schemaService, executor, properties);
+		when(llmService.callUser(anyString())).thenReturn(Flux.never());
+		CountDownLatch interrupted = new CountDownLatch(1);
+		when(schemaService.getTableDocumentsForAgent("1", "上个月销售额")).thenAnswer(invocation -> {
+			try {
+				new CountDownLatch(1).await();
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return List.of();
+		});
+
+		service.speculate(state);
+		long start = System.nanoTime();
+		assertTrue(service.takeTableDocuments("1", "上个月销售额", "上个月销售额").isEmpty());
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+		// 超时后取消推测召回，释放检索线程
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void disabledSpeculationRecordsNoMetrics() {
+		properties.getSpeculative().setEnabled(false);
+		service = new SpeculativeExecutionService(llmService, schemaService, executor, properties);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		try {
+			service.speculate(state);
+			assertTrue(service.takeEvidenceRewrite("prompt").isEmpty());
+			assertTrue(service.takeTableDocuments("1", "上个月销售额", "上个月销售额").isEmpty());
+			assertEquals(0, registry.find("dataagent.graph.speculation")
+				.counters()
+				.stream()
+				.mapToDouble(counter -> counter.count())
+				.sum());
+		}
+		finally {
+			Metrics.removeRegistry(registry);
+		}
+		verifyNoInteractions(llmService, schemaService);
+	}
+
+}
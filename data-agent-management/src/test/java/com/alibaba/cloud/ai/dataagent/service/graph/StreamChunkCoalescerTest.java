@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph;
+
+import com.alibaba.cloud.ai.dataagent.enums.TextType;
+import com.alibaba.cloud.ai.dataagent.vo.GraphNodeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamChunkCoalescerTest {
+
+	private static GraphNodeResponse chunk(String node, TextType type, String text) {
+		return GraphNodeResponse.builder().nodeName(node).textType(type).text(text).build();
+	}
+
+	@Test
+	void mergesAdjacentChunksOfSameNodeAndType() {
+		List<GraphNodeResponse> merged = StreamChunkCoalescer.coalesce(List.of(chunk("A", TextType.TEXT, "he"),
+				chunk("A", TextType.TEXT, "llo"), chunk("A", TextType.SQL, "select"), chunk("B", TextType.SQL, " 1")),
+				0);
+
+		assertEquals(3, merged.size());
+		assertEquals("hello", merged.get(0).getText());
+		assertEquals("select", merged.get(1).getText());
+		assertEquals("B", merged.get(2).getNodeName());
+	}
+
+	@Test
+	void startsNewFrameWhenMaxCharsReached() {
+		List<GraphNodeResponse> merged = StreamChunkCoalescer.coalesce(List.of(chunk("A", TextType.TEXT, "abc"),
+				chunk("A", TextType.TEXT, "def"), chunk("A", TextType.TEXT, "gh")), 5);
+
+		assertEquals(List.of("abc", "defgh"), merged.stream().map(GraphNodeResponse::getText).toList());
+	}
+
+	@Test
+	void neverMergesJsonFramedResultSetChunks() {
+		String header = "{\"type\":\"header\",\"column\":[\"id\"]}";
+		String rows = "{\"type\":\"rows\",\"data\":[[\"1\"]]}";
+		List<GraphNodeResponse> merged = StreamChunkCoalescer.coalesce(
+				List.of(chunk("SqlExecuteNode", TextType.RESULT_SET_STREAM, header),
+						chunk("SqlExecuteNode", TextType.RESULT_SET_STREAM, rows),
+						chunk("SqlExecuteNode", TextType.RESULT_SET, "{}"),
+						chunk("SqlExecuteNode", TextType.RESULT_SET, "{}")),
+				0);
+
+		assertEquals(List.of(header, rows, "{}", "{}"), merged.stream().map(GraphNodeResponse::getText).toList());
+	}
+
+	@Test
+	void keepsSingleOversizedChunkAndPreservesOrderAcrossNodes() {
+		List<GraphNodeResponse> merged = StreamChunkCoalescer.coalesce(List.of(chunk("A", TextType.TEXT, "abcdefgh"),
+				chunk("B", TextType.TEXT, "x"), chunk("A", TextType.TEXT, "y"), chunk("A", TextType.TEXT, "z")), 4);
+
+		assertEquals(List.of("abcdefgh", "x", "yz"), merged.stream().map(GraphNodeResponse::getText).toList());
+		assertEquals(List.of("A", "B", "A"), merged.stream().map(GraphNodeResponse::getNodeName).toList());
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.checkpoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointStateSerializerTest {
+
+	record Plan(String thought, List<String> steps) {
+	}
+
+	static class Unserializable {
+
+		public String getValue() {
+			throw new IllegalStateException("not serializable");
+		}
+
+	}
+
+	@Test
+	void roundTripsTypedValuesAndDropsExcludedOrBrokenEntries() throws Exception {
+		CheckpointStateSerializer serializer = new CheckpointStateSerializer(List.of("SQL_RESULT_LIST_MEMORY"));
+		Map<String, Object> state = new HashMap<>();
+		state.put("input", "最近一周的订单量");
+		state.put("retry", 2);
+		state.put("humanReviewEnabled", true);
+		state.put("plan", new Plan("查询订单", List.of("step1", "step2")));
+		state.put("SQL_RESULT_LIST_MEMORY", List.of("large"));
+		state.put("generator", new Unserializable());
+
+		Map<String, Object> restored = serializer.deserialize(serializer.serialize(state));
+
+		assertEquals("最近一周的订单量", restored.get("input"));
+		assertEquals(2, restored.get("retry"));
+		assertEquals(true, restored.get("humanReviewEnabled"));
+		assertEquals(new Plan("查询订单", List.of("step1", "step2")), restored.get("plan"));
+		assertFalse(restored.containsKey("SQL_RESULT_LIST_MEMORY"));
+		assertFalse(restored.containsKey("generator"));
+	}
+
+	@Test
+	void preservesNumericTypes() throws Exception {
+		CheckpointStateSerializer serializer = new CheckpointStateSerializer(List.of());
+		Map<String, Object> state = Map.of("long", 3L, "int", 3, "double", 1.5, "strings",
+				new ArrayList<>(List.of("a", "b")));
+
+		Map<String, Object> restored = serializer.deserialize(serializer.serialize(state));
+
+		assertEquals(3L, restored.get("long"));
+		assertEquals(3, restored.get("int"));
+		assertEquals(1.5, restored.get("double"));
+		assertEquals(List.of("a", "b"), restored.get("strings"));
+	}
+
+	@Test
+	void skipsEntriesThatCannotBeRestored() throws Exception {
+		CheckpointStateSerializer serializer = new CheckpointStateSerializer(List.of());
+		String json = """
+				{"input":["java.lang.String","q"],
+				 "renamed":["com.alibaba.cloud.ai.dataagent.NoSuchClass",{}],
+				 "forbidden":["javax.naming.InitialContext",{}]}
+				""";
+
+		Map<String, Object> restored = serializer.deserialize(json);
+
+		assertEquals(Map.of("input", "q"), restored);
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.fusion;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.service.hybrid.fusion.impl.WeightedAverageStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WeightedAverageStrategy的单元测试
+ */
+class WeightedAverageStrategyTest {
+
+	@Test
+	void testScoresAreNormalizedPerSourceAndWeighted() {
+		// 向量分数在 [0.7, 0.9]，关键词分数在 [2, 10]，归一化后量纲一致
+		List<Document> vectorResults = List.of(document("id1", 0.9, "table"), document("id2", 0.8, "table"),
+				document("id3", 0.7, "table"));
+		List<Document> keywordResults = List.of(document("id3", 10.0, "table"), document("id4", 2.0, "table"));
+
+		WeightedAverageStrategy strategy = new WeightedAverageStrategy(List.of(0.5, 0.5), Map.of());
+		List<Document> result = strategy.fuseResults(3, vectorResults, keywordResults);
+
+		assertEquals(List.of("id1", "id3", "id2"), result.stream().map(Document::getId).toList());
+		assertEquals(0.5, result.get(0).getScore(), 1e-9);
+		assertEquals(0.5, (Double) result.get(1).getMetadata().get(DocumentMetadataConstant.FUSION_SCORE), 1e-9);
+		assertEquals(0.25, result.get(2).getScore(), 1e-9);
+	}
+
+	@Test
+	void testWeightsCanBeOverriddenByVectorType() {
+		List<Document> vectorResults = List.of(document("id1", 0.9, "table"), document("id2", 0.1, "table"));
+		List<Document> keywordResults = List.of(document("id2", 5.0, "table"), document("id1", 1.0, "table"));
+
+		WeightedAverageStrategy strategy = new WeightedAverageStrategy(List.of(0.8, 0.2),
+				Map.of("table", List.of(0.2, 0.8)));
+		List<Document> result = strategy.fuseResults(2, vectorResults, keywordResults);
+
+		assertEquals(List.of("id2", "id1"), result.stream().map(Document::getId).toList());
+	}
+
+	@Test
+	void testMissingScoresFallBackToRank() {
+		List<Document> vectorResults = List.of(new Document("id1", "content1", Map.of()),
+				new Document("id2", "content2", Map.of()));
+
+		List<Document> result = new WeightedAverageStrategy().fuseResults(5, vectorResults, null);
+
+		assertEquals(List.of("id1", "id2"), result.stream().map(Document::getId).toList());
+		assertTrue(new WeightedAverageStrategy().fuseResults(0, vectorResults).isEmpty());
+	}
+
+	private static Document document(String id, double score, String vectorType) {
+		return Document.builder()
+			.id(id)
+			.text("content-" + id)
+			.metadata(Map.of(DocumentMetadataConstant.VECTOR_TYPE, vectorType))
+			.score(score)
+			.build();
+	}
+
+}
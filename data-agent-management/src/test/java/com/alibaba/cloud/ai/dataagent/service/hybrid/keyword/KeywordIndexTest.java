@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.keyword;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordIndexTest {
+
+	private final FilterExpressionTextParser parser = new FilterExpressionTextParser();
+
+	@Test
+	void testTokenizerSplitsCjkIntoBigramsAndKeepsIdentifiers() {
+		assertEquals(List.of("订单", "单金", "金额", "order_amount", "order", "amount"),
+				KeywordTokenizer.tokenize("订单金额(order_amount)"));
+		assertEquals(List.of("表", "user"), KeywordTokenizer.tokenize("表 User"));
+	}
+
+	@Test
+	void testSearchRanksExactTermsAndRespectsFilter() {
+		KeywordIndex index = new KeywordIndex(agentId -> "1".equals(agentId) ? List.of(
+				document("t1", "订单表，记录订单金额 order_amount", "1", "table"),
+				document("t2", "用户表，记录用户信息 user_name", "1", "table"),
+				document("c1", "订单金额列 order_amount", "1", "column")) : List.of());
+
+		List<Document> results = index.search("订单金额", parser.parse("agentId == '1' && vectorType == 'table'"), 10);
+		assertEquals(List.of("t1"), results.stream().map(Document::getId).toList());
+		assertTrue(results.get(0).getScore() > 0);
+
+		assertEquals(List.of("t2"), index.search("user_name", parser.parse("agentId == '1'"), 10)
+			.stream()
+			.map(Document::getId)
+			.toList());
+		assertTrue(index.search("订单", parser.parse("agentId == '2'"), 10).isEmpty());
+	}
+
+	@Test
+	void testAddAndDeleteKeepLoadedPartitionInSync() {
+		KeywordIndex index = new KeywordIndex(agentId -> List.of());
+		// 未加载的分区写入时跳过
+		index.add("1", List.of(document("t1", "订单表", "1", "table")));
+		assertTrue(index.search("订单", parser.parse("agentId == '1'"), 10).isEmpty());
+
+		index.add("1", List.of(document("t1", "订单表", "1", "table"), document("t2", "订单明细表", "1", "table")));
+		assertEquals(2, index.search("订单", parser.parse("agentId == '1'"), 10).size());
+
+		index.delete("1", parser.parse("agentId == '1' && vectorType == 'table'"));
+		assertTrue(index.search("订单", parser.parse("agentId == '1'"), 10).isEmpty());
+	}
+
+	private static Document document(String id, String text, String agentId, String vectorType) {
+		return Document.builder()
+			.id(id)
+			.text(text)
+			.metadata(Map.of("agentId", agentId, "vectorType", vectorType))
+			.build();
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.hybrid.rerank;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexicalRerankerTest {
+
+	@Test
+	void testExactTermMatchesMoveUp() {
+		// 召回顺序中精确命中的列排在最后
+		List<Document> candidates = List.of(document("c1", "用户表的创建时间 create_time", 0.82),
+				document("c2", "订单表的支付时间 pay_time", 0.80), document("c3", "订单表的订单金额 order_amount", 0.78));
+
+		List<Document> result = new LexicalReranker(0.9).rerank("订单金额", candidates, 2);
+
+		assertEquals(List.of("c3", "c2"), result.stream().map(Document::getId).toList());
+		assertEquals(result.get(0).getScore(), result.get(0).getMetadata().get(DocumentMetadataConstant.RERANK_SCORE));
+	}
+
+	@Test
+	void testWithoutLexicalWeightKeepsRecallOrder() {
+		List<Document> candidates = List.of(document("c1", "create_time", 0.9), document("c2", "order_amount", 0.5));
+
+		List<Document> result = new LexicalReranker(0).rerank("order_amount", candidates, 5);
+
+		assertEquals(List.of("c1", "c2"), result.stream().map(Document::getId).toList());
+		assertTrue(new LexicalReranker(0.5).rerank("order_amount", List.of(), 5).isEmpty());
+	}
+
+	private static Document document(String id, String text, double score) {
+		return Document.builder().id(id).text(text).metadata(Map.of()).score(score).build();
+	}
+
+}
@@ -27,12 +27,15 @@ import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.testcontainers.shaded.com.google.common.util.concurrent.MoreExecutors;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -145,4 +148,55 @@ class AbstractHybridRetrievalStrategyTest {
 		assertEquals(vectorResults, finalDocuments);
 	}
 
+	@Test
+	void retrieve_ShouldFallBackToVectorResults_WhenKeywordSearchFails() {
+		HybridSearchRequest request = HybridSearchRequest.builder().query("test query").topK(10).build();
+
+		Document doc1 = new Document("vec_doc1", Map.of("source", "vector"));
+		List<Document> vectorResults = List.of(doc1);
+		List<Document> emptyResults = Collections.emptyList();
+
+		when(vectorStore.similaritySearch(any(SearchRequest.class))).thenReturn(vectorResults);
+		org.mockito.Mockito.doThrow(new IllegalStateException("keyword backend down"))
+			.when(retrievalStrategy)
+			.getDocumentsByKeywords(request);
+		when(fusionStrategy.fuseResults(10, vectorResults, emptyResults)).thenReturn(vectorResults);
+
+		assertEquals(vectorResults, retrievalStrategy.retrieve(request));
+	}
+
+	@Test
+	void retrieve_ShouldCancelSlowKeywordSearch_WhenDeadlineExceeded() {
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			AbstractHybridRetrievalStrategy slowStrategy = new MyHybridRetrievalStrategy(executor, vectorStore,
+					fusionStrategy) {
+				@Override
+				public List<Document> getDocumentsByKeywords(HybridSearchRequest request) {
+					try {
+						Thread.sleep(10_000);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return List.of(new Document("key_doc1", Map.of("source", "keyword")));
+				}
+			};
+			slowStrategy.setKeywordSearchTimeout(Duration.ofMillis(100));
+			HybridSearchRequest request = HybridSearchRequest.builder().query("test query").topK(10).build();
+
+			Document doc1 = new Document("vec_doc1", Map.of("source", "vector"));
+			List<Document> vectorResults = List.of(doc1);
+			when(vectorStore.similaritySearch(any(SearchRequest.class))).thenReturn(vectorResults);
+			when(fusionStrategy.fuseResults(10, vectorResults, Collections.emptyList())).thenReturn(vectorResults);
+
+			long start = System.nanoTime();
+			assertEquals(vectorResults, slowStrategy.retrieve(request));
+			assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 5_000);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 }
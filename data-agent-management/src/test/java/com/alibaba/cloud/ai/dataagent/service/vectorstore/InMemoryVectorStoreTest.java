@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryVectorStoreTest {
+
+	private static final BatchingStrategy SINGLE_BATCH = List::of;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testSearchRespectsFilterAndTopK() throws Exception {
+		CountingEmbeddingModel model = new CountingEmbeddingModel();
+		InMemoryVectorStore store = new InMemoryVectorStore(model, SINGLE_BATCH, null, Duration.ZERO);
+		store.add(List.of(document("1", "aaa", "1", "table"), document("2", "aab", "1", "table"),
+				document("3", "bbb", "1", "column"), document("4", "aaa", "2", "table")));
+
+		List<Document> results = store.similaritySearch(SearchRequest.builder()
+			.query("aaa")
+			.topK(1)
+			.filterExpression("agentId == '1' && vectorType == 'table'")
+			.build());
+		assertEquals(1, results.size());
+		assertEquals("1", results.get(0).getId());
+		assertEquals(1.0, results.get(0).getScore(), 1e-6);
+
+		// 没有匹配的分区时不调用嵌入模型
+		model.requested.clear();
+		assertTrue(store.similaritySearch(SearchRequest.builder()
+			.query("aaa")
+			.filterExpression("agentId == '3'")
+			.build()).isEmpty());
+		assertTrue(model.requested.isEmpty());
+	}
+
+	@Test
+	void testDeleteByFilterAndSnapshotReload() throws Exception {
+		Path snapshot = tempDir.resolve("vector-store.bin");
+		InMemoryVectorStore store = new InMemoryVectorStore(new CountingEmbeddingModel(), SINGLE_BATCH, snapshot,
+				Duration.ofHours(1));
+		store.add(List.of(document("1", "aaa", "1", "table"), document("2", "bbb", "1", "column"),
+				document("3", "ccc", "2", "table")));
+		assertEquals(1,
+				store.deleteByFilter(new FilterExpressionTextParser().parse("agentId == '1' && vectorType == 'column'")));
+		store.delete(List.of("3"));
+		store.destroy();
+
+		InMemoryVectorStore reloaded = new InMemoryVectorStore(new CountingEmbeddingModel(), SINGLE_BATCH, snapshot,
+				Duration.ofHours(1));
+		assertEquals(1, reloaded.size());
+		List<Document> results = reloaded
+			.similaritySearch(SearchRequest.builder().query("aaa").filterExpression("agentId == '1'").build());
+		assertEquals(1, results.size());
+		assertEquals("aaa", results.get(0).getText());
+		assertEquals("table", results.get(0).getMetadata().get("vectorType"));
+		reloaded.destroy();
+	}
+
+	@Test
+	void testDeleteByMetadataDoesNotEmbed() {
+		CountingEmbeddingModel model = new CountingEmbeddingModel();
+		InMemoryVectorStore store = new InMemoryVectorStore(model, SINGLE_BATCH, null, Duration.ZERO);
+		store.add(List.of(document("1", "aaa", "1", "table"), document("2", "bbb", "1", "table"),
+				document("3", "ccc", "1", "column"), document("4", "abc", "2", "table")));
+		model.requested.clear();
+
+		FilterExpressionTextParser parser = new FilterExpressionTextParser();
+		// 只包含 agentId/vectorType 的条件整体删除分区
+		assertEquals(2, store.deleteByFilter(parser.parse("agentId == '1' && vectorType == 'table'")));
+		// IN 条件同样只涉及 agentId/vectorType，也是整体删除分区
+		assertEquals(1, store.deleteByFilter(parser.parse("agentId == '1' && vectorType in ['column']")));
+		assertEquals(0, store.deleteByFilter(parser.parse("agentId == '2' && vectorType == 'column'")));
+		assertEquals(1, store.size());
+		assertTrue(model.requested.isEmpty());
+
+		// 被删除的分区可以重新写入
+		store.add(List.of(document("1", "aaa", "1", "table")));
+		assertEquals(2, store.size());
+	}
+
+	@Test
+	void testDeleteByOtherMetadataOnlyRemovesMatchingDocuments() {
+		CountingEmbeddingModel model = new CountingEmbeddingModel();
+		InMemoryVectorStore store = new InMemoryVectorStore(model, SINGLE_BATCH, null, Duration.ZERO);
+		store.add(List.of(knowledge("1", "aaa", "10"), knowledge("2", "bbb", "10"), knowledge("3", "ccc", "11"),
+				document("4", "abc", "1", "table")));
+		model.requested.clear();
+
+		FilterExpressionTextParser parser = new FilterExpressionTextParser();
+		// 含其他元数据条件时通过倒排索引逐条删除，同一分区中不匹配的文档保留
+		assertEquals(2, store.deleteByFilter(
+				parser.parse("agentId == '1' && vectorType == 'agentKnowledge' && agentKnowledgeId == '10'")));
+		List<Document> remaining = store.findByFilter(parser.parse("agentId == '1'"), 10);
+		assertEquals(List.of("3", "4"), remaining.stream().map(Document::getId).sorted().toList());
+		assertTrue(model.requested.isEmpty());
+
+		// 分区整体删除后在同一分区键下重新写入的文档仍可按ID删除
+		assertEquals(1, store.deleteByFilter(parser.parse("agentId == '1' && vectorType == 'agentKnowledge'")));
+		store.add(List.of(knowledge("1", "aaa", "10")));
+		store.delete(List.of("1"));
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	void testFindByFilterWithLargeInListAndUnindexedCondition() {
+		InMemoryVectorStore store = new InMemoryVectorStore(new CountingEmbeddingModel(), SINGLE_BATCH, null,
+				Duration.ZERO);
+		String longText = "x".repeat(300);
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			documents.add(Document.builder()
+				.id(String.valueOf(i))
+				.text("abc")
+				.metadata(Map.of("agentId", "1", "vectorType", "businessTerm", "businessTermId", i, "description",
+						i % 2 == 0 ? longText : "short"))
+				.build());
+		}
+		store.add(documents);
+
+		FilterExpressionTextParser parser = new FilterExpressionTextParser();
+		StringBuilder ids = new StringBuilder();
+		for (int i = 0; i < 10000; i += 3) {
+			ids.append(ids.isEmpty() ? "" : ", ").append(i);
+		}
+		// 全部条件由倒排索引求得，直接使用候选集
+		List<Document> byIds = store.findByFilter(
+				parser.parse("agentId == '1' && vectorType == 'businessTerm' && businessTermId IN [" + ids + "]"), 100);
+		assertEquals(17, byIds.size());
+		// 超长字符串不建索引，该条件回退到逐条求值
+		List<Document> byDescription = store.findByFilter(
+				parser.parse("agentId == '1' && businessTermId IN [0, 1, 2] && description == '" + longText + "'"),
+				100);
+		assertEquals(List.of("0", "2"), byDescription.stream().map(Document::getId).sorted().toList());
+	}
+
+	@Test
+	void testFindByFilterDoesNotEmbed() {
+		CountingEmbeddingModel model = new CountingEmbeddingModel();
+		InMemoryVectorStore store = new InMemoryVectorStore(model, SINGLE_BATCH, null, Duration.ZERO);
+		store.add(List.of(document("1", "aaa", "1", "table"), document("2", "bbb", "1", "column"),
+				document("3", "ccc", "1", "column"), document("4", "abc", "2", "column")));
+		model.requested.clear();
+
+		FilterExpressionTextParser parser = new FilterExpressionTextParser();
+		List<Document> columns = store.findByFilter(parser.parse("agentId == '1' && vectorType == 'column'"), 10);
+		assertEquals(List.of("2", "3"), columns.stream().map(Document::getId).sorted().toList());
+		assertEquals(1, store.findByFilter(parser.parse("vectorType == 'column'"), 1).size());
+		assertTrue(store.findByFilter(parser.parse("agentId == '3'"), 10).isEmpty());
+		assertTrue(model.requested.isEmpty());
+	}
+
+	private static Document document(String id, String text, String agentId, String vectorType) {
+		return Document.builder()
+			.id(id)
+			.text(text)
+			.metadata(Map.of("agentId", agentId, "vectorType", vectorType))
+			.build();
+	}
+
+	private static Document knowledge(String id, String text, String knowledgeId) {
+		return Document.builder()
+			.id(id)
+			.text(text)
+			.metadata(Map.of("agentId", "1", "vectorType", "agentKnowledge", "agentKnowledgeId", knowledgeId))
+			.build();
+	}
+
+	/**
+	 * 以字母 a/b/c 的出现次数作为向量，记录实际送到模型的文本
+	 */
+	private static class CountingEmbeddingModel implements EmbeddingModel {
+
+		private final List<String> requested = new ArrayList<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				requested.add(text);
+				float[] vector = new float[3];
+				text.chars().filter(c -> c >= 'a' && c <= 'c').forEach(c -> vector[c - 'a']++);
+				embeddings.add(new Embedding(vector, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return embed(document.getText());
+		}
+
+	}
+
+}
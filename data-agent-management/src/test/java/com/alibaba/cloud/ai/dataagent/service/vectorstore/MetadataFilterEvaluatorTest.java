@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetadataFilterEvaluatorTest {
+
+	private final FilterExpressionTextParser parser = new FilterExpressionTextParser();
+
+	@Test
+	void testCompiledPredicateNormalizesNumbers() {
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator
+			.compile(parser.parse("agentId == '1' && id IN [1, 2, 3]"));
+
+		assertTrue(filter.test(Map.of("agentId", "1", "id", 2)));
+		assertTrue(filter.test(Map.of("agentId", "1", "id", 3L)));
+		assertFalse(filter.test(Map.of("agentId", "1", "id", 4)));
+		assertFalse(filter.test(Map.of("agentId", "2", "id", 1)));
+		assertTrue(filter.pureConjunction());
+		assertEquals(2, filter.conjuncts().size());
+	}
+
+	@Test
+	void testCompiledPredicateForNonConjunctiveFilter() {
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator
+			.compile(parser.parse("(vectorType == 'table' || score > 5) && id NOT IN [1]"));
+
+		assertTrue(filter.test(Map.of("vectorType", "table", "id", 2)));
+		assertTrue(filter.test(Map.of("vectorType", "column", "score", 6.5, "id", 2)));
+		assertFalse(filter.test(Map.of("vectorType", "table", "id", 1L)));
+		assertFalse(filter.pureConjunction());
+	}
+
+	@Test
+	void testNullFilterMatchesEverything() {
+		MetadataFilterEvaluator.CompiledFilter filter = MetadataFilterEvaluator.compile(null);
+
+		assertSame(MetadataFilterEvaluator.CompiledFilter.ALL, filter);
+		assertTrue(filter.test(Map.of()));
+	}
+
+}
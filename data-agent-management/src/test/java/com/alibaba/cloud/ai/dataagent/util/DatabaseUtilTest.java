@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
+import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
+import com.alibaba.cloud.ai.dataagent.event.DatasourceChangedEvent;
+import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
+import com.alibaba.cloud.ai.dataagent.service.datasource.DatasourceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseUtilTest {
+
+	@Mock
+	private AccessorFactory accessorFactory;
+
+	@Mock
+	private AgentDatasourceService agentDatasourceService;
+
+	@Mock
+	private DatasourceService datasourceService;
+
+	private DatabaseUtil databaseUtil;
+
+	@BeforeEach
+	void setUp() {
+		databaseUtil = new DatabaseUtil(accessorFactory, agentDatasourceService, datasourceService);
+		when(datasourceService.getDbConfig(any()))
+			.thenAnswer(inv -> DbConfigBO.builder().datasourceId(1).schema("db").build());
+	}
+
+	@Test
+	void cachesResolvedConfigUntilEvicted() {
+		when(agentDatasourceService.getCurrentAgentDatasource(1L)).thenReturn(new AgentDatasource());
+
+		DbConfigBO first = databaseUtil.getAgentDbConfig(1L);
+		assertSame(first, databaseUtil.getAgentDbConfig(1L));
+
+		databaseUtil.handleDatasourceChanged(new DatasourceChangedEvent(this, 1L, null));
+		assertNotSame(first, databaseUtil.getAgentDbConfig(1L));
+		verify(agentDatasourceService, times(2)).getCurrentAgentDatasource(1L);
+	}
+
+	@Test
+	void doesNotCacheConfigLoadedConcurrentlyWithEviction() {
+		// 加载过程中发生失效（模拟变更事务在读取之后提交），这次加载的结果不能留在缓存中
+		when(agentDatasourceService.getCurrentAgentDatasource(1L)).thenAnswer(inv -> {
+			databaseUtil.evictAgent(1L);
+			return new AgentDatasource();
+		}).thenReturn(new AgentDatasource());
+
+		DbConfigBO stale = databaseUtil.getAgentDbConfig(1L);
+		DbConfigBO reloaded = databaseUtil.getAgentDbConfig(1L);
+
+		assertNotSame(stale, reloaded);
+		assertSame(reloaded, databaseUtil.getAgentDbConfig(1L));
+		verify(agentDatasourceService, times(2)).getCurrentAgentDatasource(1L);
+	}
+
+}
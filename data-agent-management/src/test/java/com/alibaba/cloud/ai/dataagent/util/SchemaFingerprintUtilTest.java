@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaFingerprintUtilTest {
+
+	private final DbConfigBO dbConfig = DbConfigBO.builder().url("jdbc:mysql://localhost:3306/db").schema("db").build();
+
+	private final TableInfoBO table = TableInfoBO.builder().name("orders").description("订单表").build();
+
+	private ColumnInfoBO column(String name, String type) {
+		return ColumnInfoBO.builder().name(name).type(type).description("").build();
+	}
+
+	@Test
+	void testSameStructureSameFingerprint() {
+		String first = SchemaFingerprintUtil.fingerprint(dbConfig, table,
+				List.of(column("id", "bigint"), column("amount", "decimal")), List.of("a.x=b.y", "c.x=a.z"));
+		String second = SchemaFingerprintUtil.fingerprint(dbConfig, table,
+				List.of(column("id", "bigint"), column("amount", "decimal")), List.of("c.x=a.z", "a.x=b.y"));
+
+		assertEquals(first, second);
+		assertEquals(64, first.length());
+	}
+
+	@Test
+	void testColumnChangeChangesFingerprint() {
+		String before = SchemaFingerprintUtil.fingerprint(dbConfig, table, List.of(column("id", "bigint")), List.of());
+		String typeChanged = SchemaFingerprintUtil.fingerprint(dbConfig, table, List.of(column("id", "varchar")),
+				List.of());
+		String columnAdded = SchemaFingerprintUtil.fingerprint(dbConfig, table,
+				List.of(column("id", "bigint"), column("status", "int")), List.of());
+
+		assertNotEquals(before, typeChanged);
+		assertNotEquals(before, columnAdded);
+	}
+
+	@Test
+	void testDatasourceChangeChangesFingerprint() {
+		DbConfigBO other = DbConfigBO.builder().url("jdbc:mysql://other:3306/db").schema("db").build();
+
+		assertNotEquals(SchemaFingerprintUtil.fingerprint(dbConfig, table, List.of(column("id", "bigint")), null),
+				SchemaFingerprintUtil.fingerprint(other, table, List.of(column("id", "bigint")), null));
+	}
+
+}